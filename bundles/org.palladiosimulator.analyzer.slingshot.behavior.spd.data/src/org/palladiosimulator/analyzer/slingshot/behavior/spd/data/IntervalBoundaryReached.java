@@ -0,0 +1,31 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.data;
+
+import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
+
+/**
+ * An event that is scheduled at the simulation time where an interval of an
+ * interval constraint of a scaling policy starts or ends. Just like
+ * {@link SimulationTimeReached}, it is scheduled at an exact simulation time.
+ *
+ * The event carries the identifier of the scaling policy whose activation
+ * might change.
+ */
+public final class IntervalBoundaryReached extends AbstractSimulationEvent implements SpdBasedEvent {
+
+	private final String scalingPolicyId;
+
+	/**
+	 * @param scalingPolicyId The identifier of the scaling policy.
+	 * @param simulationTime  The simulation time of the boundary. It must not be
+	 *                        in the past.
+	 */
+	public IntervalBoundaryReached(final String scalingPolicyId, final double simulationTime) {
+		super(0);
+		this.scalingPolicyId = scalingPolicyId;
+		this.setTime(simulationTime);
+	}
+
+	public String getScalingPolicyId() {
+		return scalingPolicyId;
+	}
+}
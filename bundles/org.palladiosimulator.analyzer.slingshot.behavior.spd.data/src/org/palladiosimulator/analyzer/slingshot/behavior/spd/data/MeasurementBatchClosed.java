@@ -0,0 +1,23 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.data;
+
+import org.palladiosimulator.analyzer.slingshot.common.events.AbstractSimulationEvent;
+
+/**
+ * An event that closes the batch of measurements made at the same simulation
+ * time. It is scheduled without delay by the first measurement of a batch, so
+ * that it is handled after the measurements that are already scheduled for the
+ * same simulation time.
+ *
+ * Measurements that are made at the same simulation time after this event
+ * was handled simply start a new batch.
+ */
+public final class MeasurementBatchClosed extends AbstractSimulationEvent implements SpdBasedEvent {
+
+	/**
+	 * @param simulationTime The simulation time of the measurements in the batch.
+	 */
+	public MeasurementBatchClosed(final double simulationTime) {
+		super(0);
+		this.setTime(simulationTime);
+	}
+}
@@ -0,0 +1,182 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.inject.Singleton;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.SPDAdjustorContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.TargetGroupState;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.spd.ScalingPolicy;
+
+/**
+ * Writes the runtime state of the interpreted SPD model into a binary
+ * checkpoint, and restores it, e.g. to continue a simulation from a snapshot
+ * without warming up the windows of the triggers again.
+ *
+ * The checkpoint contains the shared aggregations, the state of each target
+ * group and the state of each scaling policy, i.e. its filter chain state,
+ * disregard statistics, activation and trigger. It can only be restored into an
+ * interpretation of the same SPD model with the same
+ * {@link TriggerWindowConfiguration}. Target groups and policies are matched
+ * by their ids.
+ *
+ * Other model elements, such as measuring points, are referenced by ids that
+ * the caller provides, since only the caller knows how to find them in the
+ * restored simulation. Scaling policies are referenced by the checkpoint
+ * itself.
+ *
+ * Events that are already scheduled are not part of the checkpoint. Hence, a
+ * checkpoint cannot be written while measurements of an open batch wait for
+ * their {@code MeasurementBatchClosed} event, i.e. it must be written between
+ * two simulation times. The boundaries of the intervals need not be part of
+ * it: the restored activation of a policy is updated by the measurements
+ * themselves, and the next boundary event that is handled schedules the
+ * restored next boundary.
+ */
+@Singleton
+public class InterpreterCheckpoint {
+
+	private static final Logger LOGGER = Logger.getLogger(InterpreterCheckpoint.class);
+
+	private static final int MAGIC = 0x53504443;
+	private static final int VERSION = 1;
+
+	private static final String POLICY_PREFIX = "spd-policy:";
+
+	private AggregatorRegistry aggregatorRegistry;
+	private MeasurementMadeDispatcher measurementDispatcher;
+	private List<SPDAdjustorContext> adjustorContexts = List.of();
+	private Map<String, TargetGroupState> targetGroupStates = Map.of();
+	private Map<String, ScalingPolicy> policies = Map.of();
+
+	/**
+	 * Attaches the state of an interpretation.
+	 */
+	void attach(final AggregatorRegistry aggregatorRegistry, final List<SPDAdjustorContext> adjustorContexts,
+			final Collection<TargetGroupState> targetGroupStates, final MeasurementMadeDispatcher measurementDispatcher) {
+		this.aggregatorRegistry = aggregatorRegistry;
+		this.measurementDispatcher = measurementDispatcher;
+		this.adjustorContexts = List.copyOf(adjustorContexts);
+
+		final Map<String, TargetGroupState> states = new HashMap<>();
+		for (final TargetGroupState state : targetGroupStates) {
+			states.put(state.getTargetGroup().getId(), state);
+		}
+		this.targetGroupStates = states;
+
+		final Map<String, ScalingPolicy> policiesById = new HashMap<>();
+		for (final SPDAdjustorContext context : adjustorContexts) {
+			policiesById.put(context.getScalingPolicy().getId(), context.getScalingPolicy());
+		}
+		this.policies = policiesById;
+	}
+
+	/**
+	 * Writes the state of the interpretation.
+	 *
+	 * @param out        The stream to write to. It is not closed.
+	 * @param elementIds Returns a stable id for a model element other than a
+	 *                   scaling policy, or {@code null} if it has none.
+	 * @throws IllegalStateException if the SPD model was not interpreted yet, or
+	 *                               if a batch of measurements is still open.
+	 */
+	public void write(final OutputStream out, final Function<Object, String> elementIds) throws IOException {
+		this.checkAttached();
+		if (this.measurementDispatcher.hasOpenBatch()) {
+			throw new IllegalStateException("A checkpoint cannot be written while a batch of measurements is open");
+		}
+		final CheckpointOutput output = new CheckpointOutput(out, element -> element instanceof final ScalingPolicy policy
+				? POLICY_PREFIX + policy.getId()
+				: elementIds.apply(element));
+
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+
+		this.aggregatorRegistry.writeState(output);
+
+		output.writeInt(this.targetGroupStates.size());
+		for (final Map.Entry<String, TargetGroupState> entry : this.targetGroupStates.entrySet()) {
+			output.writeUTF(entry.getKey());
+			entry.getValue().writeState(output);
+		}
+
+		output.writeInt(this.adjustorContexts.size());
+		for (final SPDAdjustorContext context : this.adjustorContexts) {
+			output.writeUTF(context.getScalingPolicy().getId());
+			context.writeState(output);
+		}
+		output.flush();
+	}
+
+	/**
+	 * Restores the state of the interpretation from a checkpoint that was written
+	 * by {@link #write(OutputStream, Function)}.
+	 *
+	 * @param in       The stream to read from. It is not closed.
+	 * @param elements Returns the model element with the given id, or
+	 *                 {@code null} if it does not exist anymore.
+	 * @throws IllegalStateException if the SPD model was not interpreted yet, or
+	 *                               if the checkpoint does not belong to it.
+	 */
+	public void restore(final InputStream in, final Function<String, Object> elements) throws IOException {
+		this.checkAttached();
+		final CheckpointInput input = new CheckpointInput(in, id -> id.startsWith(POLICY_PREFIX)
+				? this.policies.get(id.substring(POLICY_PREFIX.length()))
+				: elements.apply(id));
+
+		if (input.readInt() != MAGIC) {
+			throw new IllegalStateException("The stream does not contain an SPD interpreter checkpoint");
+		}
+		final int version = input.readInt();
+		if (version != VERSION) {
+			throw new IllegalStateException("Unsupported checkpoint version " + version);
+		}
+
+		this.aggregatorRegistry.readState(input);
+
+		input.checkLength(this.targetGroupStates.size());
+		for (int i = 0; i < this.targetGroupStates.size(); i++) {
+			final String id = input.readUTF();
+			final TargetGroupState state = this.targetGroupStates.get(id);
+			if (state == null) {
+				throw new IllegalStateException("The checkpoint contains the unknown target group " + id);
+			}
+			state.readState(input);
+		}
+
+		input.checkLength(this.adjustorContexts.size());
+		for (int i = 0; i < this.adjustorContexts.size(); i++) {
+			final String id = input.readUTF();
+			final SPDAdjustorContext context = this.findContext(id);
+			context.readState(input);
+		}
+		this.measurementDispatcher.invalidate();
+		LOGGER.debug("Restored the state of " + this.adjustorContexts.size() + " scaling policies");
+	}
+
+	private SPDAdjustorContext findContext(final String policyId) {
+		for (final SPDAdjustorContext context : this.adjustorContexts) {
+			if (context.getScalingPolicy().getId().equals(policyId)) {
+				return context;
+			}
+		}
+		throw new IllegalStateException("The checkpoint contains the unknown scaling policy " + policyId);
+	}
+
+	private void checkAttached() {
+		if (this.aggregatorRegistry == null) {
+			throw new IllegalStateException("The SPD model has not been interpreted yet");
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import javax.inject.Singleton;
+
+/**
+ * Configures how measurements are dispatched to the policies, independently of
+ * the windows of their triggers (see {@link TriggerWindowConfiguration}).
+ *
+ * Measurements can be batched per simulation time: all measurements of the
+ * same simulation time are aggregated first, and the triggers that only
+ * compare aggregated values are compared once per batch and policy. And
+ * policies that are inactive because of their interval constraints can either
+ * keep their windows warm, or not see any measurements at all.
+ *
+ * The configuration must be done before the SPD model is interpreted, i.e.
+ * before the simulation starts.
+ *
+ * @see MeasurementMadeDispatcher
+ */
+@Singleton
+public class MeasurementDispatchConfiguration {
+
+	private boolean measurementBatching;
+	private boolean warmInactivePolicies = true;
+
+	/**
+	 * Sets whether measurements of the same simulation time are batched. By
+	 * default, they are not.
+	 *
+	 * @see org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.BatchableFilter
+	 *      BatchableFilter
+	 */
+	public void setMeasurementBatching(final boolean measurementBatching) {
+		this.measurementBatching = measurementBatching;
+	}
+
+	/**
+	 * Returns whether measurements of the same simulation time are batched.
+	 */
+	public boolean isMeasurementBatching() {
+		return this.measurementBatching;
+	}
+
+	/**
+	 * Sets whether policies that are inactive because of their interval
+	 * constraints still aggregate the measurements. By default, they do, so that
+	 * their windows are complete when they become active again. Only the
+	 * stateful checkers of a trigger ingest the measurements then, stateless
+	 * checkers such as simulation time checks are not evaluated. Otherwise,
+	 * inactive policies do not cost anything, but their windows miss the
+	 * measurements of the inactive time.
+	 */
+	public void setWarmInactivePolicies(final boolean warmInactivePolicies) {
+		this.warmInactivePolicies = warmInactivePolicies;
+	}
+
+	/**
+	 * Returns whether inactive policies still aggregate the measurements.
+	 */
+	public boolean isWarmInactivePolicies() {
+		return this.warmInactivePolicies;
+	}
+}
@@ -0,0 +1,229 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.MeasurementBatchClosed;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.SPDAdjustorContext;
+import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.EventHandler;
+import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.MetricDescription;
+
+/**
+ * A single handler for all {@link MeasurementMade} events that routes each
+ * measurement only to the {@link SPDAdjustorContext}s that are interested in
+ * it. Which contexts are interested in a measurement only depends on its
+ * measuring point and its metric, and is therefore computed once per
+ * combination and cached afterwards.
+ * <p>
+ * Since the membership of measuring points in target groups might change after
+ * a model adjustment, the cache must be cleared by {@link #invalidate()} in
+ * that case.
+ * <p>
+ * If batching is enabled, measurements for {@link SPDAdjustorContext#isBatchable()
+ * batchable} contexts are only ingested. The first measurement of a simulation
+ * time additionally schedules a {@link MeasurementBatchClosed} event, which is
+ * handled by the {@link #getBatchCloser() batch closer} after the other
+ * measurements of that time. Only then, the filter chain of each context that
+ * ingested a measurement runs once. This way, the many measurements that are
+ * usually made at the same time, e.g. one per replica, are compared and
+ * possibly adjusted for only once per policy. Contexts that are not batchable
+ * still filter every measurement.
+ * <p>
+ * Contexts that are {@link SPDAdjustorContext#isActive() inactive} because of
+ * their interval constraints are not part of the routes. If inactive contexts
+ * are kept warm, their measurements are only ingested, so that their windows
+ * are complete once they become active again (see
+ * {@link SPDAdjustorContext#isWarmable()}). The routes must be
+ * {@link #invalidate() invalidated} whenever a context becomes active or
+ * inactive. A measurement at or after the next change of any activation
+ * updates the activations itself, since it might be handled before the
+ * boundary event of the same time.
+ *
+ * @see SPDAdjustorContext#isInterestedIn(MeasuringPoint, MetricDescription)
+ */
+final class MeasurementMadeDispatcher implements EventHandler<MeasurementMade> {
+
+	private static final Logger LOGGER = Logger.getLogger(MeasurementMadeDispatcher.class);
+
+	private final List<SPDAdjustorContext> adjustorContexts;
+	private final Map<RouteKey, Route> routes = new HashMap<>();
+
+	private final boolean batching;
+	private final boolean warmInactive;
+	/** The contexts that ingested a measurement of the open batch, in order. */
+	private final Set<SPDAdjustorContext> pendingContexts = new LinkedHashSet<>();
+	private final BatchCloser batchCloser = new BatchCloser();
+	/** The earliest time at which the activation of any context changes. */
+	private double nextActivationChange;
+
+	/**
+	 * @param adjustorContexts The contexts to dispatch to.
+	 * @param batching         Whether measurements of the same simulation time
+	 *                         are batched.
+	 * @param warmInactive     Whether inactive contexts still ingest the
+	 *                         measurements.
+	 */
+	MeasurementMadeDispatcher(final List<SPDAdjustorContext> adjustorContexts, final boolean batching,
+			final boolean warmInactive) {
+		this.adjustorContexts = List.copyOf(adjustorContexts);
+		this.batching = batching;
+		this.warmInactive = warmInactive;
+		this.nextActivationChange = this.computeNextActivationChange();
+	}
+
+	@Override
+	public Result<?> acceptEvent(final MeasurementMade event) throws Exception {
+		if (event.time() >= this.nextActivationChange) {
+			this.advanceActivations(event.time());
+		}
+		final Route route = this.routes.computeIfAbsent(
+				new RouteKey(event.getEntity().getMeasuringPoint(), event.getEntity().getMetricDesciption()),
+				this::computeRoute);
+
+		for (final SPDAdjustorContext context : route.warming()) {
+			context.ingest(event);
+		}
+
+		final SPDAdjustorContext[] contexts = route.active();
+		if (contexts.length == 0) {
+			return Result.empty();
+		}
+
+		final List<DESEvent> resultingEvents = new ArrayList<>(1);
+		for (final SPDAdjustorContext context : contexts) {
+			if (this.batching && context.isBatchable()) {
+				this.ingest(context, event, resultingEvents);
+			} else {
+				context.filter(event).ifPresent(resultingEvents::add);
+			}
+		}
+		return Result.from(resultingEvents);
+	}
+
+	/**
+	 * Ingests the measurement, and opens a new batch if none is open.
+	 */
+	private void ingest(final SPDAdjustorContext context, final MeasurementMade event,
+			final List<DESEvent> resultingEvents) {
+		context.ingest(event);
+		if (this.pendingContexts.isEmpty()) {
+			resultingEvents.add(new MeasurementBatchClosed(event.time()));
+		}
+		this.pendingContexts.add(context);
+	}
+
+	/**
+	 * Returns the handler that must receive the {@link MeasurementBatchClosed}
+	 * events.
+	 */
+	EventHandler<MeasurementBatchClosed> getBatchCloser() {
+		return this.batchCloser;
+	}
+
+	/**
+	 * Returns whether measurements were ingested whose batch is not closed yet.
+	 */
+	boolean hasOpenBatch() {
+		return !this.pendingContexts.isEmpty();
+	}
+
+	/**
+	 * Clears the cached routes, so that they are computed anew for the next
+	 * measurements.
+	 */
+	void invalidate() {
+		this.routes.clear();
+		this.nextActivationChange = this.computeNextActivationChange();
+	}
+
+	/**
+	 * Updates the activation of all contexts to the given time and clears the
+	 * routes.
+	 */
+	private void advanceActivations(final double simulationTime) {
+		for (final SPDAdjustorContext context : this.adjustorContexts) {
+			context.isActiveAt(simulationTime);
+		}
+		this.invalidate();
+	}
+
+	private double computeNextActivationChange() {
+		double earliest = Double.POSITIVE_INFINITY;
+		for (final SPDAdjustorContext context : this.adjustorContexts) {
+			earliest = Math.min(earliest, context.getNextActivationChange());
+		}
+		return earliest;
+	}
+
+	private Route computeRoute(final RouteKey key) {
+		final List<SPDAdjustorContext> interested = this.adjustorContexts.stream()
+				.filter(context -> context.isInterestedIn(key.measuringPoint(), key.metric()))
+				.toList();
+		final Route route = new Route(
+				interested.stream()
+						.filter(SPDAdjustorContext::isActive)
+						.toArray(SPDAdjustorContext[]::new),
+				interested.stream()
+						.filter(context -> this.warmInactive && !context.isActive() && context.isWarmable())
+						.toArray(SPDAdjustorContext[]::new));
+		LOGGER.debug("Measurements of " + key.metric().getName() + " at " + key.measuringPoint().getStringRepresentation()
+				+ " are dispatched to " + route.active().length + " adjustor context(s), and "
+				+ route.warming().length + " inactive one(s) are kept warm");
+		return route;
+	}
+
+	/**
+	 * Runs the filter chains of the contexts of the closed batch.
+	 */
+	private final class BatchCloser implements EventHandler<MeasurementBatchClosed> {
+
+		@Override
+		public Result<?> acceptEvent(final MeasurementBatchClosed event) throws Exception {
+			if (pendingContexts.isEmpty()) {
+				return Result.empty();
+			}
+			final SPDAdjustorContext[] contexts = pendingContexts.toArray(new SPDAdjustorContext[0]);
+			pendingContexts.clear();
+
+			final List<DESEvent> resultingEvents = new ArrayList<>(1);
+			for (final SPDAdjustorContext context : contexts) {
+				context.filter(event).ifPresent(resultingEvents::add);
+			}
+			return Result.from(resultingEvents);
+		}
+	}
+
+	/**
+	 * The active contexts that filter the measurements, and the inactive ones
+	 * that only ingest them.
+	 */
+	private static record Route(SPDAdjustorContext[] active, SPDAdjustorContext[] warming) {
+	}
+
+	/**
+	 * Measuring points are compared by identity, metrics by their identifier.
+	 */
+	private static record RouteKey(MeasuringPoint measuringPoint, MetricDescription metric) {
+
+		@Override
+		public boolean equals(final Object other) {
+			return other instanceof final RouteKey otherKey
+					&& this.measuringPoint == otherKey.measuringPoint
+					&& this.metric.getId().equals(otherKey.metric.getId());
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(this.measuringPoint) + this.metric.getId().hashCode();
+		}
+	}
+}
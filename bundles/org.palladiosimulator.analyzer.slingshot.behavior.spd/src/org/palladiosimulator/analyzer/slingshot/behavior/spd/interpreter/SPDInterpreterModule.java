@@ -2,9 +2,12 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.ui.SPDModelConfiguration;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.ui.SPDModelProvider;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.TargetGroupMembershipIndex;
 import org.palladiosimulator.analyzer.slingshot.core.extension.AbstractSlingshotExtension;
 import org.palladiosimulator.spd.SPD;
 
+import com.google.inject.multibindings.Multibinder;
+
 public class SPDInterpreterModule extends AbstractSlingshotExtension {
 
 	@Override
@@ -12,6 +15,14 @@ public class SPDInterpreterModule extends AbstractSlingshotExtension {
 		install(SPDModelConfiguration.class);
 		install(SpdBehavior.class);
 		provideModel(SPD.class, SPDModelProvider.class);
+
+		bind(TargetGroupMembershipIndex.class);
+		bind(TriggerWindowConfiguration.class);
+		bind(MeasurementDispatchConfiguration.class);
+		bind(InterpreterCheckpoint.class);
+
+		/* Other extensions add their WindowAggregationProviders to this set. */
+		Multibinder.newSetBinder(binder(), WindowAggregationProvider.class);
 	}
 
 }
@@ -5,9 +5,8 @@ import java.util.List;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.LogicalANDComboundFilter;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.LogicalORCompoundFilter;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.LogicalXORCompoundFilter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.TriggerExpression;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.Subscriber;
 import org.palladiosimulator.spd.ScalingPolicy;
@@ -20,10 +19,15 @@ import org.palladiosimulator.spd.triggers.util.TriggersSwitch;
 public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInterpreter.InterpretationResult> {
 
 	final ScalingPolicy policy;
+	final AggregatorRegistry aggregatorRegistry;
+	final TriggerWindowConfiguration windowConfiguration;
 
-	public ScalingTriggerInterpreter(final ScalingPolicy policy) {
+	public ScalingTriggerInterpreter(final ScalingPolicy policy, final AggregatorRegistry aggregatorRegistry,
+			final TriggerWindowConfiguration windowConfiguration) {
 		super();
 		this.policy = policy;
+		this.aggregatorRegistry = aggregatorRegistry;
+		this.windowConfiguration = windowConfiguration;
 	}
 
 	@Override
@@ -42,8 +46,8 @@ public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInte
 
 	@Override
 	public InterpretationResult caseSimpleFireOnTrend(final SimpleFireOnTrend object) {
-		// TODO Auto-generated method stub
-		return super.caseSimpleFireOnTrend(object);
+		final StimuliInterpreter stimuliInterpreter = new StimuliInterpreter(this, object);
+		return stimuliInterpreter.doSwitch(object.getStimulus());
 	}
 	
 	static final class InterpretationResult {
@@ -79,7 +83,11 @@ public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInte
 			return this.eventsToListen;
 		}
 
-		// TODO: Please look at code style again..
+		/**
+		 * Merges the other result into this one. The trigger checkers are combined
+		 * into a {@link TriggerExpression} with the given operator, which is
+		 * flattened and ordered by cost on the fly.
+		 */
 		public InterpretationResult addFrom(final InterpretationResult other, final LogicalOperator operator) {
 			this.eventsToSchedule.addAll(other.eventsToSchedule);
 			this.eventsToListen.addAll(other.eventsToListen);
@@ -87,40 +95,8 @@ public class ScalingTriggerInterpreter extends TriggersSwitch<ScalingTriggerInte
 			if (this.triggerChecker == null) {
 				/* We then simply set as the other */
 				this.triggerChecker = other.triggerChecker;
-			} else {
-				switch (operator) {
-				case AND:
-					{
-						final Filter temp = this.triggerChecker;
-						if (temp instanceof final LogicalANDComboundFilter chain) {
-							chain.add(other.triggerChecker);
-						} else {
-							final LogicalANDComboundFilter comboundFilter = new LogicalANDComboundFilter();
-							comboundFilter.add(temp);
-							comboundFilter.add(other.triggerChecker);
-							this.triggerChecker = comboundFilter;
-						}
-					}
-					break;
-				case OR:
-					{
-						final LogicalORCompoundFilter comboundFilter = new LogicalORCompoundFilter();
-						comboundFilter.add(this.triggerChecker);
-						comboundFilter.add(other.triggerChecker);
-						this.triggerChecker = comboundFilter;
-					}
-					break;
-				case XOR:
-					{
-						final LogicalXORCompoundFilter comboundFilter = new LogicalXORCompoundFilter();
-						comboundFilter.add(this.triggerChecker);
-						comboundFilter.add(other.triggerChecker);
-						this.triggerChecker = comboundFilter;
-					}
-					break;
-				default:
-					break;
-				}
+			} else if (other.triggerChecker != null) {
+				this.triggerChecker = TriggerExpression.combine(operator, this.triggerChecker, other.triggerChecker);
 			}
 
 			return this;
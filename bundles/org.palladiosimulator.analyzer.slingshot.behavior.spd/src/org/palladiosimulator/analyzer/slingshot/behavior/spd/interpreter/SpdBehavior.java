@@ -1,20 +1,34 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
 
 import static org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality.MANY;
+import static org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.EventCardinality.SINGLE;
+
+import java.util.List;
 
 import javax.inject.Inject;
 import org.palladiosimulator.analyzer.slingshot.common.annotations.Nullable;
 
 import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.IntervalBoundaryReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.MeasurementBatchClosed;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.SpdInterpreter.InterpretationResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.SPDAdjustorContext;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.TargetGroupMembershipIndex;
+import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.AllocationChange;
+import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.ModelAdjusted;
+import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.ModelChange;
+import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.ResourceEnvironmentChange;
 import org.palladiosimulator.analyzer.slingshot.core.api.SimulationDriver;
 import org.palladiosimulator.analyzer.slingshot.core.events.PreSimulationConfigurationStarted;
+import org.palladiosimulator.analyzer.slingshot.core.events.SimulationFinished;
 import org.palladiosimulator.analyzer.slingshot.core.extension.SimulationBehaviorExtension;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.Subscribe;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.annotations.eventcontract.OnEvent;
+import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.Subscriber;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.spd.SPD;
 
 /**
@@ -25,22 +39,58 @@ import org.palladiosimulator.spd.SPD;
  * <li> Events that are directly scheduled at a certain time, such as {@link SimulationTimeReached}
  * </ul>
  *
+ * All {@link MeasurementMade} events are handled by a single
+ * {@link MeasurementMadeDispatcher}, which passes each measurement only to the
+ * adjustor contexts interested in it. Whenever the model was adjusted, the
+ * {@link TargetGroupMembershipIndex} is updated and the routes of the
+ * dispatcher are invalidated. If measurement batching is configured, the
+ * dispatcher batches the measurements of each simulation time, see
+ * {@link MeasurementBatchClosed}.
+ *
+ * Policies with interval constraints are activated and deactivated at the
+ * boundaries of the intervals, see {@link IntervalBoundaryReached}. Each
+ * boundary schedules the next one of its policy.
+ *
+ * The state of the interpretation is attached to the
+ * {@link InterpreterCheckpoint}, so that it can be written and restored.
+ *
+ * At the end of the simulation, the number of disregarded events per reason is
+ * reported for each scaling policy.
+ *
  * @author Julijan Katic
  */
 @OnEvent(when = PreSimulationConfigurationStarted.class, then = SpdBasedEvent.class, cardinality = MANY)
+@OnEvent(when = IntervalBoundaryReached.class, then = IntervalBoundaryReached.class, cardinality = SINGLE)
+@OnEvent(when = ModelAdjusted.class)
+@OnEvent(when = SimulationFinished.class)
 public class SpdBehavior implements SimulationBehaviorExtension {
 	
 	private static final Logger LOGGER = Logger.getLogger(SpdBehavior.class);
 
 	private final SimulationDriver driver;
 	private final SPD spdModel;
+	private final TargetGroupMembershipIndex membershipIndex;
+	private final TriggerWindowConfiguration windowConfiguration;
+	private final MeasurementDispatchConfiguration dispatchConfiguration;
+	private final InterpreterCheckpoint checkpoint;
+
+	private MeasurementMadeDispatcher measurementDispatcher;
+	private List<SPDAdjustorContext> adjustorContexts = List.of();
 
 	@Inject
 	public SpdBehavior(
 			final SimulationDriver driver,
-			@Nullable final SPD spdModel) {
+			@Nullable final SPD spdModel,
+			final TargetGroupMembershipIndex membershipIndex,
+			final TriggerWindowConfiguration windowConfiguration,
+			final MeasurementDispatchConfiguration dispatchConfiguration,
+			final InterpreterCheckpoint checkpoint) {
 		this.spdModel = spdModel;
 		this.driver = driver;
+		this.membershipIndex = membershipIndex;
+		this.windowConfiguration = windowConfiguration;
+		this.dispatchConfiguration = dispatchConfiguration;
+		this.checkpoint = checkpoint;
 	}
 	
 	@Override
@@ -50,7 +100,7 @@ public class SpdBehavior implements SimulationBehaviorExtension {
 
 	@Subscribe
 	public Result<SpdBasedEvent> onPreSimulationConfigurationStarted(final PreSimulationConfigurationStarted configurationStarted) {
-		final SpdInterpreter interpreter = new SpdInterpreter();
+		final SpdInterpreter interpreter = new SpdInterpreter(this.membershipIndex, this.windowConfiguration);
 		final InterpretationResult result = interpreter.doSwitch(this.spdModel);
 		
 		LOGGER.debug("The result of the SPD interpretation is not null: " + (result != null));
@@ -61,6 +111,61 @@ public class SpdBehavior implements SimulationBehaviorExtension {
 								    .flatMap(ac -> ac.getAssociatedHandlers().stream())
 								    .forEach(driver::registerEventHandler);
 
+		this.adjustorContexts = result.getAdjustorContexts();
+		this.measurementDispatcher = new MeasurementMadeDispatcher(this.adjustorContexts,
+				this.dispatchConfiguration.isMeasurementBatching(), this.dispatchConfiguration.isWarmInactivePolicies());
+		this.checkpoint.attach(interpreter.getAggregatorRegistry(), this.adjustorContexts,
+				interpreter.getTargetGroupStates(), this.measurementDispatcher);
+		driver.registerEventHandler(Subscriber.builder(MeasurementMade.class)
+											  .name("spdMeasurementDispatcher")
+											  .handler(this.measurementDispatcher)
+											  .build());
+		driver.registerEventHandler(Subscriber.builder(MeasurementBatchClosed.class)
+											  .name("spdMeasurementBatchCloser")
+											  .handler(this.measurementDispatcher.getBatchCloser())
+											  .build());
+
 		return Result.from(result.getEventsToSchedule());
 	}
+
+	@Subscribe
+	public Result<IntervalBoundaryReached> onIntervalBoundaryReached(final IntervalBoundaryReached boundaryReached) {
+		for (final SPDAdjustorContext context : this.adjustorContexts) {
+			if (context.getPolicyPlan().getPolicyId().equals(boundaryReached.getScalingPolicyId())) {
+				final boolean wasActive = context.isActive();
+				if (context.onIntervalBoundaryReached(boundaryReached) != wasActive && this.measurementDispatcher != null) {
+					LOGGER.debug("Policy " + context.getScalingPolicy().getEntityName() + " is "
+							+ (wasActive ? "inactive" : "active") + " from " + boundaryReached.time());
+					this.measurementDispatcher.invalidate();
+				}
+				return context.getNextIntervalBoundary().map(Result::of).orElseGet(Result::empty);
+			}
+		}
+		return Result.empty();
+	}
+
+	@Subscribe
+	public void onModelAdjusted(final ModelAdjusted modelAdjusted) {
+		for (final ModelChange<?> change : modelAdjusted.getChanges()) {
+			if (change instanceof final ResourceEnvironmentChange resourceEnvironmentChange) {
+				this.membershipIndex.update(resourceEnvironmentChange);
+			} else if (change instanceof final AllocationChange allocationChange) {
+				this.membershipIndex.update(allocationChange);
+			}
+		}
+		if (this.measurementDispatcher != null) {
+			this.measurementDispatcher.invalidate();
+		}
+	}
+
+	@Subscribe
+	public void onSimulationFinished(final SimulationFinished simulationFinished) {
+		if (!LOGGER.isInfoEnabled()) {
+			return;
+		}
+		for (final SPDAdjustorContext context : this.adjustorContexts) {
+			LOGGER.info("Disregarded events of policy " + context.getScalingPolicy().getEntityName() + ": "
+					+ context.getDisregardStatistics());
+		}
+	}
 }
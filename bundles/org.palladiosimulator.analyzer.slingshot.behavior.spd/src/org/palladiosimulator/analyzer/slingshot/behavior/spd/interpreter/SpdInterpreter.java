@@ -9,8 +9,11 @@ import java.util.Map;
 import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SpdBasedEvent;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterChain;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.PolicyPlan;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.SPDAdjustorContext;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.TargetGroupState;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.TargetGroupMembershipIndex;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.Subscriber;
 import org.palladiosimulator.spd.SPD;
@@ -22,6 +25,10 @@ import org.palladiosimulator.spd.util.SpdSwitch;
  * A simple SPD interpreter that will build a {@link FilterChain} for each
  * scaling policy.
  *
+ * The aggregations of all triggers are shared through a single
+ * {@link AggregatorRegistry} per interpretation. The first interval boundary
+ * of each policy with interval constraints is scheduled right away.
+ *
  * @author Julijan Katic
  */
 class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
@@ -29,6 +36,14 @@ class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
 	private static final Logger LOGGER = Logger.getLogger(SpdInterpreter.class);
 
 	private final Map<TargetGroup, TargetGroupState> targetGroupStates = new HashMap<>();
+	private final TargetGroupMembershipIndex membershipIndex;
+	private final AggregatorRegistry aggregatorRegistry = new AggregatorRegistry();
+	private final TriggerWindowConfiguration windowConfiguration;
+
+	SpdInterpreter(final TargetGroupMembershipIndex membershipIndex, final TriggerWindowConfiguration windowConfiguration) {
+		this.membershipIndex = membershipIndex;
+		this.windowConfiguration = windowConfiguration;
+	}
 
 	@Override
 	public InterpretationResult caseSPD(final SPD spd) {
@@ -36,11 +51,15 @@ class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
 
 
 		spd.getTargetGroups().stream().forEach(target -> targetGroupStates.put(target, new TargetGroupState(target)));
+		membershipIndex.build(spd.getTargetGroups());
 
-		return spd.getScalingPolicies().stream()
+		final InterpretationResult result = spd.getScalingPolicies().stream()
 									   .map(this::doSwitch)
 									   .reduce(InterpretationResult::add)
 									   .orElseGet(() -> InterpretationResult.EMPTY_RESULT);
+
+		LOGGER.debug("Number of distinct aggregations: " + aggregatorRegistry.size());
+		return result;
 	}
 
 	@Override
@@ -51,10 +70,20 @@ class SpdInterpreter extends SpdSwitch<SpdInterpreter.InterpretationResult> {
 			return new InterpretationResult();
 		}
 
-		final ScalingTriggerInterpreter.InterpretationResult intrResult = (new ScalingTriggerInterpreter(policy)).doSwitch(policy.getScalingTrigger());
+		final ScalingTriggerInterpreter.InterpretationResult intrResult = (new ScalingTriggerInterpreter(policy, aggregatorRegistry, windowConfiguration)).doSwitch(policy.getScalingTrigger());
+		final SPDAdjustorContext adjustorContext = new SPDAdjustorContext(PolicyPlan.compile(policy), intrResult.getTriggerChecker(), intrResult.getEventsToListen(), targetGroupStates.get(policy.getTargetGroup()), membershipIndex);
 		return (new InterpretationResult())
-				.adjustorContext(new SPDAdjustorContext(policy, intrResult.getTriggerChecker(), intrResult.getEventsToListen(), targetGroupStates.get(policy.getTargetGroup())))
-				.eventsToSchedule(intrResult.getEventsToSchedule());
+				.adjustorContext(adjustorContext)
+				.eventsToSchedule(intrResult.getEventsToSchedule())
+				.eventsToSchedule(adjustorContext.getNextIntervalBoundary().stream().toList());
+	}
+
+	AggregatorRegistry getAggregatorRegistry() {
+		return this.aggregatorRegistry;
+	}
+
+	Collection<TargetGroupState> getTargetGroupStates() {
+		return this.targetGroupStates.values();
 	}
 
 	/**
@@ -2,34 +2,48 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
 
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.ScalingTriggerInterpreter.InterpretationResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowAggregationFactory;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.CPUUtilizationTriggerChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.OperationResponseTimeTriggerChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.QueueLengthTriggerChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.SimulationTimeChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.TaskCountTriggerChecker;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.Subscriber;
-import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.spd.targets.CompetingConsumersGroup;
+import org.palladiosimulator.spd.triggers.BaseTrigger;
+import org.palladiosimulator.spd.triggers.SimpleFireOnTrend;
 import org.palladiosimulator.spd.triggers.SimpleFireOnValue;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedCount;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedPercentage;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedTime;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedValue;
 import org.palladiosimulator.spd.triggers.stimuli.CPUUtilization;
+import org.palladiosimulator.spd.triggers.stimuli.ManagedElementsStateStimulus;
 import org.palladiosimulator.spd.triggers.stimuli.OperationResponseTime;
 import org.palladiosimulator.spd.triggers.stimuli.QueueLength;
 import org.palladiosimulator.spd.triggers.stimuli.SimulationTime;
+import org.palladiosimulator.spd.triggers.stimuli.Stimulus;
 import org.palladiosimulator.spd.triggers.stimuli.TaskCount;
 import org.palladiosimulator.spd.triggers.stimuli.util.StimuliSwitch;
 
 import com.google.common.base.Preconditions;
 
+/**
+ * Interprets the stimulus of a {@link SimpleFireOnValue} or
+ * {@link SimpleFireOnTrend} trigger and creates the corresponding trigger
+ * checker. Trends are only supported for stimuli whose measurements are
+ * aggregated, i.e. {@link CPUUtilization} and {@link TaskCount}.
+ * <p>
+ * Stimuli based on measurements do not need to listen to any event, since
+ * {@link org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade}
+ * events are dispatched centrally by the {@link SpdBehavior}.
+ */
 final class StimuliInterpreter extends StimuliSwitch<InterpretationResult> {
 
 	private final ScalingTriggerInterpreter scalingTriggerInterpreter;
-	private final SimpleFireOnValue trigger;
+	private final BaseTrigger trigger;
 
-	public StimuliInterpreter(final ScalingTriggerInterpreter scalingTriggerInterpreter, final SimpleFireOnValue trigger) {
+	public StimuliInterpreter(final ScalingTriggerInterpreter scalingTriggerInterpreter, final BaseTrigger trigger) {
 		super();
 		this.scalingTriggerInterpreter = scalingTriggerInterpreter;
 		this.trigger = trigger;
@@ -46,7 +60,7 @@ final class StimuliInterpreter extends StimuliSwitch<InterpretationResult> {
 		return (new InterpretationResult()).scheduleEvent(event)
 										   .listenEvent(Subscriber.builder(SimulationTimeReached.class)
 												   				  .name("something"))
-										   .triggerChecker(new SimulationTimeChecker(this.trigger));
+										   .triggerChecker(new SimulationTimeChecker(this.valueTrigger(object)));
 	}
 
 
@@ -54,9 +68,12 @@ final class StimuliInterpreter extends StimuliSwitch<InterpretationResult> {
 	@Override
 	public InterpretationResult caseOperationResponseTime(final OperationResponseTime object) {
 		this.checkExpectedValue(ExpectedTime.class);
-		return (new InterpretationResult()).listenEvent(Subscriber.builder(MeasurementMade.class)
-																  .name("measurementMade"))
-									       .triggerChecker(new OperationResponseTimeTriggerChecker(this.trigger));
+		final SimpleFireOnValue valueTrigger = this.valueTrigger(object);
+		final OperationResponseTimeTriggerChecker checker = this.scalingTriggerInterpreter.windowConfiguration
+				.getResponseTimeWindow(valueTrigger)
+				.map(window -> new OperationResponseTimeTriggerChecker(valueTrigger, window, this.scalingTriggerInterpreter.aggregatorRegistry))
+				.orElseGet(() -> new OperationResponseTimeTriggerChecker(valueTrigger));
+		return (new InterpretationResult()).triggerChecker(checker);
 	}
 	
 	@Override
@@ -66,12 +83,15 @@ final class StimuliInterpreter extends StimuliSwitch<InterpretationResult> {
 									"The expected percentage must be between 0 and 100");
 		
 		
-		return (new InterpretationResult()).listenEvent(Subscriber.builder(MeasurementMade.class)
-																  .name("cpuUtilizationMade"))
-										   .triggerChecker(new CPUUtilizationTriggerChecker(
+		return (new InterpretationResult()).triggerChecker(new CPUUtilizationTriggerChecker(
 												   				   this.trigger, 
 																   object, 
-																   this.scalingTriggerInterpreter.policy.getTargetGroup())
+																   this.scalingTriggerInterpreter.policy.getTargetGroup(),
+																   this.scalingTriggerInterpreter.aggregatorRegistry,
+																   this.window(object),
+																   this.scalingTriggerInterpreter.windowConfiguration.getTrendWindow(this.trigger).orElse(null),
+																   this.scalingTriggerInterpreter.windowConfiguration.getForecast(this.trigger).orElse(null),
+																   this.scalingTriggerInterpreter.windowConfiguration.getThrottle(this.trigger).orElse(null))
 												   		  );
 	}
 
@@ -79,9 +99,10 @@ final class StimuliInterpreter extends StimuliSwitch<InterpretationResult> {
 	public InterpretationResult caseTaskCount(final TaskCount object) {
 		this.checkExpectedValue(ExpectedCount.class);
 		
-		return (new InterpretationResult()).listenEvent(Subscriber.builder(MeasurementMade.class)
-																  .name("taskCount"))
-										   .triggerChecker(new TaskCountTriggerChecker(this.trigger, object, this.scalingTriggerInterpreter.policy.getTargetGroup()));
+		return (new InterpretationResult()).triggerChecker(new TaskCountTriggerChecker(this.trigger, object, this.scalingTriggerInterpreter.policy.getTargetGroup(), this.scalingTriggerInterpreter.aggregatorRegistry,
+				this.window(object), this.scalingTriggerInterpreter.windowConfiguration.getTrendWindow(this.trigger).orElse(null),
+				this.scalingTriggerInterpreter.windowConfiguration.getForecast(this.trigger).orElse(null),
+				this.scalingTriggerInterpreter.windowConfiguration.getThrottle(this.trigger).orElse(null)));
 	}
 
 
@@ -91,8 +112,28 @@ final class StimuliInterpreter extends StimuliSwitch<InterpretationResult> {
 			throw new IllegalArgumentException("The QueueLength trigger is only for CompetingConsumersGroup");
 		}
 
-		return (new InterpretationResult()).listenEvent(Subscriber.builder(MeasurementMade.class).name("queueLength"))
-				.triggerChecker(new QueueLengthTriggerChecker(this.trigger, object));
+		return (new InterpretationResult()).triggerChecker(new QueueLengthTriggerChecker(this.valueTrigger(object), object));
+	}
+
+	/**
+	 * Returns the configured window of the trigger, or {@code null} for the
+	 * default window.
+	 */
+	private WindowAggregationFactory window(final ManagedElementsStateStimulus stimulus) {
+		return this.scalingTriggerInterpreter.windowConfiguration
+				.getWindow(this.trigger, this.scalingTriggerInterpreter.policy.getTargetGroup(), stimulus.getAggregationOverElements())
+				.orElse(null);
+	}
+
+	/**
+	 * Returns the trigger for stimuli that do not support trends.
+	 */
+	private SimpleFireOnValue valueTrigger(final Stimulus stimulus) {
+		if (!(this.trigger instanceof final SimpleFireOnValue simpleFireOnValue)) {
+			throw new IllegalArgumentException(String.format("The stimulus %s is only supported for triggers of type %s",
+					stimulus.eClass().getName(), SimpleFireOnValue.class.getSimpleName()));
+		}
+		return simpleFireOnValue;
 	}
 
 	@SuppressWarnings("unchecked")
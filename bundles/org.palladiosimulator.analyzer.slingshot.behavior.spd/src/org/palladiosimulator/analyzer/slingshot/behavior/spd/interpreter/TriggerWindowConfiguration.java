@@ -0,0 +1,246 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.EmissionThrottle;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.HoltWintersForecastAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowAggregationFactory;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowSpecification;
+import org.palladiosimulator.spd.targets.TargetGroup;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+import org.palladiosimulator.spd.triggers.BaseTrigger;
+
+/**
+ * Configures the windows of triggers that the SPD model itself cannot express.
+ *
+ * Triggers on {@code CPUUtilization} and {@code TaskCount} aggregate the
+ * measurements of the target group in a window. The window can be set per
+ * trigger or per target group, or be chosen by the
+ * {@link WindowAggregationProvider}s registered by other extensions. The
+ * window of a trigger takes precedence over the window of its target group,
+ * which takes precedence over the providers. Without any of them, the trigger
+ * uses its default window.
+ *
+ * Furthermore, this configures the window of {@code OperationResponseTime}
+ * triggers. By
+ * default, such a trigger compares every single response time to the expected
+ * value. If a {@link WindowSpecification#percentile(int, double, double)
+ * percentile window} is configured, either for a specific trigger or as the
+ * default, the trigger instead compares the percentile of the response times
+ * within the window, e.g. the 95th percentile of the last minute.
+ *
+ * Furthermore, triggers on {@code CPUUtilization} and {@code TaskCount} can
+ * compare a {@link HoltWintersForecastAggregation forecast} of the aggregated
+ * values instead of the values themselves, so that the policy is triggered
+ * before the expected value is actually crossed. The window in which the trend
+ * of {@code SimpleFireOnTrend} triggers is estimated can be set per trigger or
+ * for all triggers as well. Their comparisons can also be
+ * limited by an {@link EmissionThrottle}, per trigger or for all triggers.
+ *
+ * Setting {@code null} for a trigger removes its setting, so that the default
+ * applies again. How measurements are dispatched to the triggers is configured
+ * in the {@link MeasurementDispatchConfiguration}.
+ *
+ * The configuration must be done before the SPD model is interpreted, i.e.
+ * before the simulation starts.
+ */
+@Singleton
+public class TriggerWindowConfiguration {
+
+	private final List<WindowAggregationProvider> providers;
+	private final Map<String, WindowAggregationFactory> triggerWindows = new HashMap<>();
+	private final Map<String, WindowAggregationFactory> targetGroupWindows = new HashMap<>();
+	private final Map<String, WindowSpecification> responseTimeWindows = new HashMap<>();
+	private WindowSpecification defaultResponseTimeWindow;
+	private final Map<String, HoltWintersForecastAggregation.Parameters> forecasts = new HashMap<>();
+	private final Map<String, WindowSpecification> trendWindows = new HashMap<>();
+	private WindowSpecification defaultTrendWindow;
+	private final Map<String, EmissionThrottle> throttles = new HashMap<>();
+	private EmissionThrottle defaultThrottle;
+
+	@Inject
+	public TriggerWindowConfiguration(final Set<WindowAggregationProvider> providers) {
+		this.providers = List.copyOf(providers);
+	}
+
+	/**
+	 * Sets the window in which the trigger with the given id aggregates.
+	 *
+	 * @param triggerId The id of the trigger.
+	 * @param window    The window, e.g. a {@link WindowSpecification}, or
+	 *                  {@code null} to remove the window of the trigger.
+	 */
+	public void setWindow(final String triggerId, final WindowAggregationFactory window) {
+		this.putOrRemove(this.triggerWindows, triggerId, window);
+	}
+
+	/**
+	 * Sets the window in which the triggers of policies on the target group with
+	 * the given id aggregate, unless a trigger has its own window.
+	 *
+	 * @param targetGroupId The id of the target group.
+	 * @param window        The window, e.g. a {@link WindowSpecification}, or
+	 *                      {@code null} to remove the window of the target
+	 *                      group.
+	 */
+	public void setTargetGroupWindow(final String targetGroupId, final WindowAggregationFactory window) {
+		this.putOrRemove(this.targetGroupWindows, targetGroupId, window);
+	}
+
+	/**
+	 * Returns the window in which the trigger aggregates the measurements of the
+	 * target group, if any is configured or provided.
+	 *
+	 * @param trigger           The trigger.
+	 * @param targetGroup       The target group of the trigger's policy.
+	 * @param aggregationMethod The aggregation over the elements of the target
+	 *                          group.
+	 */
+	public Optional<WindowAggregationFactory> getWindow(final BaseTrigger trigger, final TargetGroup targetGroup,
+			final AGGREGATIONMETHOD aggregationMethod) {
+		final WindowAggregationFactory window = this.triggerWindows.getOrDefault(trigger.getId(),
+				this.targetGroupWindows.get(targetGroup.getId()));
+		if (window != null) {
+			return Optional.of(window);
+		}
+		for (final WindowAggregationProvider provider : this.providers) {
+			final Optional<WindowAggregationFactory> provided = provider.getWindow(trigger, targetGroup, aggregationMethod);
+			if (provided.isPresent()) {
+				return provided;
+			}
+		}
+		return Optional.empty();
+	}
+
+	private <V> void putOrRemove(final Map<String, V> settings, final String id, final V setting) {
+		if (setting == null) {
+			settings.remove(id);
+		} else {
+			settings.put(id, setting);
+		}
+	}
+
+	/**
+	 * Sets the window for the response time trigger with the given id.
+	 *
+	 * @param triggerId           The id of the trigger.
+	 * @param windowSpecification The window, or {@code null} to remove the
+	 *                            window of the trigger.
+	 */
+	public void setResponseTimeWindow(final String triggerId, final WindowSpecification windowSpecification) {
+		this.putOrRemove(this.responseTimeWindows, triggerId, windowSpecification);
+	}
+
+	/**
+	 * Sets the window for all response time triggers without their own window.
+	 *
+	 * @param windowSpecification The window, or {@code null} to compare each
+	 *                            response time.
+	 */
+	public void setDefaultResponseTimeWindow(final WindowSpecification windowSpecification) {
+		this.defaultResponseTimeWindow = windowSpecification;
+	}
+
+	/**
+	 * Returns the window for the response time trigger, if any.
+	 */
+	public Optional<WindowSpecification> getResponseTimeWindow(final BaseTrigger trigger) {
+		return Optional.ofNullable(this.responseTimeWindows.getOrDefault(trigger.getId(), this.defaultResponseTimeWindow));
+	}
+
+	/**
+	 * Sets the forecast that the trigger with the given id compares.
+	 *
+	 * @param triggerId The id of the trigger.
+	 * @param forecast  The parameters of the forecast, or {@code null} to
+	 *                  remove the forecast, i.e. to compare the aggregated
+	 *                  values.
+	 */
+	public void setForecast(final String triggerId, final HoltWintersForecastAggregation.Parameters forecast) {
+		this.putOrRemove(this.forecasts, triggerId, forecast);
+	}
+
+	/**
+	 * Returns the forecast for the trigger, if any.
+	 */
+	public Optional<HoltWintersForecastAggregation.Parameters> getForecast(final BaseTrigger trigger) {
+		return Optional.ofNullable(this.forecasts.get(trigger.getId()));
+	}
+
+	/**
+	 * Sets the window in which the trend of the trigger with the given id is
+	 * estimated.
+	 *
+	 * @param triggerId           The id of the trigger.
+	 * @param windowSpecification The window, e.g. a
+	 *                            {@link WindowSpecification#linearTrend(int, double)
+	 *                            linear trend}, or {@code null} to remove the
+	 *                            window of the trigger.
+	 * @throws IllegalArgumentException if the window is not a linear trend.
+	 */
+	public void setTrendWindow(final String triggerId, final WindowSpecification windowSpecification) {
+		this.putOrRemove(this.trendWindows, triggerId, requireLinearTrend(windowSpecification));
+	}
+
+	/**
+	 * Sets the trend window of all trend triggers without their own window.
+	 *
+	 * @param windowSpecification The window, or {@code null} for the trend
+	 *                            window of the trigger checkers, i.e. a linear
+	 *                            trend over the last 60 seconds.
+	 * @throws IllegalArgumentException if the window is not a linear trend.
+	 */
+	public void setDefaultTrendWindow(final WindowSpecification windowSpecification) {
+		this.defaultTrendWindow = requireLinearTrend(windowSpecification);
+	}
+
+	private static WindowSpecification requireLinearTrend(final WindowSpecification windowSpecification) {
+		if (windowSpecification != null && windowSpecification.type() != WindowSpecification.Type.LINEAR_TREND) {
+			throw new IllegalArgumentException(
+					"The trend window must be a linear trend, but was " + windowSpecification.type());
+		}
+		return windowSpecification;
+	}
+
+	/**
+	 * Returns the trend window for the trigger, if any is configured.
+	 */
+	public Optional<WindowSpecification> getTrendWindow(final BaseTrigger trigger) {
+		return Optional.ofNullable(this.trendWindows.getOrDefault(trigger.getId(), this.defaultTrendWindow));
+	}
+
+	/**
+	 * Sets the throttle of the comparisons of the trigger with the given id.
+	 *
+	 * @param triggerId The id of the trigger.
+	 * @param throttle  The throttle, or {@code null} to remove the throttle of
+	 *                  the trigger.
+	 */
+	public void setThrottle(final String triggerId, final EmissionThrottle throttle) {
+		this.putOrRemove(this.throttles, triggerId, throttle);
+	}
+
+	/**
+	 * Sets the throttle of all triggers without their own throttle.
+	 *
+	 * @param throttle The throttle, or {@code null} to compare whenever the
+	 *                 window is emittable.
+	 */
+	public void setDefaultThrottle(final EmissionThrottle throttle) {
+		this.defaultThrottle = throttle;
+	}
+
+	/**
+	 * Returns the throttle for the trigger, if any.
+	 */
+	public Optional<EmissionThrottle> getThrottle(final BaseTrigger trigger) {
+		return Optional.ofNullable(this.throttles.getOrDefault(trigger.getId(), this.defaultThrottle));
+	}
+}
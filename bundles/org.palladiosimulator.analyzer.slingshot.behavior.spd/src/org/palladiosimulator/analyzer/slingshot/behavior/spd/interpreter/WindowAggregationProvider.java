@@ -0,0 +1,45 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter;
+
+import java.util.Optional;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowAggregationFactory;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowSpecification;
+import org.palladiosimulator.spd.targets.TargetGroup;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+import org.palladiosimulator.spd.triggers.BaseTrigger;
+
+/**
+ * Service provider interface to choose the window in which a trigger on a
+ * managed elements state stimulus, such as {@code CPUUtilization}, aggregates
+ * its measurements.
+ *
+ * Providers are registered by a Slingshot extension with a Guice multibinder:
+ *
+ * <pre>
+ * Multibinder.newSetBinder(binder(), WindowAggregationProvider.class)
+ * 		.addBinding().to(MyWindowAggregationProvider.class);
+ * </pre>
+ *
+ * The providers are asked in the order of their bindings, after the windows
+ * set directly in the {@link TriggerWindowConfiguration}. The first provided
+ * window is used. If no provider provides a window, the trigger uses its
+ * default window.
+ *
+ * A provider can return any {@link WindowSpecification}, or its own
+ * {@link WindowAggregationFactory} to use an aggregation that is not part of
+ * this bundle.
+ */
+public interface WindowAggregationProvider {
+
+	/**
+	 * Returns the window for the given trigger, or nothing to leave the choice
+	 * to the next provider.
+	 *
+	 * @param trigger           The trigger.
+	 * @param targetGroup       The target group of the trigger's policy.
+	 * @param aggregationMethod The aggregation over the elements of the target
+	 *                          group.
+	 */
+	Optional<WindowAggregationFactory> getWindow(BaseTrigger trigger, TargetGroup targetGroup,
+			AGGREGATIONMETHOD aggregationMethod);
+}
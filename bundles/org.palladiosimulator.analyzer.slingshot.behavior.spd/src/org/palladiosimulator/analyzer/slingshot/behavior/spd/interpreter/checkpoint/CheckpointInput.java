@@ -0,0 +1,78 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A binary stream to read {@link Checkpointable} state from, as written by a
+ * {@link CheckpointOutput}.
+ */
+public final class CheckpointInput extends DataInputStream {
+
+	private final Function<String, Object> elements;
+
+	/**
+	 * @param in       The stream to read from.
+	 * @param elements Returns the element with the given id, or {@code null} if
+	 *                 it does not exist anymore.
+	 */
+	public CheckpointInput(final InputStream in, final Function<String, Object> elements) {
+		super(in);
+		this.elements = Objects.requireNonNull(elements);
+	}
+
+	/**
+	 * Reads a reference to an element.
+	 *
+	 * @return The element, or {@code null} if it cannot be resolved.
+	 */
+	public Object readElement() throws IOException {
+		if (!this.readBoolean()) {
+			return null;
+		}
+		return this.elements.apply(this.readUTF());
+	}
+
+	/**
+	 * Reads an array that was written with
+	 * {@link CheckpointOutput#writeDoubles(double[])} into the given array.
+	 *
+	 * @throws IllegalStateException if the lengths differ.
+	 */
+	public void readDoubles(final double[] destination) throws IOException {
+		this.checkLength(destination.length);
+		for (int i = 0; i < destination.length; i++) {
+			destination[i] = this.readDouble();
+		}
+	}
+
+	/**
+	 * Reads an array that was written with
+	 * {@link CheckpointOutput#writeLongs(long[])} into the given array.
+	 *
+	 * @throws IllegalStateException if the lengths differ.
+	 */
+	public void readLongs(final long[] destination) throws IOException {
+		this.checkLength(destination.length);
+		for (int i = 0; i < destination.length; i++) {
+			destination[i] = this.readLong();
+		}
+	}
+
+	/**
+	 * Reads a count and checks that it equals the expected one.
+	 *
+	 * @throws IllegalStateException if the counts differ, i.e. if the
+	 *                               checkpoint does not fit the state.
+	 */
+	public void checkLength(final int expected) throws IOException {
+		final int length = this.readInt();
+		if (length != expected) {
+			throw new IllegalStateException(
+					String.format("Expected %d entries, but the checkpoint contains %d", expected, length));
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A binary stream to write {@link Checkpointable} state to.
+ *
+ * Besides primitive values, the state may contain references to model
+ * elements, e.g. measuring points. These are written as ids, see
+ * {@link #writeElement(Object)}, and resolved again by the
+ * {@link CheckpointInput}.
+ */
+public final class CheckpointOutput extends DataOutputStream {
+
+	private final Function<Object, String> elementIds;
+
+	/**
+	 * @param out        The stream to write to.
+	 * @param elementIds Returns a stable id for an element.
+	 */
+	public CheckpointOutput(final OutputStream out, final Function<Object, String> elementIds) {
+		super(out);
+		this.elementIds = Objects.requireNonNull(elementIds);
+	}
+
+	/**
+	 * Writes a reference to the element.
+	 */
+	public void writeElement(final Object element) throws IOException {
+		final String id = element != null ? this.elementIds.apply(element) : null;
+		this.writeBoolean(id != null);
+		if (id != null) {
+			this.writeUTF(id);
+		}
+	}
+
+	/**
+	 * Writes the length and the elements of the array.
+	 */
+	public void writeDoubles(final double[] values) throws IOException {
+		this.writeInt(values.length);
+		for (final double value : values) {
+			this.writeDouble(value);
+		}
+	}
+
+	/**
+	 * Writes the length and the elements of the array.
+	 */
+	public void writeLongs(final long[] values) throws IOException {
+		this.writeInt(values.length);
+		for (final long value : values) {
+			this.writeLong(value);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint;
+
+import java.io.IOException;
+
+/**
+ * Runtime state of the SPD interpreter that can be written into a checkpoint
+ * and restored from it.
+ *
+ * The state is restored into an object that was created in the same way as
+ * the written one, i.e. from the same SPD model and configuration, but that
+ * did not see any events yet. Thus, only the state that changes during the
+ * simulation is written, not the configuration.
+ *
+ * @see CheckpointOutput
+ * @see CheckpointInput
+ */
+public interface Checkpointable {
+
+	/**
+	 * Writes the current state.
+	 */
+	void writeState(CheckpointOutput out) throws IOException;
+
+	/**
+	 * Restores the state that was written by {@link #writeState(CheckpointOutput)}.
+	 */
+	void readState(CheckpointInput in) throws IOException;
+
+	/**
+	 * Writes the state of the object, if it is {@link Checkpointable}.
+	 */
+	static void writeIfCheckpointable(final Object object, final CheckpointOutput out) throws IOException {
+		if (object instanceof final Checkpointable checkpointable) {
+			checkpointable.writeState(out);
+		}
+	}
+
+	/**
+	 * Restores the state of the object, if it is {@link Checkpointable}.
+	 */
+	static void readIfCheckpointable(final Object object, final CheckpointInput in) throws IOException {
+		if (object instanceof final Checkpointable checkpointable) {
+			checkpointable.readState(in);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.MeasurementBatchClosed;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+
+/**
+ * A filter that can take a measurement without evaluating it, because it only
+ * compares a value that it aggregates from the measurements.
+ *
+ * If measurements are batched, all measurements made at the same simulation
+ * time are first {@link #ingest(MeasurementMade) ingested}, and the filter is
+ * then evaluated once with the {@link MeasurementBatchClosed} event. The filter
+ * must then compare its aggregated value as if it had just processed the
+ * latest measurement.
+ *
+ * Since ingesting and comparing are separate steps, other filters can also be
+ * evaluated in between, see {@link FilterChainPlanner}.
+ */
+public interface BatchableFilter extends MeasurementAwareFilter {
+
+	/**
+	 * Returns whether the filter supports batching. If not, every measurement
+	 * must be passed to {@link #doProcess(FilterObjectWrapper)}.
+	 */
+	public boolean isBatchable();
+
+	/**
+	 * Returns whether {@link #ingest(MeasurementMade)} keeps the whole state of
+	 * the filter complete, so that measurements can be ingested while the filter
+	 * is not evaluated at all, e.g. while its policy is inactive. Every batchable
+	 * filter is warmable, but a filter can also be warmable without being
+	 * batchable, if only its stateless parts cannot ingest.
+	 */
+	public default boolean isWarmable() {
+		return this.isBatchable();
+	}
+
+	/**
+	 * Aggregates the measurement without comparing the aggregated value. The
+	 * measurement is only passed if the filter is interested in it (see
+	 * {@link #isInterestedIn(org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint, org.palladiosimulator.metricspec.MetricDescription)}).
+	 *
+	 * @param measurementMade The measurement to aggregate.
+	 */
+	public void ingest(final MeasurementMade measurementMade);
+
+	/**
+	 * Compares the aggregated value without ingesting the event. This is what
+	 * the filter does on a {@link MeasurementBatchClosed} event, and after
+	 * ingesting a measurement in {@link #doProcess(FilterObjectWrapper)}.
+	 *
+	 * @param event The event that caused the comparison.
+	 * @return The result of the comparison.
+	 */
+	public FilterResult compare(final FilterObjectWrapper event);
+
+	/**
+	 * Consumes the emission of the aggregated value like
+	 * {@link #compare(FilterObjectWrapper)}, but without comparing it. This is
+	 * called instead of the comparison if the event was already disregarded by
+	 * another filter, so that the emission rate of the aggregation stays the
+	 * same.
+	 */
+	public void skipComparison();
+
+	/**
+	 * Checks whether an arbitrary filter supports batching.
+	 */
+	public static boolean isBatchable(final Filter filter) {
+		return filter instanceof final BatchableFilter batchableFilter && batchableFilter.isBatchable();
+	}
+}
@@ -0,0 +1,68 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+/**
+ * The reason why a {@link Filter} disregarded an event. The reason is a
+ * constant, so that disregarding does not require building a message. A more
+ * detailed description can be attached to a {@link FilterResult.Disregard}
+ * lazily, if needed.
+ */
+public enum DisregardReason {
+
+	/** The filter cannot handle events of this type. */
+	UNSUPPORTED_EVENT("The event type is not supported by the filter"),
+
+	/** The event does not belong to the target group of the policy. */
+	NOT_IN_TARGET_GROUP("The event does not belong to the target group"),
+
+	/** The measurement was made at a measuring point that is not checked by the trigger. */
+	WRONG_MEASURING_POINT("The measuring point is not checked by the trigger"),
+
+	/** Not enough values were aggregated yet, or the emission is rate limited. */
+	NOT_EMITTABLE("Values not emittable"),
+
+	/** The (aggregated) value is not in accordance with the expected value of the trigger. */
+	NOT_IN_ACCORDANCE("Value and expectation not in accordance"),
+
+	/** The maximum number of scaling operations within the cooldown was reached. */
+	COOLDOWN("Cooldown constraint prevents this scaling operation"),
+
+	/** The simulation time is inside of the interval of an interval constraint. */
+	INTERVAL("Interval constraint prevents this scaling operation"),
+
+	/** A scaling operation in the opposite direction was enacted too recently. */
+	THRASHING("Thrashing constraint prevents this scaling operation"),
+
+	/** None of the triggers of a composed OR or XOR trigger let the event pass. */
+	NO_FILTER_PASSED("No trigger of the composed trigger went through"),
+
+	/** More than one trigger of a composed XOR trigger let the event pass. */
+	MULTIPLE_FILTERS_PASSED("More than one trigger of the exclusive composed trigger went through"),
+
+	/** A filter threw an exception. */
+	EXCEPTION("The filter threw an exception"),
+
+	/** A filter did not return any result. */
+	NO_RESULT("The filter did not return any result"),
+
+	/** Any other reason. */
+	UNSPECIFIED("Unspecified reason");
+
+	private final String description;
+	private final FilterResult.Disregard result;
+
+	private DisregardReason(final String description) {
+		this.description = description;
+		this.result = new FilterResult.Disregard(this, null);
+	}
+
+	public String getDescription() {
+		return this.description;
+	}
+
+	/**
+	 * Returns the preallocated result for this reason without any details.
+	 */
+	FilterResult.Disregard asResult() {
+		return this.result;
+	}
+}
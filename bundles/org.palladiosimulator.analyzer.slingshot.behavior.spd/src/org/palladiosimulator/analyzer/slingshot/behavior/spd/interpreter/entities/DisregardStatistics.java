@@ -0,0 +1,63 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+
+/**
+ * Counts how often events were disregarded for each {@link DisregardReason}.
+ * There is one instance per scaling policy (see {@link SPDAdjustorContext}),
+ * so that the counters can be reported per policy at the end of a simulation
+ * run.
+ */
+public final class DisregardStatistics implements Checkpointable {
+
+	private static final DisregardReason[] REASONS = DisregardReason.values();
+
+	private final long[] counters = new long[REASONS.length];
+
+	public void count(final DisregardReason reason) {
+		this.counters[reason.ordinal()]++;
+	}
+
+	public long getCount(final DisregardReason reason) {
+		return this.counters[reason.ordinal()];
+	}
+
+	public long getTotal() {
+		return Arrays.stream(this.counters).sum();
+	}
+
+	/**
+	 * Returns the counters of every reason that occurred at least once.
+	 */
+	public Map<DisregardReason, Long> asMap() {
+		final Map<DisregardReason, Long> result = new EnumMap<>(DisregardReason.class);
+		for (final DisregardReason reason : REASONS) {
+			if (this.counters[reason.ordinal()] > 0) {
+				result.put(reason, this.counters[reason.ordinal()]);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeLongs(this.counters);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		in.readLongs(this.counters);
+	}
+
+	@Override
+	public String toString() {
+		return "DisregardStatistics[total=" + this.getTotal() + ", " + this.asMap() + "]";
+	}
+}
@@ -16,10 +16,18 @@ import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
  * filter {@link #next(Object)} or to cancel {@link #disregard(String)}.
  * <p>
  * If {@link #disregard(String)} is called, then the provided message will be delegated
- * to a given callback provided in the constructor.
+ * to a given callback provided in the constructor. If a filter disregards the event, the
+ * callback receives the {@link FilterResult.Disregard} of that filter.
  * <p>
  * New filters can be added with {@link #add(Filter)} and {@link #addAt(int, Filter)}.
  * Note that it is not possible to add new filter if it is currently in used (see {@link #filterIsBeingUsed()}).
+ * <p>
+ * Once all filters are added, the chain can be frozen with {@link #compile()}. A compiled
+ * chain runs the filters in a simple loop over an array instead of recursing through
+ * {@link #next(DESEvent)} for each filter, and reuses a single {@link FilterObjectWrapper}.
+ * Together with filters returning preallocated results (see {@link FilterResult#proceed()}),
+ * this means that no garbage is created for events that are disregarded. Subclasses
+ * that override {@link #next(DESEvent)} or {@link #disregard(Object)} must not be compiled.
  *
  * @author Julijan Katic
  *
@@ -33,6 +41,10 @@ public class FilterChain {
 	protected Iterator<Filter> iterator;
 	private FilterResult latestResult;
 	
+	/** The frozen filters, or {@code null} if the chain is not compiled. */
+	private Filter[] compiledFilters;
+	private FilterObjectWrapper compiledWrapper;
+	
 	/**
 	 * Constructs a new and empty filter chain. A non-null delegator
 	 * must be provided that will be called if any filter disregards.
@@ -98,6 +110,10 @@ public class FilterChain {
 	 * @param event An event that should be passed to the next filter if there is one.
 	 */
 	public void next(final DESEvent event) {
+		if (this.compiledFilters != null) {
+			this.runCompiled(event);
+			return;
+		}
 		if (!this.filterIsBeingUsed()) {
 			this.iterator = this.filters.iterator();
 		}
@@ -108,20 +124,72 @@ public class FilterChain {
 			} catch (final Exception e) {
 				this.latestResult = FilterResult.disregard(e);
 			}
-			checkResult();
+			checkResult(event);
 		} else {
 			this.iterator = null;
 		}
 	}
 	
-	private void checkResult() {
+	private void checkResult(final DESEvent event) {
 		if (this.latestResult instanceof final FilterResult.Success success) {
-			this.next(success.nextEvent());
+			this.next(success.nextEventOr(event));
 		} else if (this.latestResult instanceof final FilterResult.Disregard disregard) {
-			this.disregard(disregard.reason().toString());
+			this.disregard(disregard);
 		}
 	}
 	
+	/**
+	 * Freezes the current filters into an array. Afterwards, {@link #next(DESEvent)}
+	 * runs the whole chain in a single loop, and no filters can be added anymore.
+	 * 
+	 * @throws IllegalStateException if the filter is currently in use.
+	 */
+	public void compile() {
+		this.checkThatChainIsNotCurrentlyUsed();
+		this.compiledFilters = this.filters.toArray(new Filter[0]);
+		this.compiledWrapper = new FilterObjectWrapper(null, this.state);
+	}
+	
+	/**
+	 * Returns whether the chain was frozen by {@link #compile()}.
+	 */
+	public boolean isCompiled() {
+		return this.compiledFilters != null;
+	}
+	
+	/**
+	 * Runs the compiled filters one after another. The latest result is the result
+	 * of the disregarding filter, or a success with the resulting event if all
+	 * filters passed.
+	 */
+	private void runCompiled(final DESEvent event) {
+		DESEvent currentEvent = event;
+		FilterResult result = FilterResult.proceed();
+		
+		for (int i = 0; i < this.compiledFilters.length; i++) {
+			this.compiledWrapper.setEventToFilter(currentEvent);
+			try {
+				result = this.compiledFilters[i].doProcess(this.compiledWrapper);
+			} catch (final Exception e) {
+				result = FilterResult.disregard(e);
+			}
+			
+			if (result instanceof final FilterResult.Success success) {
+				currentEvent = success.nextEventOr(currentEvent);
+			} else {
+				final FilterResult.Disregard disregard = result instanceof final FilterResult.Disregard d ? d
+						: FilterResult.disregard(DisregardReason.NO_RESULT);
+				this.compiledWrapper.setEventToFilter(null);
+				this.latestResult = disregard;
+				this.doOnDisregard.accept(disregard);
+				return;
+			}
+		}
+		
+		this.compiledWrapper.setEventToFilter(null);
+		this.latestResult = result == FilterResult.proceed() ? FilterResult.success(currentEvent) : result;
+	}
+	
 	public FilterResult getLatestResult() {
 		return this.latestResult;
 	}
@@ -149,11 +217,21 @@ public class FilterChain {
 		return this.iterator != null;
 	}
 
+	/**
+	 * Returns the state that is passed to the filters.
+	 */
+	public SPDAdjustorState getState() {
+		return this.state;
+	}
+
 	public int size() {
 		return this.filters.size();
 	}
 
 	private void checkThatChainIsNotCurrentlyUsed() {
+		if (this.compiledFilters != null) {
+			throw new IllegalStateException("The filter chain is compiled, no filters can be added anymore.");
+		}
 		if (this.filterIsBeingUsed()) {
 			throw new IllegalStateException("The filter chain is currently in use (next() was called before) or hasn't reached "
 					+ "the end yet). Either disregard first or wait until chain has finished.");
@@ -0,0 +1,132 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+
+/**
+ * Orders the filters of a policy's {@link FilterChain}.
+ *
+ * The straightforward order is the target group checker, the trigger checker,
+ * the constraints and finally the adjustor. However, most events are
+ * disregarded by a constraint like the cooldown after the trigger compared its
+ * aggregated value, although the constraint only checks the state of the
+ * policy (see {@link StateOnlyFilter}). Their result does not depend on the
+ * trigger, so they can be checked first.
+ *
+ * The trigger must still aggregate every measurement, and consume the emission
+ * of its window as if it had compared, so that it emits at the same rate.
+ * Hence, this is only done for {@link BatchableFilter batchable} triggers,
+ * which can ingest a measurement and compare separately. The trigger and the
+ * state-only constraints are merged into a single filter that ingests the
+ * measurement, then checks the constraints, and finally compares. If a
+ * constraint disregards the event, the comparison is
+ * {@link BatchableFilter#skipComparison() skipped} instead. For other triggers,
+ * the straightforward order is kept.
+ *
+ * Either way, an event passes the chain iff it passes the straightforward
+ * order. Only the reason of a disregard may differ, if both the trigger and a
+ * constraint disregard the event.
+ */
+public final class FilterChainPlanner {
+
+	private FilterChainPlanner() {
+		// static helper
+	}
+
+	/**
+	 * Plans the order of the filters.
+	 *
+	 * @param targetGroupChecker The filter for the target group, which is always
+	 *                           the first.
+	 * @param triggerChecker     The filter for the trigger.
+	 * @param constraintFilters  The filters for the constraints, in the order of
+	 *                           the model.
+	 * @param adjustor           The adjustor, which is always the last.
+	 * @return The filters in the order in which they should be added to the
+	 *         chain.
+	 */
+	public static List<Filter> plan(final Filter targetGroupChecker, final Filter triggerChecker,
+			final List<Filter> constraintFilters, final Filter adjustor) {
+		final List<Filter> filters = new ArrayList<>(constraintFilters.size() + 3);
+		filters.add(targetGroupChecker);
+
+		final List<Filter> stateOnlyFilters = constraintFilters.stream()
+				.filter(StateOnlyFilter.class::isInstance)
+				.toList();
+
+		if (BatchableFilter.isBatchable(triggerChecker) && !stateOnlyFilters.isEmpty()) {
+			filters.add(new GuardedComparison((BatchableFilter) triggerChecker, stateOnlyFilters.toArray(new Filter[0])));
+			constraintFilters.stream()
+					.filter(filter -> !(filter instanceof StateOnlyFilter))
+					.forEach(filters::add);
+		} else {
+			filters.add(triggerChecker);
+			filters.addAll(constraintFilters);
+		}
+
+		filters.add(adjustor);
+		return filters;
+	}
+
+	/**
+	 * Ingests the measurement into the trigger, checks the state-only filters,
+	 * and compares only if all of them pass.
+	 */
+	private static final class GuardedComparison implements Filter {
+
+		private final BatchableFilter triggerChecker;
+		private final Filter[] guards;
+
+		private GuardedComparison(final BatchableFilter triggerChecker, final Filter[] guards) {
+			this.triggerChecker = triggerChecker;
+			this.guards = guards;
+		}
+
+		@Override
+		public FilterResult doProcess(final FilterObjectWrapper event) {
+			if (event.getEventToFilter() instanceof final MeasurementMade measurementMade) {
+				if (!this.triggerChecker.isInterestedIn(measurementMade.getEntity().getMeasuringPoint(),
+						measurementMade.getEntity().getMetricDesciption())) {
+					/*
+					 * Not an ingestible measurement: let the trigger decide as in the
+					 * straightforward order.
+					 */
+					return this.evaluateInOrder(event);
+				}
+				this.triggerChecker.ingest(measurementMade);
+			}
+
+			for (final Filter guard : this.guards) {
+				final FilterResult result;
+				try {
+					result = guard.doProcess(event);
+				} catch (final RuntimeException e) {
+					this.triggerChecker.skipComparison();
+					throw e;
+				}
+				if (!(result instanceof FilterResult.Success)) {
+					this.triggerChecker.skipComparison();
+					return result;
+				}
+			}
+
+			return this.triggerChecker.compare(event);
+		}
+
+		private FilterResult evaluateInOrder(final FilterObjectWrapper event) {
+			final FilterResult result = this.triggerChecker.doProcess(event);
+			if (!(result instanceof FilterResult.Success)) {
+				return result;
+			}
+			for (final Filter guard : this.guards) {
+				final FilterResult guardResult = guard.doProcess(event);
+				if (!(guardResult instanceof FilterResult.Success)) {
+					return guardResult;
+				}
+			}
+			return result;
+		}
+	}
+}
@@ -7,12 +7,15 @@ import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
  * state of the adjustment, so that each filter can adjust the
  * state and retrieve it.
  * 
+ * A compiled {@link FilterChain} reuses a single wrapper for every filter
+ * and event, so filters must not keep a reference to the wrapper.
+ * 
  * @author Julijan Katic
  *
  */
 public final class FilterObjectWrapper {
 
-	private final DESEvent eventToFilter;
+	private DESEvent eventToFilter;
 	private final SPDAdjustorState state;
 	
 	public FilterObjectWrapper(DESEvent objectToFilter, SPDAdjustorState state) {
@@ -29,5 +32,12 @@ public final class FilterObjectWrapper {
 		return state;
 	}
 	
+	/**
+	 * Replaces the wrapped event, so that the wrapper can be reused.
+	 */
+	void setEventToFilter(final DESEvent eventToFilter) {
+		this.eventToFilter = eventToFilter;
+	}
+	
 	
 }
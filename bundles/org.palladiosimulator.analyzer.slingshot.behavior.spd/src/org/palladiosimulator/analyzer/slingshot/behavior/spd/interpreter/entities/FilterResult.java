@@ -1,24 +1,118 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
 
+import java.util.function.Supplier;
+
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 
+/**
+ * The result of a {@link Filter}, which either lets an event pass
+ * ({@link Success}) or disregards it ({@link Disregard}).
+ * <p>
+ * Filters that let the event pass unchanged should return {@link #proceed()},
+ * and filters that disregard should use a {@link DisregardReason}. Without
+ * details, the results are preallocated, so that no result needs to be
+ * allocated per event. Hence, filters return {@link #disregard(DisregardReason)}
+ * and only log their details, if debugging is enabled.
+ */
 public sealed interface FilterResult {
 	
 	public static Success success(final DESEvent nextEvent) {
 		return new Success(nextEvent);
 	}
 	
+	/**
+	 * Returns a preallocated result telling that the event passed the filter
+	 * unchanged. A {@link FilterChain} passes the very same event to the next
+	 * filter in that case.
+	 * 
+	 * @return the shared success result without an event.
+	 */
+	public static Success proceed() {
+		return Success.UNCHANGED;
+	}
+	
+	/**
+	 * Returns the preallocated result for disregarding with the given reason.
+	 */
+	public static Disregard disregard(final DisregardReason reason) {
+		return reason.asResult();
+	}
+	
+	/**
+	 * Creates a result for disregarding with the given reason and a detailed
+	 * message that is only rendered when needed. This allocates a new result,
+	 * so it is meant for rare cases like exceptions, not for the regular
+	 * disregards of a filter.
+	 * 
+	 * @param reason The reason code.
+	 * @param detail Supplier of a detailed message.
+	 */
+	public static Disregard disregard(final DisregardReason reason, final Supplier<String> detail) {
+		return new Disregard(reason, detail);
+	}
+	
+	/**
+	 * Converts an arbitrary reason into a disregard result. Existing
+	 * {@link Disregard} results are returned as they are, exceptions are mapped
+	 * to {@link DisregardReason#EXCEPTION}, and every other object to
+	 * {@link DisregardReason#UNSPECIFIED} with the object as detail.
+	 */
 	public static Disregard disregard(final Object reason) {
-		return new Disregard(reason);
+		if (reason instanceof final Disregard disregard) {
+			return disregard;
+		}
+		if (reason instanceof final DisregardReason disregardReason) {
+			return disregard(disregardReason);
+		}
+		if (reason instanceof Throwable) {
+			return new Disregard(DisregardReason.EXCEPTION, reason::toString);
+		}
+		return new Disregard(DisregardReason.UNSPECIFIED, () -> String.valueOf(reason));
 	}
 	
 	public static Disregard disregard() {
-		return disregard("");
+		return disregard(DisregardReason.UNSPECIFIED);
 	}
 
-	public static record Success(DESEvent nextEvent) implements FilterResult {}
+	/**
+	 * @param nextEvent The event for the next filter, or {@code null} if the
+	 *                  event stays the same (see {@link FilterResult#proceed()}).
+	 */
+	public static record Success(DESEvent nextEvent) implements FilterResult {
+		
+		private static final Success UNCHANGED = new Success(null);
+		
+		/**
+		 * Returns the event for the next filter, or {@code eventToFilter} if the
+		 * filter let the event pass unchanged.
+		 */
+		public DESEvent nextEventOr(final DESEvent eventToFilter) {
+			return this.nextEvent != null ? this.nextEvent : eventToFilter;
+		}
+	}
 	
-	public static record Disregard(Object reason) implements FilterResult {}
+	/**
+	 * @param reason The reason code why the event was disregarded.
+	 * @param detail A supplier for a detailed message, or {@code null} if there
+	 *               are no details.
+	 */
+	public static record Disregard(DisregardReason reason, Supplier<String> detail) implements FilterResult {
+		
+		/**
+		 * Renders the human-readable message of this result, including the details.
+		 */
+		public String message() {
+			if (this.detail == null) {
+				return this.reason.getDescription();
+			}
+			return this.reason.getDescription() + ": " + this.detail.get();
+		}
+		
+		@Override
+		public String toString() {
+			return this.message();
+		}
+	}
 	
 
 }
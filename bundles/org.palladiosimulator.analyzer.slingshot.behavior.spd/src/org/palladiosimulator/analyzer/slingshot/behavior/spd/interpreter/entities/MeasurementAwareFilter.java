@@ -0,0 +1,61 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.MetricDescription;
+import org.palladiosimulator.metricspec.MetricSetDescription;
+
+/**
+ * A filter that can tell in advance whether a {@link MeasurementMade} event
+ * from a certain measuring point and of a certain metric would be of any
+ * interest to it. This allows to route measurements only to those filter
+ * chains that actually process them, instead of pushing every measurement
+ * through every chain.
+ *
+ * The answer must only depend on the measuring point and the metric, so that
+ * it can be cached.
+ */
+public interface MeasurementAwareFilter extends Filter {
+
+	/**
+	 * Returns whether measurements of the given metric, taken at the given
+	 * measuring point, could be processed by this filter.
+	 *
+	 * @param measuringPoint The measuring point where the measurement was made.
+	 * @param metric         The metric description of the measurement.
+	 * @return true if such measurements should be passed to this filter.
+	 */
+	public boolean isInterestedIn(final MeasuringPoint measuringPoint, final MetricDescription metric);
+
+	/**
+	 * Helper method to check whether the measured metric provides the wanted
+	 * metric, either because it is the same metric or because the measured metric
+	 * is a tuple containing the wanted metric.
+	 *
+	 * @param measured The metric of the measurement.
+	 * @param wanted   The metric that a filter wants to retrieve.
+	 * @return true iff the measured metric contains the wanted metric.
+	 */
+	public static boolean providesMetric(final MetricDescription measured, final MetricDescription wanted) {
+		if (measured.getId().equals(wanted.getId())) {
+			return true;
+		}
+		if (measured instanceof final MetricSetDescription metricSet) {
+			return metricSet.getSubsumedMetrics().stream().anyMatch(sub -> sub.getId().equals(wanted.getId()));
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether an arbitrary filter is interested in the measurement. Filters
+	 * that are not {@link MeasurementAwareFilter}s are always considered to be
+	 * interested.
+	 */
+	public static boolean isInterestedIn(final Filter filter, final MeasuringPoint measuringPoint,
+			final MetricDescription metric) {
+		if (filter instanceof final MeasurementAwareFilter awareFilter) {
+			return awareFilter.isInterestedIn(measuringPoint, metric);
+		}
+		return true;
+	}
+}
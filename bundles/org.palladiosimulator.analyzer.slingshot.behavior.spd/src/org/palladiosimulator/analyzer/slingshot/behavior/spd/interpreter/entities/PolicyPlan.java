@@ -0,0 +1,100 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import java.util.Objects;
+
+import org.palladiosimulator.spd.ScalingPolicy;
+import org.palladiosimulator.spd.adjustments.AbsoluteAdjustment;
+import org.palladiosimulator.spd.adjustments.AdjustmentType;
+import org.palladiosimulator.spd.adjustments.RelativeAdjustment;
+import org.palladiosimulator.spd.adjustments.StepAdjustment;
+import org.palladiosimulator.spd.constraints.policy.CooldownConstraint;
+
+/**
+ * The parts of a {@link ScalingPolicy} that are needed while filtering events,
+ * resolved once when the policy is interpreted. The filters read these final
+ * fields instead of navigating the model for each event or adjustment.
+ *
+ * The policy itself is only kept to be passed on, e.g. in the events that
+ * request an adjustment.
+ */
+public final class PolicyPlan {
+
+	/**
+	 * The direction in which a policy adjusts the amount of resources.
+	 */
+	public enum AdjustmentSign {
+		POSITIVE,
+		NEGATIVE,
+		/** The policy sets the amount of resources, so it has no direction. */
+		ABSOLUTE
+	}
+
+	private final ScalingPolicy scalingPolicy;
+	private final String policyId;
+	private final String targetGroupId;
+	private final AdjustmentSign adjustmentSign;
+	private final double cooldownTime;
+
+	private PolicyPlan(final ScalingPolicy scalingPolicy) {
+		this.scalingPolicy = Objects.requireNonNull(scalingPolicy);
+		this.policyId = scalingPolicy.getId();
+		this.targetGroupId = scalingPolicy.getTargetGroup().getId();
+		this.adjustmentSign = signOf(scalingPolicy.getAdjustmentType());
+		this.cooldownTime = scalingPolicy.getPolicyConstraints().stream()
+				.filter(CooldownConstraint.class::isInstance)
+				.map(CooldownConstraint.class::cast)
+				.findFirst()
+				.map(CooldownConstraint::getCooldownTime)
+				.orElse(0.0);
+	}
+
+	/**
+	 * Resolves the plan of the policy.
+	 *
+	 * @param scalingPolicy The policy.
+	 * @return The plan of the policy.
+	 */
+	public static PolicyPlan compile(final ScalingPolicy scalingPolicy) {
+		return new PolicyPlan(scalingPolicy);
+	}
+
+	/**
+	 * Returns the direction of the adjustment. Relative and step adjustments are
+	 * positive iff their value is positive, absolute adjustments have no
+	 * direction, and other adjustments are considered positive.
+	 */
+	public static AdjustmentSign signOf(final AdjustmentType adjustmentType) {
+		if (adjustmentType instanceof AbsoluteAdjustment) {
+			return AdjustmentSign.ABSOLUTE;
+		} else if (adjustmentType instanceof final RelativeAdjustment relativeAdjustment) {
+			return relativeAdjustment.getPercentageGrowthValue() > 0 ? AdjustmentSign.POSITIVE : AdjustmentSign.NEGATIVE;
+		} else if (adjustmentType instanceof final StepAdjustment stepAdjustment) {
+			return stepAdjustment.getStepValue() > 0 ? AdjustmentSign.POSITIVE : AdjustmentSign.NEGATIVE;
+		}
+		return AdjustmentSign.POSITIVE;
+	}
+
+	public ScalingPolicy getScalingPolicy() {
+		return this.scalingPolicy;
+	}
+
+	public String getPolicyId() {
+		return this.policyId;
+	}
+
+	public String getTargetGroupId() {
+		return this.targetGroupId;
+	}
+
+	public AdjustmentSign getAdjustmentSign() {
+		return this.adjustmentSign;
+	}
+
+	/**
+	 * Returns the cooldown time of the first {@link CooldownConstraint} of the
+	 * policy, or 0 if there is none.
+	 */
+	public double getCooldownTime() {
+		return this.cooldownTime;
+	}
+}
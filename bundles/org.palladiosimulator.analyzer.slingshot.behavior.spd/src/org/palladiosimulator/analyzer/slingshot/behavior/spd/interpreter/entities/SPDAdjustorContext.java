@@ -1,21 +1,35 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.IntervalBoundaryReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.MeasurementBatchClosed;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.adjustor.Adjustor;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.constraint.AbstractConstraintFilter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.constraint.IntervalActivation;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.targetgroup.TargetGroupChecker;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger.TriggerChecker;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.TargetGroupMembershipIndex;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.EventHandler;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.entity.Subscriber;
 import org.palladiosimulator.analyzer.slingshot.eventdriver.returntypes.Result;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.MetricDescription;
 import org.palladiosimulator.spd.ScalingPolicy;
+import org.palladiosimulator.spd.constraints.policy.IntervalConstraint;
 import org.palladiosimulator.spd.constraints.target.ThrashingConstraint;
 import org.palladiosimulator.spd.triggers.BaseTrigger;
 import org.palladiosimulator.spd.triggers.ComposedTrigger;
@@ -33,30 +47,78 @@ import org.palladiosimulator.spd.triggers.ScalingTrigger;
  * type of event, which results in the FilterChain being triggered more often
  * than it should.
  *
+ * {@link MeasurementMade} events are not subscribed to by the context itself.
+ * Instead, they are dispatched centrally to every context that is interested in
+ * them (see {@link #isInterestedIn(MeasuringPoint, MetricDescription)}). If
+ * the trigger checker is a {@link BatchableFilter}, measurements can also be
+ * {@link #ingest(MeasurementMade) ingested} without running the filter chain,
+ * which then runs once per batch on the {@link MeasurementBatchClosed} event.
+ *
+ * {@link IntervalConstraint}s are not part of the filter chain. Instead, the
+ * context is {@link #isActive() inactive} while the simulation time is inside
+ * one of their intervals, see {@link IntervalActivation}. An inactive context
+ * does not filter any events. The boundaries of the intervals must be
+ * scheduled by the owner of the context, see
+ * {@link #getNextIntervalBoundary()}. Events at the time of a boundary that
+ * are handled before the boundary event see the activation after the boundary
+ * (see {@link #isActiveAt(double)}).
+ *
+ * The checkpoint of a context consists of the state of its policy, the
+ * disregard statistics, the activation and the state of the trigger checker.
+ * The other filters keep their state in the {@link SPDAdjustorState}.
+ *
  * @author Julijan Katic, Sarah Stieß
  */
-public final class SPDAdjustorContext {
+public final class SPDAdjustorContext implements Checkpointable {
 
 	private static final Logger LOGGER = Logger.getLogger(SPDAdjustorContext.class);
 
 	private final FilterChain filterChain;
+	private final PolicyPlan plan;
 	private final ScalingPolicy scalingPolicy;
+	private final TargetGroupChecker targetGroupChecker;
+	private final Filter triggerChecker;
 	private final Set<Subscriber<? extends DESEvent>> associatedHandlers;
+	private final DisregardStatistics disregardStatistics = new DisregardStatistics();
+	private final boolean batchable;
+	private final boolean warmable;
+
+	/** The activation by the interval constraints, or {@code null} if there are none. */
+	private final IntervalActivation intervalActivation;
+	private boolean active;
 
 	private SPDAdjustorState state;
 	private final SPDAdjustorState previousState;
 
-	public SPDAdjustorContext(final ScalingPolicy policy,
+	/**
+	 * @param plan The resolved policy, see {@link PolicyPlan#compile(ScalingPolicy)}.
+	 */
+	public SPDAdjustorContext(final PolicyPlan plan,
 			final Filter triggerChecker,
-			final List<Subscriber.Builder<? extends DESEvent>> associatedHandlers, final TargetGroupState targetGroupState) {
-		this.scalingPolicy = policy;
-
-		state = new SPDAdjustorState(policy, targetGroupState);
-		previousState = new SPDAdjustorState(policy, targetGroupState);
+			final List<Subscriber.Builder<? extends DESEvent>> associatedHandlers, final TargetGroupState targetGroupState,
+			final TargetGroupMembershipIndex membershipIndex) {
+		this.plan = plan;
+		this.scalingPolicy = plan.getScalingPolicy();
+		final ScalingPolicy policy = this.scalingPolicy;
+		this.targetGroupChecker = new TargetGroupChecker(policy.getTargetGroup(), membershipIndex);
+		this.triggerChecker = triggerChecker;
+		this.batchable = BatchableFilter.isBatchable(triggerChecker);
+		this.warmable = triggerChecker instanceof final BatchableFilter batchableFilter && batchableFilter.isWarmable();
+
+		final List<IntervalConstraint> intervalConstraints = policy.getPolicyConstraints().stream()
+				.filter(IntervalConstraint.class::isInstance)
+				.map(IntervalConstraint.class::cast)
+				.toList();
+		this.intervalActivation = intervalConstraints.isEmpty() ? null : new IntervalActivation(intervalConstraints);
+		this.active = this.intervalActivation == null || this.intervalActivation.isActive();
+
+		state = new SPDAdjustorState(plan, targetGroupState);
+		previousState = new SPDAdjustorState(plan, targetGroupState);
 
 		this.filterChain = new FilterChain(this::doOnDisregard, state);
 
 		initializeFilterChain(triggerChecker);
+		this.filterChain.compile();
 
 		final PublishResultingEventFilter publisher = new PublishResultingEventFilter();
 
@@ -71,26 +133,25 @@ public final class SPDAdjustorContext {
 	/**
 	 * Initializes the filter chain.
 	 *
-	 * The first filter is always a {@link TargetGroupChecker}, the second filter is
-	 * always a {@link TriggerChecker}, the last filter is always the
-	 * {@link Adjustor}. In between are the Checker for the Constraints.
+	 * The first filter is always a {@link TargetGroupChecker}, the last filter is
+	 * always the {@link Adjustor}. In between are the {@link TriggerChecker} and
+	 * the Checker for the Constraints, except for the interval constraints, in
+	 * the order given by the {@link FilterChainPlanner}.
 	 *
 	 * @param triggerChecker filter to check the policie's {@link ScalingTrigger}.
 	 */
 	private void initializeFilterChain(final Filter triggerChecker) {
-		this.filterChain.add(new TargetGroupChecker(this.scalingPolicy.getTargetGroup()));
-
-		this.filterChain.add(triggerChecker);
-
+		final List<Filter> constraintFilters = new ArrayList<>();
 
 		scalingPolicy.getTargetGroup().getTargetConstraints().stream().filter(constraint -> constraint instanceof final ThrashingConstraint thrashingConstraint).map(constraint -> (ThrashingConstraint) constraint).forEach(constraint ->
-				this.filterChain.add(AbstractConstraintFilter.createAbstractConstraintFilter(constraint)));
+				constraintFilters.add(AbstractConstraintFilter.createAbstractConstraintFilter(constraint)));
 
-		scalingPolicy.getPolicyConstraints().forEach(constraint ->
-		this.filterChain.add(AbstractConstraintFilter.createAbstractConstraintFilter(constraint))
+		scalingPolicy.getPolicyConstraints().stream().filter(constraint -> !(constraint instanceof IntervalConstraint)).forEach(constraint ->
+		constraintFilters.add(AbstractConstraintFilter.createAbstractConstraintFilter(constraint))
 				);
 
-		this.filterChain.add(new Adjustor(this.scalingPolicy));
+		this.filterChain.addAll(FilterChainPlanner.plan(this.targetGroupChecker, triggerChecker, constraintFilters,
+				new Adjustor(this.plan)));
 	}
 
 
@@ -102,18 +163,184 @@ public final class SPDAdjustorContext {
 		return scalingPolicy;
 	}
 
+	public PolicyPlan getPolicyPlan() {
+		return plan;
+	}
+
 	public Collection<Subscriber<? extends DESEvent>> getAssociatedHandlers() {
 		return associatedHandlers;
 	}
 
+	/**
+	 * Returns how often, and for which reasons, events were disregarded by the
+	 * filter chain of this policy so far.
+	 */
+	public DisregardStatistics getDisregardStatistics() {
+		return disregardStatistics;
+	}
+
+	/**
+	 * Returns whether measurements of the given metric at the given measuring point
+	 * are relevant for this context, i.e. whether the measuring point is inside
+	 * the policy's target group and whether the trigger of the policy is able to
+	 * process such measurements.
+	 *
+	 * @param measuringPoint The measuring point of the measurement.
+	 * @param metric         The metric of the measurement.
+	 * @return true iff the measurement should be passed to this context.
+	 */
+	public boolean isInterestedIn(final MeasuringPoint measuringPoint, final MetricDescription metric) {
+		return MeasurementAwareFilter.isInterestedIn(this.triggerChecker, measuringPoint, metric)
+				&& this.targetGroupChecker.isInterestedIn(measuringPoint, metric);
+	}
+
+	/**
+	 * Returns whether the simulation time is outside of the intervals of all
+	 * interval constraints of the policy. Inactive contexts do not filter any
+	 * events.
+	 */
+	public boolean isActive() {
+		return this.active;
+	}
+
+	/**
+	 * Returns whether the context is active at the given simulation time. If a
+	 * boundary of the intervals is at or before that time, the activation is
+	 * updated first, even if the event of the boundary was not handled yet.
+	 *
+	 * @param simulationTime The current simulation time.
+	 * @return true iff the context is active.
+	 */
+	public boolean isActiveAt(final double simulationTime) {
+		if (this.intervalActivation != null) {
+			this.active = this.intervalActivation.isActiveAt(simulationTime);
+		}
+		return this.active;
+	}
+
+	/**
+	 * Returns the simulation time at which the activation changes next, or
+	 * positive infinity if it does not change anymore.
+	 */
+	public double getNextActivationChange() {
+		return this.intervalActivation == null ? Double.POSITIVE_INFINITY : this.intervalActivation.getNextChange();
+	}
+
+	/**
+	 * Returns the event for the next boundary of the intervals of the interval
+	 * constraints, if there is any.
+	 */
+	public Optional<IntervalBoundaryReached> getNextIntervalBoundary() {
+		final double nextChange = this.getNextActivationChange();
+		if (Double.isInfinite(nextChange)) {
+			return Optional.empty();
+		}
+		return Optional.of(new IntervalBoundaryReached(this.plan.getPolicyId(), nextChange));
+	}
+
+	/**
+	 * Updates the activation when a boundary of the intervals was reached.
+	 *
+	 * @param boundaryReached The event of the boundary.
+	 * @return true iff the context is active afterwards.
+	 */
+	public boolean onIntervalBoundaryReached(final IntervalBoundaryReached boundaryReached) {
+		if (this.intervalActivation != null) {
+			this.active = this.intervalActivation.advanceTo(boundaryReached.time());
+		}
+		return this.active;
+	}
+
+	/**
+	 * Returns whether measurements can be ingested by
+	 * {@link #ingest(MeasurementMade)} instead of being filtered one by one.
+	 */
+	public boolean isBatchable() {
+		return this.batchable;
+	}
+
+	/**
+	 * Returns whether measurements can be passed to
+	 * {@link #ingest(MeasurementMade)} while the context is inactive, so that
+	 * the stateful checkers of the trigger stay complete. Batchable contexts are
+	 * always warmable.
+	 */
+	public boolean isWarmable() {
+		return this.warmable;
+	}
+
+	/**
+	 * Passes the measurement only to the trigger checker, which aggregates it
+	 * without comparing. The measurement must be one this context is interested
+	 * in. If the context is active, the batch must be closed by passing a
+	 * {@link MeasurementBatchClosed} event to {@link #filter(DESEvent)}.
+	 *
+	 * @param measurementMade The measurement to ingest.
+	 * @throws IllegalStateException if the context is not warmable.
+	 */
+	public void ingest(final MeasurementMade measurementMade) {
+		if (!this.warmable) {
+			throw new IllegalStateException("The trigger of policy " + this.plan.getPolicyId() + " cannot ingest measurements.");
+		}
+		((BatchableFilter) this.triggerChecker).ingest(measurementMade);
+	}
+
+	/**
+	 * Passes the event through the filter chain.
+	 *
+	 * @param event The event to filter.
+	 * @return The resulting event if every filter was successful, or empty
+	 *         otherwise or if the context is inactive at the time of the event.
+	 */
+	public Optional<DESEvent> filter(final DESEvent event) {
+		if (!this.isActiveAt(event.time())) {
+			return Optional.empty();
+		}
+		filterChain.next(event);
+		final FilterResult filterResult = filterChain.getLatestResult();
+
+		if (filterResult instanceof final FilterResult.Success success) {
+			final DESEvent result = success.nextEvent();
+			LOGGER.debug("Got a result after filtering! " + result.getClass().getSimpleName());
+			return Optional.of(result);
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Counts the reason of the disregard. The message is only rendered if it is
+	 * actually logged.
+	 */
 	private void doOnDisregard(final Object reason) {
 		this.state = previousState;
-		LOGGER.info("Filter was not successful: " + reason.toString());
+		final FilterResult.Disregard disregard = FilterResult.disregard(reason);
+		this.disregardStatistics.count(disregard.reason());
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Filter was not successful: " + disregard.message());
+		}
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		this.filterChain.getState().writeState(out);
+		this.disregardStatistics.writeState(out);
+		out.writeBoolean(this.active);
+		Checkpointable.writeIfCheckpointable(this.intervalActivation, out);
+		Checkpointable.writeIfCheckpointable(this.triggerChecker, out);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.filterChain.getState().readState(in);
+		this.disregardStatistics.readState(in);
+		this.active = in.readBoolean();
+		Checkpointable.readIfCheckpointable(this.intervalActivation, in);
+		Checkpointable.readIfCheckpointable(this.triggerChecker, in);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.scalingPolicy.getId());
+		return Objects.hash(this.plan.getPolicyId());
 	}
 
 	@Override
@@ -122,7 +349,7 @@ public final class SPDAdjustorContext {
 			return true;
 		}
 		if (other instanceof final SPDAdjustorContext otherContext) {
-			return Objects.equals(this.scalingPolicy.getId(), otherContext.scalingPolicy.getId());
+			return Objects.equals(this.plan.getPolicyId(), otherContext.plan.getPolicyId());
 		}
 		return false;
 	}
@@ -134,14 +361,9 @@ public final class SPDAdjustorContext {
 
 		@Override
 		public Result<?> acceptEvent(final DESEvent event) throws Exception {
-			filterChain.next(event);
-			final FilterResult filterResult = filterChain.getLatestResult();
-
-			if (filterResult instanceof final FilterResult.Success success) {
-				final Object result = success.nextEvent();
-				LOGGER.debug("Got a result after filtering! " + result.getClass().getSimpleName());
-
-				return Result.of(result);
+			final Optional<DESEvent> result = filter(event);
+			if (result.isPresent()) {
+				return Result.of(result.get());
 			} else {
 				return Result.empty();
 			}
@@ -1,7 +1,11 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
 
+import java.io.IOException;
 import java.util.Objects;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
 import org.palladiosimulator.spd.ScalingPolicy;
 
 /**
@@ -9,26 +13,28 @@ import org.palladiosimulator.spd.ScalingPolicy;
  * The state include information about when the latest adjustment
  * has happened, as well as how many scaling has happened.
  *
- * In addition it holds a reference to the target group state.
+ * In addition it holds a reference to the target group state, which is
+ * shared by the policies of the target group and therefore not part of the
+ * checkpoint of this state.
  *
  * @author Julijan Katic, Floriment Klinaku
  */
-public final class SPDAdjustorState {
+public final class SPDAdjustorState implements Checkpointable {
 
 	private double latestAdjustmentAtSimulationTime = 0;
 	private int numberScales = 0;
 
 	// Reference to the targetGroupState
 	private final TargetGroupState targetGroupState;
-	private final ScalingPolicy scalingPolicy;
+	private final PolicyPlan plan;
 
 	// state for evaluating cooldown constraints
 	private double coolDownEnd = 0;
 	private int numberOfScalesInCooldown = 0;
 
 
-	public SPDAdjustorState(final ScalingPolicy scalingPolicy, final TargetGroupState targetGroupState) {
-		this.scalingPolicy = Objects.requireNonNull(scalingPolicy);
+	public SPDAdjustorState(final PolicyPlan plan, final TargetGroupState targetGroupState) {
+		this.plan = Objects.requireNonNull(plan);
 		this.targetGroupState = Objects.requireNonNull(targetGroupState);
 	}
 
@@ -73,7 +79,27 @@ public final class SPDAdjustorState {
 	}
 
 	public ScalingPolicy getScalingPolicy() {
-		return scalingPolicy;
+		return plan.getScalingPolicy();
+	}
+
+	public PolicyPlan getPolicyPlan() {
+		return plan;
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeDouble(this.latestAdjustmentAtSimulationTime);
+		out.writeInt(this.numberScales);
+		out.writeDouble(this.coolDownEnd);
+		out.writeInt(this.numberOfScalesInCooldown);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.latestAdjustmentAtSimulationTime = in.readDouble();
+		this.numberScales = in.readInt();
+		this.coolDownEnd = in.readDouble();
+		this.numberOfScalesInCooldown = in.readInt();
 	}
 
 }
@@ -0,0 +1,15 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+/**
+ * A filter whose result only depends on the {@link SPDAdjustorState} of the
+ * policy, its {@link TargetGroupState}, and the time of the event, but not on
+ * the content of the event. Such filters do not change any state either.
+ *
+ * The result is therefore the same regardless of where the filter is placed
+ * before the adjustor, which only changes the state after all filters passed.
+ * Since these checks are cheap, the {@link FilterChainPlanner} evaluates them
+ * before comparing the aggregated value of the trigger.
+ */
+public interface StateOnlyFilter extends Filter {
+
+}
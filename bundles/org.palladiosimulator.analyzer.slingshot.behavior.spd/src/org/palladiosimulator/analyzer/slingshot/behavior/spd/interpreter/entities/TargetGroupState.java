@@ -1,44 +1,173 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.PolicyPlan.AdjustmentSign;
 import org.palladiosimulator.spd.ScalingPolicy;
 import org.palladiosimulator.spd.targets.TargetGroup;
 
-import com.google.common.collect.Iterables;
+/**
+ * The state of a target group that is shared by its policies, i.e. the history
+ * of the enacted policies.
+ *
+ * The history only keeps the latest enactments, in two parallel primitive ring
+ * buffers of the enactment times and the indices of the enacted policies (see
+ * {@link #DEFAULT_HISTORY_CAPACITY}). Older enactments are overwritten, so the
+ * memory stays constant however long the simulation runs. Only the latest
+ * enactment is queried, so no query depends on the capacity.
+ */
+public final class TargetGroupState implements Checkpointable {
 
-public final class TargetGroupState {
+	/** The number of enactments that are kept by default. */
+	public static final int DEFAULT_HISTORY_CAPACITY = 256;
 
 	// state of
 	private final TargetGroup targetGroup;
 
+	/** The policies that were enacted, referenced by their index in the history. */
+	private final List<PolicyPlan> policies = new ArrayList<>();
 
-	private final List<Double> enactmentTimeOfScalingPolicies = new ArrayList<>();
-	private final List<ScalingPolicy> enactedScalingPolicies = new ArrayList<>() ;
+	private final double[] enactmentTimes;
+	private final int[] enactedPolicyIndices;
+	/** The position of the oldest enactment in the buffers. */
+	private int head;
+	private int size;
 
 	public TargetGroupState(final TargetGroup target) {
+		this(target, DEFAULT_HISTORY_CAPACITY);
+	}
+
+	/**
+	 * @param target          The target group.
+	 * @param historyCapacity The number of enactments to keep.
+	 */
+	public TargetGroupState(final TargetGroup target, final int historyCapacity) {
+		if (historyCapacity < 1) {
+			throw new IllegalArgumentException("The history must keep at least one enactment, but the capacity is " + historyCapacity);
+		}
 		this.targetGroup = target;
+		this.enactmentTimes = new double[historyCapacity];
+		this.enactedPolicyIndices = new int[historyCapacity];
 	}
 
 	public TargetGroup getTargetGroup() {
 		return targetGroup;
 	}
 
-	public void addEnactedPolicy(final double simulationTime, final ScalingPolicy enactedPolicy) {
-		enactmentTimeOfScalingPolicies.add(simulationTime);
-		enactedScalingPolicies.add(enactedPolicy);
+	public void addEnactedPolicy(final double simulationTime, final PolicyPlan enactedPolicy) {
+		final int tail = this.position(this.size);
+		this.enactmentTimes[tail] = simulationTime;
+		this.enactedPolicyIndices[tail] = this.indexOf(enactedPolicy);
+		if (this.size < this.enactmentTimes.length) {
+			this.size++;
+		} else {
+			this.head = this.position(1);
+		}
 	}
 
 	public double getLastScalingPolicyEnactmentTime() {
-		return Iterables.getLast(enactmentTimeOfScalingPolicies);
+		this.checkNotEmpty();
+		return this.enactmentTimes[this.position(this.size - 1)];
 	}
 
 	public ScalingPolicy getLastEnactedScalingPolicy() {
-		return Iterables.getLast(enactedScalingPolicies);
+		return this.getLastEnactedPolicyPlan().getScalingPolicy();
+	}
+
+	/**
+	 * Returns the direction of the last enacted policy, as resolved by its
+	 * {@link PolicyPlan}.
+	 */
+	public AdjustmentSign getLastEnactedAdjustmentSign() {
+		return this.getLastEnactedPolicyPlan().getAdjustmentSign();
+	}
+
+	private PolicyPlan getLastEnactedPolicyPlan() {
+		this.checkNotEmpty();
+		return this.policies.get(this.enactedPolicyIndices[this.position(this.size - 1)]);
 	}
 
 	public boolean enactedPoliciesEmpty() {
-		return Iterables.isEmpty(enactedScalingPolicies);
+		return this.size == 0;
+	}
+
+	/**
+	 * Writes the enactments in the history, with the policies as element
+	 * references.
+	 */
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeInt(this.size);
+		for (int i = 0; i < this.size; i++) {
+			final int position = this.position(i);
+			out.writeDouble(this.enactmentTimes[position]);
+			out.writeElement(this.policies.get(this.enactedPolicyIndices[position]).getScalingPolicy());
+		}
 	}
 
+	/**
+	 * Reads the state. If the checkpoint contains more enactments than the
+	 * history can keep, only the latest ones are kept.
+	 */
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.head = 0;
+		this.size = 0;
+		final int enactments = in.readInt();
+		for (int i = 0; i < enactments; i++) {
+			final double time = in.readDouble();
+			final Object policy = in.readElement();
+			if (!(policy instanceof final ScalingPolicy scalingPolicy)) {
+				throw new IllegalStateException("The enacted policy of the checkpoint cannot be resolved");
+			}
+			this.addEnactedPolicy(time, this.planOf(scalingPolicy));
+		}
+	}
+
+	/**
+	 * Returns the index of the policy, and registers it if it was not enacted
+	 * before. There are only a few policies per target group, so a linear search
+	 * is sufficient.
+	 */
+	private int indexOf(final PolicyPlan plan) {
+		for (int i = 0; i < this.policies.size(); i++) {
+			if (this.policies.get(i).getScalingPolicy() == plan.getScalingPolicy()) {
+				return i;
+			}
+		}
+		this.policies.add(plan);
+		return this.policies.size() - 1;
+	}
+
+	/**
+	 * Returns the registered plan of the policy, or compiles a new one.
+	 */
+	private PolicyPlan planOf(final ScalingPolicy scalingPolicy) {
+		for (final PolicyPlan plan : this.policies) {
+			if (plan.getScalingPolicy() == scalingPolicy) {
+				return plan;
+			}
+		}
+		return PolicyPlan.compile(scalingPolicy);
+	}
+
+	/**
+	 * Maps the i-th oldest enactment to its position in the buffers.
+	 */
+	private int position(final int i) {
+		final int position = this.head + i;
+		return position < this.enactmentTimes.length ? position : position - this.enactmentTimes.length;
+	}
+
+	private void checkNotEmpty() {
+		if (this.size == 0) {
+			throw new NoSuchElementException("No policy was enacted for target group " + this.targetGroup.getEntityName());
+		}
+	}
 }
@@ -1,27 +1,27 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.adjustor;
-import java.util.Optional;
-
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.ModelAdjustmentRequested;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
-import org.palladiosimulator.spd.ScalingPolicy;
-import org.palladiosimulator.spd.constraints.policy.CooldownConstraint;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.PolicyPlan;
 
 /**
  * This filter creates an {@link ModelAdjustmentRequested} event
  * at the end of the filter chain, which should trigger an adjustment.
  *
+ * The cooldown is taken from the {@link PolicyPlan}, so that the constraints
+ * of the policy are not searched on each adjustment.
+ *
  * @author Julijan Katic, Floriment Klinaku
  */
 public class Adjustor implements Filter {
 
-	private final ScalingPolicy policy;
+	private final PolicyPlan plan;
 
 
-	public Adjustor(final ScalingPolicy policy) {
+	public Adjustor(final PolicyPlan plan) {
 		super();
-		this.policy = policy;
+		this.plan = plan;
 	}
 
 	@Override
@@ -33,31 +33,24 @@ public class Adjustor implements Filter {
 		objectWrapper.getState().incrementNumberScales();
 
 
-		objectWrapper.getState().getTargetGroupState().addEnactedPolicy(currentSimTime, policy);
-
-		final Optional<CooldownConstraint> cooldownConstraint = policy.getPolicyConstraints().stream()
-                .filter(obj -> obj instanceof CooldownConstraint)
-                .map(obj -> (CooldownConstraint) obj).findAny();
-
-		if(cooldownConstraint.isPresent()) {
-			double cooldownTime=cooldownConstraint.get().getCooldownTime();
-			
-			if(cooldownTime!=0) {
-				if(currentSimTime > objectWrapper.getState().getCoolDownEnd()) {
-					//cooldown ended 
-					objectWrapper.getState().setNumberOfScalesInCooldown(0);
-					objectWrapper.getState().setCoolDownEnd(currentSimTime+cooldownTime);
-				} 
-				else if (currentSimTime==objectWrapper.getState().getCoolDownEnd()) 
-				{
-					objectWrapper.getState().setCoolDownEnd(currentSimTime+cooldownTime);
-				}
-				else {
-					objectWrapper.getState().incrementNumberOfAdjustmentsInCooldown();
-				}
+		objectWrapper.getState().getTargetGroupState().addEnactedPolicy(currentSimTime, plan);
+
+		final double cooldownTime = plan.getCooldownTime();
+		if(cooldownTime!=0) {
+			if(currentSimTime > objectWrapper.getState().getCoolDownEnd()) {
+				//cooldown ended 
+				objectWrapper.getState().setNumberOfScalesInCooldown(0);
+				objectWrapper.getState().setCoolDownEnd(currentSimTime+cooldownTime);
+			} 
+			else if (currentSimTime==objectWrapper.getState().getCoolDownEnd()) 
+			{
+				objectWrapper.getState().setCoolDownEnd(currentSimTime+cooldownTime);
+			}
+			else {
+				objectWrapper.getState().incrementNumberOfAdjustmentsInCooldown();
 			}
 		}
-		return FilterResult.success(new ModelAdjustmentRequested(this.policy));
+		return FilterResult.success(new ModelAdjustmentRequested(this.plan.getScalingPolicy()));
 	}
 
 }
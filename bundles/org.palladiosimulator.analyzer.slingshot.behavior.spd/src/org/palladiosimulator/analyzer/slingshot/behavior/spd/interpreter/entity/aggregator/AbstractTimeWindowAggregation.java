@@ -0,0 +1,72 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * Base class of the aggregations whose emission depends on the time of their
+ * latest value. A value is emittable if the aggregation holds one
+ * ({@link #hasValue()}), the latest value is later than the warm-up time,
+ * usually the size of the window, and more than {@link #durationNoEmit}
+ * seconds passed since the last emission.
+ *
+ * Subclasses only tell whether they hold a value and the time of their latest
+ * value ({@link #getLatestTime()}). The time of the last emission is kept
+ * here, but must be written into a checkpoint by the subclass, see
+ * {@link #getEmitTime()}.
+ */
+public abstract class AbstractTimeWindowAggregation extends AbstractWindowAggregation {
+
+	private final double warmUpTime;
+	protected final double durationNoEmit; // determines the emitting frequency
+
+	private double emitTime;
+
+	/**
+	 * @param warmUpTime     The time after which values are emittable, e.g. the
+	 *                       size of the window in seconds.
+	 * @param noEmitDuration The minimal duration between two emissions.
+	 */
+	protected AbstractTimeWindowAggregation(final double warmUpTime, final double noEmitDuration) {
+		this.warmUpTime = warmUpTime;
+		this.durationNoEmit = noEmitDuration;
+		this.emitTime = 0.0;
+	}
+
+	@Override
+	public boolean isEmittable() {
+		return this.isEmittableSince(this.emitTime);
+	}
+
+	@Override
+	protected final boolean isEmittableSince(final double lastEmitTime) {
+		if (!this.hasValue()) {
+			return false;
+		}
+		final double latestTime = this.getLatestTime();
+		return latestTime > this.warmUpTime && latestTime - lastEmitTime > this.durationNoEmit;
+	}
+
+	/**
+	 * Returns whether the aggregation holds enough values to compute a
+	 * meaningful value, e.g. whether the window is not empty.
+	 */
+	protected abstract boolean hasValue();
+
+	@Override
+	protected double getCurrentVal() {
+		this.emitTime = this.getLatestTime();
+		return this.peekCurrentValue();
+	}
+
+	/**
+	 * Returns the time of the latest value at the last emission.
+	 */
+	protected final double getEmitTime() {
+		return this.emitTime;
+	}
+
+	/**
+	 * Restores the time of the last emission from a checkpoint.
+	 */
+	protected final void setEmitTime(final double emitTime) {
+		this.emitTime = emitTime;
+	}
+}
@@ -1,6 +1,31 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
 
-public abstract non-sealed class AbstractWindowAggregation implements WindowAggregation {
+import java.io.IOException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+
+/**
+ * Base class of all window aggregations.
+ * 
+ * Besides the {@link WindowAggregation} contract, implementations must be able
+ * to tell whether a value is emittable for an arbitrary time of the last
+ * emission ({@link #isEmittableSince(double)}), and to return the current value
+ * without consuming the emission ({@link #peekCurrentValue()}). This allows
+ * multiple {@link SharedWindowAggregation}s to share the same window while
+ * each of them keeps its own emit state.
+ * 
+ * Aggregations of other bundles extend this class, since
+ * {@link WindowAggregation} is sealed, and are plugged in with a
+ * {@link WindowAggregationFactory}.
+ * 
+ * The state of an aggregation must be written into a checkpoint, see
+ * {@link Checkpointable}. Hence, aggregations of other bundles must implement
+ * {@link #writeState(CheckpointOutput)} and {@link #readState(CheckpointInput)}
+ * as well, rather than failing only once a checkpoint is written.
+ */
+public abstract non-sealed class AbstractWindowAggregation implements WindowAggregation, Checkpointable {
 
 	public AbstractWindowAggregation() {
 		// TODO Auto-generated constructor stub
@@ -22,4 +47,54 @@ public abstract non-sealed class AbstractWindowAggregation implements WindowAggr
 	@Override
 	public abstract double aggregate(double time, double newValue);
 
+	/**
+	 * Includes a new value of the given element, e.g. the measuring point the
+	 * value was measured at. By default, the element is ignored, i.e. the value
+	 * is aggregated like any other value. Aggregations that keep track of the
+	 * elements, such as {@link PerElementAggregation}, override this.
+	 *
+	 * @param element  The element the value belongs to, compared by identity.
+	 * @param time     The point in time of the value.
+	 * @param newValue The value.
+	 * @return The aggregated value after the newValue has been included.
+	 */
+	public double aggregateFrom(final Object element, final double time, final double newValue) {
+		return this.aggregate(time, newValue);
+	}
+
+	/**
+	 * Writes the values in the window and the emit state, so that
+	 * {@link #readState(CheckpointInput)} restores an aggregation that emits the
+	 * same values.
+	 */
+	@Override
+	public abstract void writeState(CheckpointOutput out) throws IOException;
+
+	/**
+	 * Replaces the whole state of the aggregation by the state written by
+	 * {@link #writeState(CheckpointOutput)}.
+	 */
+	@Override
+	public abstract void readState(CheckpointInput in) throws IOException;
+
+	/**
+	 * Returns whether a value could be emitted, if the last value had been
+	 * emitted at {@code lastEmitTime}. This must not change the state of the
+	 * aggregation.
+	 * 
+	 * @param lastEmitTime The point in time of the last emission.
+	 * @return true iff a value is emittable.
+	 */
+	protected abstract boolean isEmittableSince(double lastEmitTime);
+
+	/**
+	 * Returns the current aggregated value without changing the emit state.
+	 */
+	protected abstract double peekCurrentValue();
+
+	/**
+	 * Returns the point in time of the latest aggregated value.
+	 */
+	protected abstract double getLatestTime();
+
 }
@@ -0,0 +1,93 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+import org.palladiosimulator.metricspec.MetricDescription;
+import org.palladiosimulator.spd.targets.TargetGroup;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Registry of the aggregations of an SPD interpretation. Trigger checkers that
+ * aggregate the same metric of the same target group with the same method and
+ * window get views on a single aggregation, instead of each aggregating the
+ * same measurements on their own. This is typically the case for scale-out and
+ * scale-in policies that mirror each other.
+ *
+ * In a checkpoint, the aggregations are written in the order of their
+ * creation, which is the same for every interpretation of the same model and
+ * configuration.
+ *
+ * @see SharedWindowAggregation
+ */
+public final class AggregatorRegistry implements Checkpointable {
+
+	private final Map<Key, SharedWindowAggregation.Source> sources = new LinkedHashMap<>();
+
+	/**
+	 * Returns a new view on the aggregation for the given parameters. The
+	 * aggregation is created if it does not exist yet.
+	 *
+	 * @param targetGroup         The target group whose measurements are aggregated.
+	 * @param metric              The metric that is aggregated.
+	 * @param aggregationMethod   The aggregation method.
+	 * @param window              The window, e.g. a {@link WindowSpecification}.
+	 * @return A view with its own emit state.
+	 */
+	public SharedWindowAggregation getAggregation(final TargetGroup targetGroup, final MetricDescription metric,
+			final AGGREGATIONMETHOD aggregationMethod, final WindowAggregationFactory window) {
+		return this.getAggregation(targetGroup.getId(), metric, aggregationMethod, window);
+	}
+
+	/**
+	 * Returns a new view on the aggregation for the given parameters, for
+	 * measurements that are not scoped by a target group, such as the response
+	 * times of an operation.
+	 *
+	 * @param scopeId             The id of the element whose measurements are
+	 *                            aggregated, e.g. the operation signature.
+	 * @param metric              The metric that is aggregated.
+	 * @param aggregationMethod   The aggregation method, or {@code null} if the
+	 *                            window does not depend on one.
+	 * @param window              The window, e.g. a {@link WindowSpecification}.
+	 * @return A view with its own emit state.
+	 */
+	public SharedWindowAggregation getAggregation(final String scopeId, final MetricDescription metric,
+			final AGGREGATIONMETHOD aggregationMethod, final WindowAggregationFactory window) {
+		final SharedWindowAggregation.Source source = this.sources.computeIfAbsent(
+				new Key(scopeId, metric.getId(), aggregationMethod, window),
+				key -> new SharedWindowAggregation.Source(window.createAggregation(aggregationMethod)));
+		return new SharedWindowAggregation(source);
+	}
+
+	/**
+	 * Returns the number of distinct aggregations.
+	 */
+	public int size() {
+		return this.sources.size();
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeInt(this.sources.size());
+		for (final SharedWindowAggregation.Source source : this.sources.values()) {
+			source.writeState(out);
+		}
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		in.checkLength(this.sources.size());
+		for (final SharedWindowAggregation.Source source : this.sources.values()) {
+			source.readState(in);
+		}
+	}
+
+	private static record Key(String scopeId, String metricId, AGGREGATIONMETHOD aggregationMethod,
+			WindowAggregationFactory window) {
+	}
+}
@@ -0,0 +1,182 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * A time window that does not keep the data points, but pre-aggregates them in
+ * buckets. The window is divided into {@code buckets} tumbling buckets of
+ * {@code windowSizeInSeconds / buckets} seconds, and each bucket only keeps the
+ * count, sum, minimum and maximum of its values. Hence, the memory depends only
+ * on the number of buckets, not on the measurement rate, and emitting a value
+ * merges the buckets instead of scanning all data points.
+ *
+ * The window consists of the bucket of the latest value and the
+ * {@code buckets - 1} buckets before it, i.e. it slides in steps of one bucket.
+ * Buckets are stamped with their index in time, so expired buckets are
+ * recognized without clearing them.
+ *
+ * Similarly to {@link SlidingTimeWindowAggregation}, a value is only emittable
+ * after the first {@code windowSizeInSeconds} seconds, and the emission rate
+ * is limited by {@link #durationNoEmit}.
+ *
+ * The median cannot be merged from these partial aggregates. For it,
+ * {@link #getFromAggregationMethod(AGGREGATIONMETHOD, int, double, int)}
+ * returns a {@link SlidingTimeWindowPercentileAggregation}, whose buckets are
+ * histograms.
+ */
+public class BucketedTimeWindowAggregation extends AbstractTimeWindowAggregation {
+
+	private final AGGREGATIONMETHOD aggregationMethod;
+	private final double windowSizeInSeconds;
+	private final double bucketWidth;
+
+	/* The partial aggregates per bucket. */
+	private final long[] stamps;
+	private final long[] counts;
+	private final double[] sums;
+	private final double[] mins;
+	private final double[] maxs;
+
+	/** The index in time of the bucket of the latest value, or -1 initially. */
+	private long currentBucket = -1;
+
+	private double latestTime;
+
+	/**
+	 * @param aggregationMethod The aggregation method, one of {@code MIN},
+	 *                          {@code MAX}, {@code AVERAGE} and {@code SUM}.
+	 * @param winSizeSeconds    The size of the window in seconds.
+	 * @param noEmitDuration    The minimal duration between two emissions.
+	 * @param buckets           The number of buckets of the window.
+	 */
+	public BucketedTimeWindowAggregation(final AGGREGATIONMETHOD aggregationMethod, final int winSizeSeconds,
+			final double noEmitDuration, final int buckets) {
+		super(winSizeSeconds, noEmitDuration);
+		if (aggregationMethod == AGGREGATIONMETHOD.MEDIAN) {
+			throw new IllegalArgumentException("The median cannot be aggregated in buckets");
+		}
+		if (winSizeSeconds <= 0 || buckets <= 0) {
+			throw new IllegalArgumentException("The window size and the number of buckets must be positive");
+		}
+		this.aggregationMethod = aggregationMethod;
+		this.windowSizeInSeconds = winSizeSeconds;
+		this.bucketWidth = this.windowSizeInSeconds / buckets;
+		this.stamps = new long[buckets];
+		Arrays.fill(this.stamps, Long.MIN_VALUE);
+		this.counts = new long[buckets];
+		this.sums = new double[buckets];
+		this.mins = new double[buckets];
+		this.maxs = new double[buckets];
+	}
+
+	@Override
+	public double aggregate(final double time, final double newValue) {
+		final long bucket = Math.max((long) Math.floor(time / this.bucketWidth), this.currentBucket);
+		final int slot = (int) (bucket % this.stamps.length);
+		if (this.stamps[slot] != bucket) {
+			this.stamps[slot] = bucket;
+			this.counts[slot] = 0;
+			this.sums[slot] = 0.0;
+			this.mins[slot] = Double.POSITIVE_INFINITY;
+			this.maxs[slot] = Double.NEGATIVE_INFINITY;
+		}
+		this.counts[slot]++;
+		this.sums[slot] += newValue;
+		this.mins[slot] = Math.min(this.mins[slot], newValue);
+		this.maxs[slot] = Math.max(this.maxs[slot], newValue);
+
+		this.currentBucket = bucket;
+		this.latestTime = time;
+		return this.peekCurrentValue();
+	}
+
+	@Override
+	protected boolean hasValue() {
+		return this.currentBucket >= 0;
+	}
+
+	/**
+	 * Merges the buckets of the window.
+	 */
+	@Override
+	protected double peekCurrentValue() {
+		if (this.currentBucket < 0) {
+			throw new IllegalStateException("The window is empty.");
+		}
+		final long oldestBucket = this.currentBucket - this.stamps.length + 1;
+		long count = 0;
+		double sum = 0.0;
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (int slot = 0; slot < this.stamps.length; slot++) {
+			if (this.stamps[slot] >= oldestBucket) {
+				count += this.counts[slot];
+				sum += this.sums[slot];
+				min = Math.min(min, this.mins[slot]);
+				max = Math.max(max, this.maxs[slot]);
+			}
+		}
+		return switch (this.aggregationMethod) {
+		case MIN -> min;
+		case MAX -> max;
+		case AVERAGE -> sum / count;
+		case SUM -> sum;
+		default -> throw new IllegalStateException("Unexpected value: " + this.aggregationMethod);
+		};
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeLongs(this.stamps);
+		out.writeLongs(this.counts);
+		out.writeDoubles(this.sums);
+		out.writeDoubles(this.mins);
+		out.writeDoubles(this.maxs);
+		out.writeLong(this.currentBucket);
+		out.writeDouble(this.getEmitTime());
+		out.writeDouble(this.latestTime);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		in.readLongs(this.stamps);
+		in.readLongs(this.counts);
+		in.readDoubles(this.sums);
+		in.readDoubles(this.mins);
+		in.readDoubles(this.maxs);
+		this.currentBucket = in.readLong();
+		this.setEmitTime(in.readDouble());
+		this.latestTime = in.readDouble();
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.latestTime;
+	}
+
+	/**
+	 * Returns a bucketed time window for the aggregation method specified in SPD.
+	 *
+	 * @param aggregationMethod The aggregation method.
+	 * @param winSizeSeconds    The size of the window in seconds.
+	 * @param noEmitDuration    The minimal duration between two emissions.
+	 * @param buckets           The number of buckets of the window.
+	 * @return A new bucketed time window.
+	 */
+	public static AbstractWindowAggregation getFromAggregationMethod(final AGGREGATIONMETHOD aggregationMethod,
+			final int winSizeSeconds, final double noEmitDuration, final int buckets) {
+		return switch (aggregationMethod) {
+		case MIN, MAX, AVERAGE, SUM -> new BucketedTimeWindowAggregation(aggregationMethod, winSizeSeconds, noEmitDuration, buckets);
+		case MEDIAN -> new SlidingTimeWindowPercentileAggregation(winSizeSeconds, noEmitDuration, 0.5, buckets,
+				SlidingTimeWindowPercentileAggregation.DEFAULT_RELATIVE_ACCURACY,
+				SlidingTimeWindowPercentileAggregation.DEFAULT_MIN_VALUE,
+				SlidingTimeWindowPercentileAggregation.DEFAULT_MAX_VALUE);
+		default -> throw new IllegalArgumentException("Unexpected value: " + aggregationMethod);
+		};
+	}
+}
@@ -0,0 +1,178 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+
+/**
+ * A double-ended queue of (time, value) pairs stored in two parallel primitive
+ * ring buffers. Adding and removing at both ends takes constant time and
+ * creates no garbage. The buffers only grow if more elements are added than
+ * the capacity allows, so a window that never exceeds its initial capacity
+ * uses a fixed amount of memory.
+ *
+ * Elements are indexed from the oldest ({@code 0}) to the newest
+ * ({@code size() - 1}).
+ */
+public final class DoubleRingBuffer implements Checkpointable {
+
+	private double[] times;
+	private double[] values;
+	private int head;
+	private int size;
+
+	/**
+	 * @param initialCapacity The number of elements that fit into the buffer
+	 *                        without growing.
+	 */
+	public DoubleRingBuffer(final int initialCapacity) {
+		this.times = new double[Math.max(1, initialCapacity)];
+		this.values = new double[this.times.length];
+	}
+
+	public void addLast(final double time, final double value) {
+		if (this.size == this.values.length) {
+			this.grow();
+		}
+		final int tail = this.index(this.size);
+		this.times[tail] = time;
+		this.values[tail] = value;
+		this.size++;
+	}
+
+	/**
+	 * Removes the oldest element.
+	 *
+	 * @return The value of the removed element.
+	 * @throws NoSuchElementException if the buffer is empty.
+	 */
+	public double removeFirst() {
+		this.checkNotEmpty();
+		final double value = this.values[this.head];
+		this.head = this.index(1);
+		this.size--;
+		return value;
+	}
+
+	/**
+	 * Removes the newest element.
+	 *
+	 * @return The value of the removed element.
+	 * @throws NoSuchElementException if the buffer is empty.
+	 */
+	public double removeLast() {
+		this.checkNotEmpty();
+		this.size--;
+		return this.values[this.index(this.size)];
+	}
+
+	public double getValue(final int i) {
+		this.checkIndex(i);
+		return this.values[this.index(i)];
+	}
+
+	public double getTime(final int i) {
+		this.checkIndex(i);
+		return this.times[this.index(i)];
+	}
+
+	public double getFirstValue() {
+		return this.getValue(0);
+	}
+
+	public double getFirstTime() {
+		return this.getTime(0);
+	}
+
+	public double getLastValue() {
+		return this.getValue(this.size - 1);
+	}
+
+	public double getLastTime() {
+		return this.getTime(this.size - 1);
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public void clear() {
+		this.head = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Copies the values, from oldest to newest, into the given array.
+	 *
+	 * @param destination An array of at least {@link #size()} elements.
+	 * @return The destination array.
+	 */
+	public double[] copyValuesTo(final double[] destination) {
+		final int firstPart = Math.min(this.size, this.values.length - this.head);
+		System.arraycopy(this.values, this.head, destination, 0, firstPart);
+		System.arraycopy(this.values, 0, destination, firstPart, this.size - firstPart);
+		return destination;
+	}
+
+	/**
+	 * Writes the elements from oldest to newest.
+	 */
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeInt(this.size);
+		for (int i = 0; i < this.size; i++) {
+			out.writeDouble(this.times[this.index(i)]);
+			out.writeDouble(this.values[this.index(i)]);
+		}
+	}
+
+	/**
+	 * Replaces the elements by the written ones.
+	 */
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.clear();
+		final int elements = in.readInt();
+		for (int i = 0; i < elements; i++) {
+			final double time = in.readDouble();
+			this.addLast(time, in.readDouble());
+		}
+	}
+
+	private int index(final int offset) {
+		final int i = this.head + offset;
+		return i < this.values.length ? i : i - this.values.length;
+	}
+
+	private void checkNotEmpty() {
+		if (this.size == 0) {
+			throw new NoSuchElementException("The buffer is empty.");
+		}
+	}
+
+	private void checkIndex(final int i) {
+		if (i < 0 || i >= this.size) {
+			throw new IndexOutOfBoundsException("Index " + i + " out of bounds for size " + this.size);
+		}
+	}
+
+	private void grow() {
+		final int capacity = this.values.length * 2;
+		final double[] newTimes = new double[capacity];
+		final double[] newValues = new double[capacity];
+		final int firstPart = Math.min(this.size, this.values.length - this.head);
+		System.arraycopy(this.times, this.head, newTimes, 0, firstPart);
+		System.arraycopy(this.times, 0, newTimes, firstPart, this.size - firstPart);
+		this.copyValuesTo(newValues);
+		this.times = newTimes;
+		this.values = newValues;
+		this.head = 0;
+	}
+}
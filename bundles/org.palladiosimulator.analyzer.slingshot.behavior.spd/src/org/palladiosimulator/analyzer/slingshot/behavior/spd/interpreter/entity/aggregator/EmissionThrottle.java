@@ -0,0 +1,59 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * Limits how often a {@link ThrottledWindowAggregation} emits values. A value
+ * is only emitted if all configured conditions hold since the last emission.
+ *
+ * @param intervalSeconds The minimal simulated time between two emissions, or
+ *                        0 for no limit.
+ * @param samples         The minimal number of aggregated samples between two
+ *                        emissions, or 0 for no limit.
+ * @param minChange       The minimal absolute change of the value compared to
+ *                        the last emitted value, or a negative value to emit
+ *                        regardless of the change.
+ */
+public record EmissionThrottle(double intervalSeconds, int samples, double minChange) {
+
+	public EmissionThrottle {
+		if (intervalSeconds < 0 || samples < 0) {
+			throw new IllegalArgumentException("The interval and the number of samples must not be negative");
+		}
+	}
+
+	/**
+	 * Emits at most every {@code intervalSeconds} of simulated time.
+	 */
+	public static EmissionThrottle everySeconds(final double intervalSeconds) {
+		return new EmissionThrottle(intervalSeconds, 0, -1.0);
+	}
+
+	/**
+	 * Emits at most every {@code samples} aggregated samples.
+	 */
+	public static EmissionThrottle everySamples(final int samples) {
+		return new EmissionThrottle(0.0, samples, -1.0);
+	}
+
+	/**
+	 * Emits only if the value changed by more than {@code epsilon} since the
+	 * last emission.
+	 */
+	public static EmissionThrottle onChange(final double epsilon) {
+		return new EmissionThrottle(0.0, 0, epsilon);
+	}
+
+	/**
+	 * Returns whether a value may be emitted.
+	 *
+	 * @param elapsedSeconds The simulated time since the last emission.
+	 * @param samplesSince   The number of samples since the last emission.
+	 * @param change         The absolute change since the last emission, or
+	 *                       {@link Double#POSITIVE_INFINITY} if nothing was
+	 *                       emitted yet.
+	 */
+	boolean permits(final double elapsedSeconds, final long samplesSince, final double change) {
+		return elapsedSeconds >= this.intervalSeconds
+				&& samplesSince >= this.samples
+				&& change > this.minChange;
+	}
+}
@@ -0,0 +1,98 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
+/**
+ * A window-based aggregator over the last {@code windowSize} measurements,
+ * whose value is maintained incrementally by a {@link SlidingWindowStatistic}.
+ *
+ * In contrast to {@link FixedLengthWindowSimpleAggregation}, the values are not
+ * kept in a queue to which the aggregation function is applied on every new
+ * value. Instead, the minimum and maximum are maintained by a
+ * {@link MonotonicDeque} in amortized constant time, and the median by a
+ * {@link SlidingMedian} in logarithmic time.
+ *
+ * It is emittable under the same condition, i.e. as soon as {@code windowSize}
+ * values were aggregated.
+ */
+public class FixedLengthWindowIncrementalAggregation extends AbstractWindowAggregation {
+
+	private final int windowSize;
+	private final SlidingWindowStatistic statistic;
+
+	/** The number of values aggregated so far, used as key of the values. */
+	private long count;
+	private double latestTime;
+
+	private FixedLengthWindowIncrementalAggregation(final int windowSize, final SlidingWindowStatistic statistic) {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException("The window size must be positive, but was " + windowSize);
+		}
+		this.windowSize = windowSize;
+		this.statistic = statistic;
+	}
+
+	public static FixedLengthWindowIncrementalAggregation minimum(final int windowSize) {
+		return new FixedLengthWindowIncrementalAggregation(windowSize, new MonotonicDeque(true, windowSize));
+	}
+
+	public static FixedLengthWindowIncrementalAggregation maximum(final int windowSize) {
+		return new FixedLengthWindowIncrementalAggregation(windowSize, new MonotonicDeque(false, windowSize));
+	}
+
+	public static FixedLengthWindowIncrementalAggregation median(final int windowSize) {
+		return new FixedLengthWindowIncrementalAggregation(windowSize, new SlidingMedian(windowSize));
+	}
+
+	@Override
+	public double aggregate(final double time, final double newValue) {
+		this.statistic.add(this.count, newValue);
+		this.statistic.evictUpTo(this.count - this.windowSize);
+		this.count++;
+		this.latestTime = time;
+		return this.statistic.get();
+	}
+
+	@Override
+	public boolean isEmittable() {
+		return this.count >= this.windowSize;
+	}
+
+	@Override
+	protected boolean isEmittableSince(final double lastEmitTime) {
+		return this.isEmittable();
+	}
+
+	@Override
+	protected double getCurrentVal() {
+		return this.statistic.get();
+	}
+
+	@Override
+	protected double peekCurrentValue() {
+		return this.statistic.get();
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		this.statistic.writeState(out);
+		out.writeLong(this.count);
+		out.writeDouble(this.latestTime);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.statistic.readState(in);
+		this.count = in.readLong();
+		this.latestTime = in.readDouble();
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.latestTime;
+	}
+
+}
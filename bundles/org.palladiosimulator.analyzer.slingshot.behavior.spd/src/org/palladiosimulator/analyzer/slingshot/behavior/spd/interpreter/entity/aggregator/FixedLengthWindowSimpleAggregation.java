@@ -1,14 +1,11 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
 
-import java.util.ArrayDeque;
-import java.util.Collection;
-import java.util.Queue;
-import java.util.function.Function;
+import java.io.IOException;
 
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MaxAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.DoubleAggregationFunction;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MeanAggregation;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MedianAggregation;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MinAggregation;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.SumAggregation;
 import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
 
@@ -20,13 +17,16 @@ import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
  * {@link #aggrFunction} to the considered values in {@link #valuesToConsider}.
  * 
  * It is named simple while it simply collects values through the
- * {@link #aggregate(double, double)} method into a queue and allows the
- * application of the aggregate function on the collected items.
+ * {@link #aggregate(double, double)} method into a primitive ring buffer of
+ * fixed size and allows the application of the aggregate function on the
+ * collected items.
  * 
  * In addition, it offers a helper method
  * {@link #getFromAggregationMethod(AGGREGATIONMETHOD)} to get a desired window
  * with a predefined aggregation function that matches the possible aggregations
- * specified in SPD {min, max, mean, median, sum}.
+ * specified in SPD {min, max, mean, median, sum}. For min, max and median,
+ * the helper returns a {@link FixedLengthWindowIncrementalAggregation} instead,
+ * which does not need to apply the function to the whole window.
  * 
  * For simulation, this implementation is not advised while it has to keep all
  * measurements in the queue and is inefficient and slow. Therefore, more
@@ -41,16 +41,17 @@ public class FixedLengthWindowSimpleAggregation extends AbstractWindowAggregatio
 	public static final int DEFAULT_WINDOW_SIZE = 10;
 
 	protected final int windowSize;
-	protected final Queue<Double> valuesToConsider;
+	protected final DoubleRingBuffer valuesToConsider;
 
 	/** The aggregated value so far. */
 	private double currentValue;
-	private final Function<Collection<Double>, Double> aggrFunction;
+	private double latestTime;
+	private final DoubleAggregationFunction aggrFunction;
 
 	private FixedLengthWindowSimpleAggregation(final int windowSize,
-			final Function<Collection<Double>, Double> aggrFunction) {
+			final DoubleAggregationFunction aggrFunction) {
 		this.windowSize = windowSize;
-		this.valuesToConsider = new ArrayDeque<>(windowSize);
+		this.valuesToConsider = new DoubleRingBuffer(windowSize);
 		this.aggrFunction = aggrFunction;
 	}
 
@@ -63,8 +64,9 @@ public class FixedLengthWindowSimpleAggregation extends AbstractWindowAggregatio
 	 */
 	@Override
 	public final double aggregate(final double time, final double newValue) {
-		this.consider(newValue);
-		this.currentValue = aggrFunction.apply(valuesToConsider).doubleValue();
+		this.consider(time, newValue);
+		this.latestTime = time;
+		this.currentValue = aggrFunction.apply(valuesToConsider);
 		return this.currentValue;
 	}
 
@@ -79,6 +81,14 @@ public class FixedLengthWindowSimpleAggregation extends AbstractWindowAggregatio
 		return this.valuesToConsider.size() == this.windowSize;
 	}
 
+	/**
+	 * There is no rate limit, so only the number of values is relevant.
+	 */
+	@Override
+	protected boolean isEmittableSince(final double lastEmitTime) {
+		return this.isEmittable();
+	}
+
 	/**
 	 * Adds the new value into the queue such that it contains at most
 	 * {@code windowSize} values to consider. This means that if the queue is
@@ -87,27 +97,27 @@ public class FixedLengthWindowSimpleAggregation extends AbstractWindowAggregatio
 	 * 
 	 * @param newValue The new value to add.
 	 */
-	private void consider(final double newValue) {
+	private void consider(final double time, final double newValue) {
 		if (valuesToConsider.size() == windowSize) {
-			valuesToConsider.poll();
+			valuesToConsider.removeFirst();
 		}
-		valuesToConsider.offer(newValue);
+		valuesToConsider.addLast(time, newValue);
 	}
 
 
-	public static FixedLengthWindowSimpleAggregation getFromAggregationMethod(final AGGREGATIONMETHOD aggregationMethod,
+	public static AbstractWindowAggregation getFromAggregationMethod(final AGGREGATIONMETHOD aggregationMethod,
 			final int windowSize) {
 		return switch (aggregationMethod) {
-		case MIN -> new FixedLengthWindowSimpleAggregation(windowSize, new MinAggregation());
+		case MIN -> FixedLengthWindowIncrementalAggregation.minimum(windowSize);
 		case AVERAGE -> new FixedLengthWindowSimpleAggregation(windowSize, new MeanAggregation());
-		case MAX -> new FixedLengthWindowSimpleAggregation(windowSize, new MaxAggregation());
-		case MEDIAN -> new FixedLengthWindowSimpleAggregation(windowSize, new MedianAggregation());
+		case MAX -> FixedLengthWindowIncrementalAggregation.maximum(windowSize);
+		case MEDIAN -> FixedLengthWindowIncrementalAggregation.median(windowSize);
 		case SUM -> new FixedLengthWindowSimpleAggregation(windowSize, new SumAggregation());
 		default -> throw new IllegalArgumentException("Unexpected value: " + aggregationMethod);
 		};
 	}
 
-	public static FixedLengthWindowSimpleAggregation getFromAggregationMethod(
+	public static AbstractWindowAggregation getFromAggregationMethod(
 			final AGGREGATIONMETHOD aggregationMethod) {
 		return getFromAggregationMethod(aggregationMethod, DEFAULT_WINDOW_SIZE);
 	}
@@ -121,4 +131,28 @@ public class FixedLengthWindowSimpleAggregation extends AbstractWindowAggregatio
 		return this.currentValue;
 	}
 
+	@Override
+	protected double peekCurrentValue() {
+		return this.currentValue;
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		this.valuesToConsider.writeState(out);
+		out.writeDouble(this.currentValue);
+		out.writeDouble(this.latestTime);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.valuesToConsider.readState(in);
+		this.currentValue = in.readDouble();
+		this.latestTime = in.readDouble();
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.latestTime;
+	}
+
 }
@@ -0,0 +1,203 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
+/**
+ * Forecasts the values with exponential smoothing: Holt's linear method
+ * (double exponential smoothing) or, if a season length is given, the additive
+ * Holt-Winters method (triple exponential smoothing). The emitted value is the
+ * forecast for {@link Parameters#horizonSeconds()} seconds after the latest
+ * value, so that a trigger can fire before the values actually cross the
+ * expected value.
+ *
+ * The smoothing needs equidistant observations, but measurements arrive at
+ * arbitrary times. Thus, the time is divided into steps of
+ * {@link Parameters#stepSeconds()}, and the mean of the values of a step is
+ * the observation of that step. Steps without values repeat the previous
+ * observation, but at most one season (or one step, without seasons) is
+ * repeated, so that long idle periods do not cost more.
+ *
+ * The model consists of a level, a trend per step and one seasonal component
+ * per step of the season. Updating it takes constant time, and its memory only
+ * depends on the season length. The seasonal components start at 0 and are
+ * learned during the first seasons.
+ *
+ * Values are emittable once the model has seen two observations, or two
+ * seasons with Holt-Winters, and the emission rate is limited by
+ * {@link Parameters#noEmitDuration()}.
+ */
+public class HoltWintersForecastAggregation extends AbstractTimeWindowAggregation {
+
+	/**
+	 * The parameters of the forecast.
+	 *
+	 * @param stepSeconds    The length of a step in seconds.
+	 * @param alpha          The smoothing factor of the level, in {@code (0, 1]}.
+	 * @param beta           The smoothing factor of the trend, in {@code [0, 1]}.
+	 * @param gamma          The smoothing factor of the seasonal components, in
+	 *                       {@code [0, 1]}.
+	 * @param seasonLength   The number of steps of a season, or 0 for Holt's
+	 *                       method without seasons.
+	 * @param horizonSeconds How far to forecast, in seconds.
+	 * @param noEmitDuration The minimal duration between two emissions.
+	 */
+	public record Parameters(double stepSeconds, double alpha, double beta, double gamma, int seasonLength,
+			double horizonSeconds, double noEmitDuration) {
+
+		public Parameters {
+			if (stepSeconds <= 0 || horizonSeconds < 0 || seasonLength < 0) {
+				throw new IllegalArgumentException("The step must be positive, the horizon and season length non-negative");
+			}
+			if (alpha <= 0 || alpha > 1 || beta < 0 || beta > 1 || gamma < 0 || gamma > 1) {
+				throw new IllegalArgumentException("The smoothing factors must be in [0, 1], and alpha must be positive");
+			}
+		}
+
+		/**
+		 * Parameters for Holt's linear method, without seasons.
+		 */
+		public static Parameters holt(final double stepSeconds, final double alpha, final double beta,
+				final double horizonSeconds, final double noEmitDuration) {
+			return new Parameters(stepSeconds, alpha, beta, 0.0, 0, horizonSeconds, noEmitDuration);
+		}
+
+		/**
+		 * Parameters for the additive Holt-Winters method.
+		 */
+		public static Parameters holtWinters(final double stepSeconds, final double alpha, final double beta,
+				final double gamma, final int seasonLength, final double horizonSeconds, final double noEmitDuration) {
+			return new Parameters(stepSeconds, alpha, beta, gamma, seasonLength, horizonSeconds, noEmitDuration);
+		}
+	}
+
+	private final Parameters parameters;
+	private final int horizonSteps;
+
+	private double level;
+	private double trend;
+	private final double[] seasonals;
+	private long observations;
+
+	/** The step that is currently collected, or -1 initially. */
+	private long currentStep = -1;
+	private double stepSum;
+	private int stepCount;
+
+	private double latestTime;
+
+	public HoltWintersForecastAggregation(final Parameters parameters) {
+		super(Double.NEGATIVE_INFINITY, parameters.noEmitDuration());
+		this.parameters = parameters;
+		this.horizonSteps = (int) Math.ceil(parameters.horizonSeconds() / parameters.stepSeconds());
+		this.seasonals = new double[parameters.seasonLength()];
+	}
+
+	@Override
+	public double aggregate(final double time, final double newValue) {
+		final long step = (long) Math.floor(time / this.parameters.stepSeconds());
+		if (this.currentStep < 0) {
+			this.currentStep = step;
+		} else if (step > this.currentStep) {
+			final double observation = this.stepSum / this.stepCount;
+			this.observe(this.currentStep, observation);
+
+			final long gap = Math.min(step - this.currentStep - 1, Math.max(1, this.seasonals.length));
+			for (long missing = step - gap; missing < step; missing++) {
+				this.observe(missing, observation);
+			}
+			this.currentStep = step;
+			this.stepSum = 0.0;
+			this.stepCount = 0;
+		}
+		this.stepSum += newValue;
+		this.stepCount++;
+		this.latestTime = Math.max(this.latestTime, time);
+		return this.peekCurrentValue();
+	}
+
+	/**
+	 * Updates the model with the observation of the given step.
+	 */
+	private void observe(final long step, final double observation) {
+		final int season = this.seasonIndex(step);
+		final double seasonal = season < 0 ? 0.0 : this.seasonals[season];
+
+		if (this.observations == 0) {
+			this.level = observation - seasonal;
+			this.trend = 0.0;
+		} else {
+			final double previousLevel = this.level;
+			this.level = this.parameters.alpha() * (observation - seasonal)
+					+ (1 - this.parameters.alpha()) * (previousLevel + this.trend);
+			this.trend = this.parameters.beta() * (this.level - previousLevel)
+					+ (1 - this.parameters.beta()) * this.trend;
+		}
+		if (season >= 0) {
+			this.seasonals[season] = this.parameters.gamma() * (observation - this.level)
+					+ (1 - this.parameters.gamma()) * seasonal;
+		}
+		this.observations++;
+	}
+
+	private int seasonIndex(final long step) {
+		if (this.seasonals.length == 0) {
+			return -1;
+		}
+		return (int) Math.floorMod(step, (long) this.seasonals.length);
+	}
+
+	@Override
+	protected boolean hasValue() {
+		return this.observations >= 2L * Math.max(1, this.seasonals.length);
+	}
+
+	/**
+	 * Returns the forecast for the horizon after the current step, based on the
+	 * observations up to the previous step.
+	 */
+	@Override
+	protected double peekCurrentValue() {
+		if (this.observations == 0) {
+			return this.stepCount == 0 ? 0.0 : this.stepSum / this.stepCount;
+		}
+		final long lastObservedStep = this.currentStep - 1;
+		final long steps = this.horizonSteps + 1L;
+		final int season = this.seasonIndex(lastObservedStep + steps);
+		return this.level + steps * this.trend + (season < 0 ? 0.0 : this.seasonals[season]);
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeDouble(this.level);
+		out.writeDouble(this.trend);
+		out.writeDoubles(this.seasonals);
+		out.writeLong(this.observations);
+		out.writeLong(this.currentStep);
+		out.writeDouble(this.stepSum);
+		out.writeInt(this.stepCount);
+		out.writeDouble(this.getEmitTime());
+		out.writeDouble(this.latestTime);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.level = in.readDouble();
+		this.trend = in.readDouble();
+		in.readDoubles(this.seasonals);
+		this.observations = in.readLong();
+		this.currentStep = in.readLong();
+		this.stepSum = in.readDouble();
+		this.stepCount = in.readInt();
+		this.setEmitTime(in.readDouble());
+		this.latestTime = in.readDouble();
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.latestTime;
+	}
+
+}
@@ -0,0 +1,104 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * A map from objects, compared by identity, to non-negative {@code int}
+ * values. It uses open addressing with linear probing in two parallel arrays,
+ * so lookups neither allocate nor box. Removed entries are deleted by shifting
+ * the following entries back, so no tombstones accumulate.
+ */
+final class IdentityIntMap {
+
+	/** Returned by {@link #get(Object)} if the key is absent. */
+	static final int ABSENT = -1;
+
+	private Object[] keys;
+	private int[] values;
+	private int size;
+
+	IdentityIntMap(final int expectedSize) {
+		int capacity = 8;
+		while (capacity < expectedSize * 2) {
+			capacity *= 2;
+		}
+		this.keys = new Object[capacity];
+		this.values = new int[capacity];
+	}
+
+	int get(final Object key) {
+		final int mask = this.keys.length - 1;
+		for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+			final Object candidate = this.keys[i];
+			if (candidate == key) {
+				return this.values[i];
+			}
+			if (candidate == null) {
+				return ABSENT;
+			}
+		}
+	}
+
+	void put(final Object key, final int value) {
+		if ((this.size + 1) * 3 > this.keys.length * 2) {
+			this.resize(this.keys.length * 2);
+		}
+		final int mask = this.keys.length - 1;
+		for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+			final Object candidate = this.keys[i];
+			if (candidate == key) {
+				this.values[i] = value;
+				return;
+			}
+			if (candidate == null) {
+				this.keys[i] = key;
+				this.values[i] = value;
+				this.size++;
+				return;
+			}
+		}
+	}
+
+	void remove(final Object key) {
+		final int mask = this.keys.length - 1;
+		int i = hash(key) & mask;
+		while (this.keys[i] != key) {
+			if (this.keys[i] == null) {
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		/* Shift back the following entries whose probe sequence passes the hole. */
+		int hole = i;
+		for (int j = (hole + 1) & mask; this.keys[j] != null; j = (j + 1) & mask) {
+			final int home = hash(this.keys[j]) & mask;
+			if (((j - home) & mask) >= ((j - hole) & mask)) {
+				this.keys[hole] = this.keys[j];
+				this.values[hole] = this.values[j];
+				hole = j;
+			}
+		}
+		this.keys[hole] = null;
+		this.size--;
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	private void resize(final int capacity) {
+		final Object[] oldKeys = this.keys;
+		final int[] oldValues = this.values;
+		this.keys = new Object[capacity];
+		this.values = new int[capacity];
+		this.size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				this.put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	private static int hash(final Object key) {
+		final int h = System.identityHashCode(key) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
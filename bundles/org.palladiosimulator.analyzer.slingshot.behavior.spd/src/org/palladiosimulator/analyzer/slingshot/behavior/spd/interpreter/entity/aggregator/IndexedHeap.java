@@ -0,0 +1,125 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.util.Arrays;
+
+/**
+ * A binary heap of slots, each with a key, that knows the position of every
+ * slot. Thus, the key of any slot can be changed, and any slot can be removed,
+ * in logarithmic time. All data is stored in primitive arrays.
+ */
+final class IndexedHeap {
+
+	private final boolean maxHeap;
+	private int[] heap = new int[16];
+	private int[] positions = new int[16];
+	private double[] keys = new double[16];
+	private int size;
+
+	IndexedHeap(final boolean maxHeap) {
+		this.maxHeap = maxHeap;
+		Arrays.fill(this.positions, -1);
+	}
+
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	double topKey() {
+		return this.keys[this.heap[0]];
+	}
+
+	/**
+	 * Inserts the slot, or changes its key if it is already in the heap.
+	 */
+	void set(final int slot, final double key) {
+		this.ensureSlot(slot);
+		final int position = this.positions[slot];
+		if (position < 0) {
+			if (this.size == this.heap.length) {
+				this.heap = Arrays.copyOf(this.heap, this.size * 2);
+			}
+			this.keys[slot] = key;
+			this.heap[this.size] = slot;
+			this.positions[slot] = this.size;
+			this.size++;
+			this.siftUp(this.size - 1);
+		} else {
+			final double oldKey = this.keys[slot];
+			this.keys[slot] = key;
+			if (this.isAbove(key, oldKey)) {
+				this.siftUp(position);
+			} else {
+				this.siftDown(position);
+			}
+		}
+	}
+
+	void remove(final int slot) {
+		if (slot >= this.positions.length || this.positions[slot] < 0) {
+			return;
+		}
+		final int position = this.positions[slot];
+		this.size--;
+		this.positions[slot] = -1;
+		if (position == this.size) {
+			return;
+		}
+		final int last = this.heap[this.size];
+		this.heap[position] = last;
+		this.positions[last] = position;
+		this.siftUp(position);
+		this.siftDown(this.positions[last]);
+	}
+
+	private void ensureSlot(final int slot) {
+		if (slot >= this.positions.length) {
+			final int oldLength = this.positions.length;
+			final int capacity = Math.max(oldLength * 2, slot + 1);
+			this.positions = Arrays.copyOf(this.positions, capacity);
+			Arrays.fill(this.positions, oldLength, capacity, -1);
+			this.keys = Arrays.copyOf(this.keys, capacity);
+		}
+	}
+
+	private boolean isAbove(final double key1, final double key2) {
+		return this.maxHeap ? key1 > key2 : key1 < key2;
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			final int parent = (i - 1) / 2;
+			if (!this.isAbove(this.keys[this.heap[i]], this.keys[this.heap[parent]])) {
+				return;
+			}
+			this.swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int i) {
+		while (true) {
+			final int left = 2 * i + 1;
+			final int right = left + 1;
+			int top = i;
+			if (left < this.size && this.isAbove(this.keys[this.heap[left]], this.keys[this.heap[top]])) {
+				top = left;
+			}
+			if (right < this.size && this.isAbove(this.keys[this.heap[right]], this.keys[this.heap[top]])) {
+				top = right;
+			}
+			if (top == i) {
+				return;
+			}
+			this.swap(i, top);
+			i = top;
+		}
+	}
+
+	private void swap(final int i, final int j) {
+		final int slot = this.heap[i];
+		this.heap[i] = this.heap[j];
+		this.heap[j] = slot;
+		this.positions[this.heap[i]] = i;
+		this.positions[this.heap[j]] = j;
+	}
+}
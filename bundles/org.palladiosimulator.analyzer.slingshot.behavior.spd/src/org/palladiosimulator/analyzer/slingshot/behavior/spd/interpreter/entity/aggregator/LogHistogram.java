@@ -0,0 +1,84 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+/**
+ * The bucket layout of a histogram with logarithmically growing buckets, as
+ * used by DDSketch. Bucket {@code i > 0} covers the values in
+ * {@code (minValue * gamma^(i-1), minValue * gamma^i]} with
+ * {@code gamma = (1 + accuracy) / (1 - accuracy)}, so every value of a bucket
+ * can be represented by a single value with a relative error of at most
+ * {@code accuracy}. Bucket {@code 0} collects all values up to
+ * {@code minValue}, and the last bucket all values above {@code maxValue}.
+ *
+ * The number of buckets, and therefore the memory of the histograms, only
+ * depends on the range and the accuracy, not on the number of values.
+ */
+final class LogHistogram {
+
+	private final double minValue;
+	private final double gamma;
+	private final double logGamma;
+	private final int numberOfBuckets;
+
+	/**
+	 * @param relativeAccuracy The relative accuracy in {@code (0, 1)}.
+	 * @param minValue         The smallest value that is distinguished, must be
+	 *                         positive.
+	 * @param maxValue         The largest value that is distinguished.
+	 */
+	LogHistogram(final double relativeAccuracy, final double minValue, final double maxValue) {
+		if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+			throw new IllegalArgumentException("The relative accuracy must be in (0, 1), but was " + relativeAccuracy);
+		}
+		if (minValue <= 0 || maxValue <= minValue) {
+			throw new IllegalArgumentException("The range must satisfy 0 < minValue < maxValue");
+		}
+		this.minValue = minValue;
+		this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+		this.logGamma = Math.log(this.gamma);
+		this.numberOfBuckets = (int) Math.ceil(Math.log(maxValue / minValue) / this.logGamma) + 2;
+	}
+
+	int numberOfBuckets() {
+		return this.numberOfBuckets;
+	}
+
+	/**
+	 * Returns the bucket of the value.
+	 */
+	int indexOf(final double value) {
+		if (!(value > this.minValue)) {
+			return 0;
+		}
+		final int index = (int) Math.ceil(Math.log(value / this.minValue) / this.logGamma);
+		return Math.min(Math.max(index, 1), this.numberOfBuckets - 1);
+	}
+
+	/**
+	 * Returns the value that represents all values of the bucket.
+	 */
+	double valueOf(final int index) {
+		if (index == 0) {
+			return this.minValue;
+		}
+		return 2 * this.minValue * Math.pow(this.gamma, index) / (this.gamma + 1);
+	}
+
+	/**
+	 * Returns the value at the given quantile of the histogram.
+	 *
+	 * @param counts   The counts per bucket.
+	 * @param total    The sum of all counts, must be positive.
+	 * @param quantile The quantile in {@code [0, 1]}.
+	 */
+	double quantile(final int[] counts, final long total, final double quantile) {
+		final double rank = quantile * (total - 1);
+		long cumulative = 0;
+		for (int i = 0; i < counts.length; i++) {
+			cumulative += counts[i];
+			if (cumulative > rank) {
+				return this.valueOf(i);
+			}
+		}
+		return this.valueOf(counts.length - 1);
+	}
+}
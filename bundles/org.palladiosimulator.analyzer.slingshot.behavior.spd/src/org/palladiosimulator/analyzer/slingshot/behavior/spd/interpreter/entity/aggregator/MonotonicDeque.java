@@ -0,0 +1,98 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
+/**
+ * A deque of (key, value) pairs whose values are strictly monotonic, used to
+ * maintain the minimum or maximum of a sliding window in amortized constant
+ * time.
+ *
+ * When a new value is added, all values at the back that can never become the
+ * extremum anymore are dropped. Therefore, the front of the deque always holds
+ * the extremum of the window. When the window slides, the entries whose key
+ * left the window are evicted from the front.
+ *
+ * The keys must be added in non-decreasing order, e.g. sequence numbers for
+ * count-based windows or timestamps for time-based windows. Keys and values
+ * are stored in a {@link DoubleRingBuffer}.
+ */
+final class MonotonicDeque implements SlidingWindowStatistic {
+
+	private final boolean minimum;
+	private final DoubleRingBuffer entries;
+
+	/**
+	 * @param minimum         Whether the deque maintains the minimum, or the
+	 *                        maximum otherwise.
+	 * @param initialCapacity The initial capacity of the buffers.
+	 */
+	MonotonicDeque(final boolean minimum, final int initialCapacity) {
+		this.minimum = minimum;
+		this.entries = new DoubleRingBuffer(initialCapacity);
+	}
+
+	/**
+	 * Adds the value with the given key, and drops every value at the back that
+	 * is dominated by the new value.
+	 */
+	@Override
+	public void add(final double key, final double value) {
+		while (!this.entries.isEmpty() && !this.dominates(this.entries.getLastValue(), value)) {
+			this.entries.removeLast();
+		}
+		this.entries.addLast(key, value);
+	}
+
+	/**
+	 * Removes every entry at the front whose key is less than or equal to the
+	 * given key.
+	 */
+	@Override
+	public void evictUpTo(final double key) {
+		while (!this.entries.isEmpty() && this.entries.getFirstTime() <= key) {
+			this.entries.removeFirst();
+		}
+	}
+
+	/**
+	 * Returns the extremum of the current window.
+	 *
+	 * @throws IllegalStateException if the deque is empty.
+	 */
+	@Override
+	public double get() {
+		if (this.entries.isEmpty()) {
+			throw new IllegalStateException("The window is empty.");
+		}
+		return this.entries.getFirstValue();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.entries.isEmpty();
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		this.entries.writeState(out);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.entries.readState(in);
+	}
+
+	private boolean dominates(final double existing, final double newValue) {
+		return this.minimum ? existing < newValue : existing > newValue;
+	}
+
+	@Override
+	public String toString() {
+		return "MonotonicDeque[" + (this.minimum ? "min" : "max") + ", "
+				+ Arrays.toString(this.entries.copyValuesTo(new double[this.entries.size()])) + "]";
+	}
+}
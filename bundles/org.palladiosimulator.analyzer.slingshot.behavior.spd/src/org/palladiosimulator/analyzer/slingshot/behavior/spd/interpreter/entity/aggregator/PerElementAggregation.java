@@ -0,0 +1,308 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Aggregates over the elements of a target group in two levels, instead of
+ * aggregating all measurements as one stream. This way, an element that
+ * reports more often than the others does not dominate the aggregated value.
+ *
+ * First, each element, identified by the object passed to
+ * {@link #aggregateFrom(Object, double, double)}, has its own value. It is
+ * either the latest measured value, or, with a positive time constant
+ * {@code tau}, the exponential moving average of the measured values in
+ * continuous time: since a value holds until the next one is measured, the
+ * average moves towards the previous value by {@code 1 - exp(-dt/tau)}.
+ *
+ * Second, the values of the elements are aggregated with the aggregation
+ * method. Sum and average are maintained as a running sum, minimum and maximum
+ * with an {@link IndexedHeap}. Updating the value of an element therefore
+ * takes constant or logarithmic time, regardless of the number of elements.
+ *
+ * Elements are mapped to slots of primitive arrays by an
+ * {@link IdentityIntMap}. Elements that did not report for
+ * {@code elementTimeout} seconds, e.g. because they were removed by a scale-in,
+ * are dropped. They are kept in a list ordered by the time of their latest
+ * value, so expired elements are found without scanning all elements.
+ *
+ * In a checkpoint, the elements are written as references (see
+ * {@link CheckpointOutput#writeElement(Object)}). Elements that cannot be
+ * resolved when the checkpoint is restored are dropped.
+ *
+ * Similarly to the other time windows, a value is only emittable after the
+ * first {@code elementTimeout} seconds, and the emission rate is limited by
+ * {@link #durationNoEmit}.
+ */
+public class PerElementAggregation extends AbstractTimeWindowAggregation {
+
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int NONE = -1;
+
+	/** The element of values that are aggregated without an element. */
+	private static final Object UNKNOWN_ELEMENT = new Object();
+
+	private final AGGREGATIONMETHOD aggregationMethod;
+	private final double elementTimeout;
+	private final double timeConstant;
+
+	private final IdentityIntMap slotsOfElements = new IdentityIntMap(INITIAL_CAPACITY);
+	private final IndexedHeap extremes;
+
+	/* The state per slot. */
+	private Object[] elements = new Object[INITIAL_CAPACITY];
+	private double[] values = new double[INITIAL_CAPACITY];
+	private double[] lastValues = new double[INITIAL_CAPACITY];
+	private double[] lastTimes = new double[INITIAL_CAPACITY];
+
+	/* The used slots from the oldest to the latest update, linked by slot. */
+	private int[] previous = new int[INITIAL_CAPACITY];
+	private int[] next = new int[INITIAL_CAPACITY];
+	private int oldest = NONE;
+	private int latest = NONE;
+
+	/* Unused slots. */
+	private int[] freeSlots = new int[INITIAL_CAPACITY];
+	private int numberOfFreeSlots;
+	private int numberOfSlots;
+
+	private int numberOfElements;
+	private double sum;
+	private long updatesSinceSummation;
+
+	private double latestTime;
+
+	/**
+	 * @param aggregationMethod The aggregation over the elements, one of
+	 *                          {@code MIN}, {@code MAX}, {@code AVERAGE} and
+	 *                          {@code SUM}.
+	 * @param elementTimeout    The duration after which an element without
+	 *                          values is dropped.
+	 * @param timeConstant      The time constant of the average per element, or
+	 *                          0 to use the latest value of each element.
+	 * @param noEmitDuration    The minimal duration between two emissions.
+	 */
+	public PerElementAggregation(final AGGREGATIONMETHOD aggregationMethod, final int elementTimeout,
+			final double timeConstant, final double noEmitDuration) {
+		super(elementTimeout, noEmitDuration);
+		if (aggregationMethod == AGGREGATIONMETHOD.MEDIAN) {
+			throw new IllegalArgumentException("The median over elements is not supported");
+		}
+		if (elementTimeout <= 0 || timeConstant < 0) {
+			throw new IllegalArgumentException("The timeout must be positive, the time constant non-negative");
+		}
+		this.aggregationMethod = aggregationMethod;
+		this.elementTimeout = elementTimeout;
+		this.timeConstant = timeConstant;
+		this.extremes = switch (aggregationMethod) {
+		case MIN -> new IndexedHeap(false);
+		case MAX -> new IndexedHeap(true);
+		default -> null;
+		};
+	}
+
+	/**
+	 * Aggregates a value without an element. All such values are treated as
+	 * values of the same element.
+	 */
+	@Override
+	public double aggregate(final double time, final double newValue) {
+		return this.aggregateFrom(UNKNOWN_ELEMENT, time, newValue);
+	}
+
+	@Override
+	public double aggregateFrom(final Object element, final double time, final double newValue) {
+		final Object key = element != null ? element : UNKNOWN_ELEMENT;
+		this.latestTime = Math.max(this.latestTime, time);
+		this.dropExpiredElements(this.latestTime - this.elementTimeout);
+
+		int slot = this.slotsOfElements.get(key);
+		if (slot == IdentityIntMap.ABSENT) {
+			slot = this.allocateSlot();
+			this.slotsOfElements.put(key, slot);
+			this.elements[slot] = key;
+			this.lastValues[slot] = newValue;
+			this.lastTimes[slot] = time;
+			this.numberOfElements++;
+			this.setValue(slot, newValue, true);
+		} else {
+			final double elapsed = Math.max(0.0, time - this.lastTimes[slot]);
+			final double value;
+			if (this.timeConstant == 0.0) {
+				value = newValue;
+			} else {
+				final double weight = 1.0 - Math.exp(-elapsed / this.timeConstant);
+				value = this.values[slot] + weight * (this.lastValues[slot] - this.values[slot]);
+			}
+			this.lastValues[slot] = newValue;
+			this.lastTimes[slot] = Math.max(time, this.lastTimes[slot]);
+			this.unlink(slot);
+			this.setValue(slot, value, false);
+		}
+		this.linkAsLatest(slot);
+
+		/* Avoid that rounding errors accumulate in the running sum. */
+		if (++this.updatesSinceSummation > Math.max(1024, 16L * this.numberOfElements)) {
+			this.recomputeSum();
+		}
+		return this.peekCurrentValue();
+	}
+
+	private void setValue(final int slot, final double value, final boolean isNew) {
+		this.sum += isNew ? value : value - this.values[slot];
+		this.values[slot] = value;
+		if (this.extremes != null) {
+			this.extremes.set(slot, value);
+		}
+	}
+
+	private void recomputeSum() {
+		this.sum = 0.0;
+		for (int slot = this.oldest; slot != NONE; slot = this.next[slot]) {
+			this.sum += this.values[slot];
+		}
+		this.updatesSinceSummation = 0;
+	}
+
+	private void dropExpiredElements(final double expiryTime) {
+		while (this.oldest != NONE && this.lastTimes[this.oldest] < expiryTime) {
+			final int slot = this.oldest;
+			this.unlink(slot);
+			this.slotsOfElements.remove(this.elements[slot]);
+			this.elements[slot] = null;
+			this.sum -= this.values[slot];
+			if (this.extremes != null) {
+				this.extremes.remove(slot);
+			}
+			this.numberOfElements--;
+			this.freeSlots[this.numberOfFreeSlots++] = slot;
+		}
+		if (this.numberOfElements == 0) {
+			this.sum = 0.0;
+		}
+	}
+
+	private int allocateSlot() {
+		if (this.numberOfFreeSlots > 0) {
+			return this.freeSlots[--this.numberOfFreeSlots];
+		}
+		if (this.numberOfSlots == this.elements.length) {
+			final int capacity = this.elements.length * 2;
+			this.elements = Arrays.copyOf(this.elements, capacity);
+			this.values = Arrays.copyOf(this.values, capacity);
+			this.lastValues = Arrays.copyOf(this.lastValues, capacity);
+			this.lastTimes = Arrays.copyOf(this.lastTimes, capacity);
+			this.previous = Arrays.copyOf(this.previous, capacity);
+			this.next = Arrays.copyOf(this.next, capacity);
+			this.freeSlots = Arrays.copyOf(this.freeSlots, capacity);
+		}
+		return this.numberOfSlots++;
+	}
+
+	private void unlink(final int slot) {
+		final int before = this.previous[slot];
+		final int after = this.next[slot];
+		if (before == NONE) {
+			this.oldest = after;
+		} else {
+			this.next[before] = after;
+		}
+		if (after == NONE) {
+			this.latest = before;
+		} else {
+			this.previous[after] = before;
+		}
+	}
+
+	private void linkAsLatest(final int slot) {
+		this.previous[slot] = this.latest;
+		this.next[slot] = NONE;
+		if (this.latest == NONE) {
+			this.oldest = slot;
+		} else {
+			this.next[this.latest] = slot;
+		}
+		this.latest = slot;
+	}
+
+	/**
+	 * Returns the number of elements that currently have a value.
+	 */
+	public int getNumberOfElements() {
+		return this.numberOfElements;
+	}
+
+	/**
+	 * Writes the elements from the oldest to the latest update.
+	 */
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeInt(this.numberOfElements);
+		for (int slot = this.oldest; slot != NONE; slot = this.next[slot]) {
+			final boolean unknown = this.elements[slot] == UNKNOWN_ELEMENT;
+			out.writeBoolean(unknown);
+			if (!unknown) {
+				out.writeElement(this.elements[slot]);
+			}
+			out.writeDouble(this.values[slot]);
+			out.writeDouble(this.lastValues[slot]);
+			out.writeDouble(this.lastTimes[slot]);
+		}
+		out.writeDouble(this.getEmitTime());
+		out.writeDouble(this.latestTime);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.dropExpiredElements(Double.POSITIVE_INFINITY);
+		final int writtenElements = in.readInt();
+		for (int i = 0; i < writtenElements; i++) {
+			final Object key = in.readBoolean() ? UNKNOWN_ELEMENT : in.readElement();
+			final double value = in.readDouble();
+			final double lastValue = in.readDouble();
+			final double lastTime = in.readDouble();
+			if (key == null || this.slotsOfElements.get(key) != IdentityIntMap.ABSENT) {
+				continue;
+			}
+			final int slot = this.allocateSlot();
+			this.slotsOfElements.put(key, slot);
+			this.elements[slot] = key;
+			this.lastValues[slot] = lastValue;
+			this.lastTimes[slot] = lastTime;
+			this.numberOfElements++;
+			this.setValue(slot, value, true);
+			this.linkAsLatest(slot);
+		}
+		this.recomputeSum();
+		this.setEmitTime(in.readDouble());
+		this.latestTime = in.readDouble();
+	}
+
+	@Override
+	protected boolean hasValue() {
+		return this.numberOfElements > 0;
+	}
+
+	@Override
+	protected double peekCurrentValue() {
+		if (this.numberOfElements == 0) {
+			throw new IllegalStateException("There are no elements.");
+		}
+		return switch (this.aggregationMethod) {
+		case MIN, MAX -> this.extremes.topKey();
+		case AVERAGE -> this.sum / this.numberOfElements;
+		case SUM -> this.sum;
+		default -> throw new IllegalStateException("Unexpected value: " + this.aggregationMethod);
+		};
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.latestTime;
+	}
+
+}
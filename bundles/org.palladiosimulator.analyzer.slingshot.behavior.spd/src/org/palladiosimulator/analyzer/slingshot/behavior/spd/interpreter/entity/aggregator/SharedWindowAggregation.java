@@ -0,0 +1,168 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+
+/**
+ * A view on an aggregation that is shared by multiple trigger checkers. The
+ * window itself exists only once, but each view keeps its own emit state, so
+ * that the emission of one policy does not influence the emission of another.
+ *
+ * Since every checker passes the same measurement to the view, the
+ * measurements must be aggregated with {@link #aggregate(Object, double, double)},
+ * which aggregates a measurement only once for all views. The aggregated value
+ * is then read with {@link #peekCurrentValue()}, since the value returned by
+ * the underlying aggregation when it includes a measurement is not necessarily
+ * its current value, e.g. the mean instead of the sum.
+ *
+ * Views are created by the {@link AggregatorRegistry}.
+ */
+public final class SharedWindowAggregation extends AbstractWindowAggregation {
+
+	private final Source source;
+	private double emitTime;
+
+	SharedWindowAggregation(final Source source) {
+		this.source = source;
+		this.emitTime = 0.0;
+	}
+
+	/**
+	 * Aggregates the measurement, unless it was already aggregated by another
+	 * view of the same aggregation.
+	 *
+	 * @param measurement The measurement, which is compared by identity.
+	 * @param time        The point in time of the measurement.
+	 * @param newValue    The measured value.
+	 */
+	public void aggregate(final Object measurement, final double time, final double newValue) {
+		this.aggregate(measurement, null, time, newValue);
+	}
+
+	/**
+	 * Aggregates the measurement of the given element, unless it was already
+	 * aggregated by another view of the same aggregation.
+	 *
+	 * @param measurement The measurement, which is compared by identity.
+	 * @param element     The element the measurement belongs to, see
+	 *                    {@link AbstractWindowAggregation#aggregateFrom(Object, double, double)}.
+	 * @param time        The point in time of the measurement.
+	 * @param newValue    The measured value.
+	 */
+	public void aggregate(final Object measurement, final Object element, final double time, final double newValue) {
+		if (measurement == this.source.lastMeasurement) {
+			return;
+		}
+		this.source.lastMeasurement = measurement;
+		this.source.aggregation.aggregateFrom(element, time, newValue);
+	}
+
+	/**
+	 * Aggregates the value unconditionally. If the aggregation is shared, use
+	 * {@link #aggregate(Object, double, double)} instead.
+	 */
+	@Override
+	public double aggregate(final double time, final double newValue) {
+		this.source.lastMeasurement = null;
+		return this.source.aggregation.aggregate(time, newValue);
+	}
+
+	/**
+	 * Aggregates the value of the element unconditionally. If the aggregation
+	 * is shared, use {@link #aggregate(Object, Object, double, double)} instead.
+	 */
+	@Override
+	public double aggregateFrom(final Object element, final double time, final double newValue) {
+		this.source.lastMeasurement = null;
+		return this.source.aggregation.aggregateFrom(element, time, newValue);
+	}
+
+	@Override
+	public boolean isEmittable() {
+		return this.isEmittableSince(this.emitTime);
+	}
+
+	@Override
+	protected double getCurrentVal() {
+		this.emitTime = this.getLatestTime();
+		return this.peekCurrentValue();
+	}
+
+	/**
+	 * Only updates the emit state of this view, the shared value is not
+	 * computed.
+	 */
+	@Override
+	public void skipCurrentValue() {
+		if (!this.isEmittable()) {
+			throw new IllegalStateException("Cant skip current value when it is non emittable.");
+		}
+		this.emitTime = this.getLatestTime();
+	}
+
+	@Override
+	protected boolean isEmittableSince(final double lastEmitTime) {
+		return this.source.aggregation.isEmittableSince(lastEmitTime);
+	}
+
+	/**
+	 * Returns the current value of the shared aggregation without consuming the
+	 * emission of this view. The value is the same for all views, no matter
+	 * which of them aggregated the latest measurement.
+	 */
+	@Override
+	public double peekCurrentValue() {
+		return this.source.aggregation.peekCurrentValue();
+	}
+
+	/**
+	 * Writes the emit state of this view. The shared aggregation is written by
+	 * the {@link AggregatorRegistry}.
+	 */
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeDouble(this.emitTime);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.emitTime = in.readDouble();
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.source.aggregation.getLatestTime();
+	}
+
+	/**
+	 * The aggregation that is shared by all views, together with the measurement
+	 * that was aggregated last.
+	 */
+	static final class Source implements Checkpointable {
+
+		private final AbstractWindowAggregation aggregation;
+		private Object lastMeasurement;
+
+		Source(final AbstractWindowAggregation aggregation) {
+			this.aggregation = aggregation;
+		}
+
+		@Override
+		public void writeState(final CheckpointOutput out) throws IOException {
+			this.aggregation.writeState(out);
+		}
+
+		/**
+		 * Restores the aggregation. Measurements of the restored run are new
+		 * objects, so the last measurement is forgotten.
+		 */
+		@Override
+		public void readState(final CheckpointInput in) throws IOException {
+			this.aggregation.readState(in);
+			this.lastMeasurement = null;
+		}
+	}
+}
@@ -0,0 +1,288 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
+/**
+ * Maintains the median of a sliding window with two heaps: a max-heap with the
+ * lower half and a min-heap with the upper half of the values. Adding and
+ * evicting a value takes logarithmic time, and the median is read from the
+ * tops of the heaps.
+ *
+ * Evicted values are deleted lazily. Since values leave the window in the
+ * order they were added, every value gets a sequence number, and a heap entry
+ * is stale iff its sequence number is lower than that of the oldest value in
+ * the window. Stale entries are dropped as soon as they reach the top of a
+ * heap. To keep the heaps from growing, a heap is compacted once it contains
+ * more stale than valid entries.
+ *
+ * Entries are ordered by value and then by sequence number, so that every
+ * entry is unique. All data is stored in primitive arrays.
+ *
+ * This produces the same median as
+ * {@link org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MedianAggregation},
+ * i.e. the mean of the two middle values for windows of even size.
+ */
+final class SlidingMedian implements SlidingWindowStatistic {
+
+	/** Heaps are not compacted below this number of stale entries. */
+	private static final int COMPACTION_THRESHOLD = 32;
+
+	/** The window in insertion order. */
+	private final DoubleRingBuffer window;
+
+	/** Sequence number of the oldest value in the window. */
+	private long firstSeq;
+	private long nextSeq;
+
+	private final EntryHeap lower = new EntryHeap(true);
+	private final EntryHeap upper = new EntryHeap(false);
+
+	/* The number of valid entries in each heap. */
+	private int lowerSize;
+	private int upperSize;
+
+	SlidingMedian(final int initialCapacity) {
+		this.window = new DoubleRingBuffer(initialCapacity);
+	}
+
+	@Override
+	public void add(final double key, final double value) {
+		this.window.addLast(key, value);
+
+		final long seq = this.nextSeq++;
+		if (this.lowerSize == 0 || compare(value, seq, this.lower.topValue(), this.lower.topSeq()) <= 0) {
+			this.lower.push(value, seq);
+			this.lowerSize++;
+		} else {
+			this.upper.push(value, seq);
+			this.upperSize++;
+		}
+		this.rebalance();
+	}
+
+	@Override
+	public void evictUpTo(final double key) {
+		while (!this.window.isEmpty() && this.window.getFirstTime() <= key) {
+			this.removeOldest();
+		}
+	}
+
+	private void removeOldest() {
+		final double value = this.window.removeFirst();
+		final long seq = this.firstSeq;
+		this.firstSeq++;
+
+		if (this.lowerSize > 0 && compare(value, seq, this.lower.topValue(), this.lower.topSeq()) <= 0) {
+			this.lowerSize--;
+		} else {
+			this.upperSize--;
+		}
+		this.lower.prune(this.firstSeq);
+		this.upper.prune(this.firstSeq);
+		this.rebalance();
+
+		if (this.lower.size() - this.lowerSize > Math.max(COMPACTION_THRESHOLD, this.lowerSize)) {
+			this.lower.compact(this.firstSeq);
+		}
+		if (this.upper.size() - this.upperSize > Math.max(COMPACTION_THRESHOLD, this.upperSize)) {
+			this.upper.compact(this.firstSeq);
+		}
+	}
+
+	/**
+	 * Moves values between the heaps, such that the lower half contains as many
+	 * values as the upper half, or one more.
+	 */
+	private void rebalance() {
+		while (this.lowerSize > this.upperSize + 1) {
+			this.upper.push(this.lower.topValue(), this.lower.topSeq());
+			this.lower.pop();
+			this.lowerSize--;
+			this.upperSize++;
+			this.lower.prune(this.firstSeq);
+		}
+		while (this.upperSize > this.lowerSize) {
+			this.lower.push(this.upper.topValue(), this.upper.topSeq());
+			this.upper.pop();
+			this.upperSize--;
+			this.lowerSize++;
+			this.upper.prune(this.firstSeq);
+		}
+	}
+
+	@Override
+	public double get() {
+		if (this.window.isEmpty()) {
+			throw new IllegalStateException("The window is empty.");
+		}
+		if (this.window.size() % 2 == 1) {
+			return this.lower.topValue();
+		}
+		return (this.lower.topValue() + this.upper.topValue()) / 2;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.window.isEmpty();
+	}
+
+	/**
+	 * Writes the values of the window. The heaps are rebuilt from them.
+	 */
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		this.window.writeState(out);
+	}
+
+	/**
+	 * Replaces the window by the values of the checkpoint, and rebuilds the
+	 * heaps from them.
+	 */
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		final DoubleRingBuffer values = new DoubleRingBuffer(1);
+		values.readState(in);
+		this.window.clear();
+		this.lower.clear();
+		this.upper.clear();
+		this.lowerSize = 0;
+		this.upperSize = 0;
+		this.firstSeq = 0;
+		this.nextSeq = 0;
+		for (int i = 0; i < values.size(); i++) {
+			this.add(values.getTime(i), values.getValue(i));
+		}
+	}
+
+	private static int compare(final double value1, final long seq1, final double value2, final long seq2) {
+		final int byValue = Double.compare(value1, value2);
+		return byValue != 0 ? byValue : Long.compare(seq1, seq2);
+	}
+
+	/**
+	 * A binary heap of (value, sequence number) entries in primitive arrays.
+	 */
+	private static final class EntryHeap {
+
+		private final boolean maxHeap;
+		private double[] values = new double[16];
+		private long[] seqs = new long[16];
+		private int size;
+
+		EntryHeap(final boolean maxHeap) {
+			this.maxHeap = maxHeap;
+		}
+
+		int size() {
+			return this.size;
+		}
+
+		void clear() {
+			this.size = 0;
+		}
+
+		double topValue() {
+			return this.values[0];
+		}
+
+		long topSeq() {
+			return this.seqs[0];
+		}
+
+		void push(final double value, final long seq) {
+			if (this.size == this.values.length) {
+				final int capacity = this.values.length * 2;
+				this.values = Arrays.copyOf(this.values, capacity);
+				this.seqs = Arrays.copyOf(this.seqs, capacity);
+			}
+			this.values[this.size] = value;
+			this.seqs[this.size] = seq;
+			this.siftUp(this.size);
+			this.size++;
+		}
+
+		void pop() {
+			this.size--;
+			if (this.size > 0) {
+				this.values[0] = this.values[this.size];
+				this.seqs[0] = this.seqs[this.size];
+				this.siftDown(0);
+			}
+		}
+
+		/**
+		 * Drops stale entries from the top.
+		 */
+		void prune(final long firstValidSeq) {
+			while (this.size > 0 && this.seqs[0] < firstValidSeq) {
+				this.pop();
+			}
+		}
+
+		/**
+		 * Removes all stale entries and restores the heap property.
+		 */
+		void compact(final long firstValidSeq) {
+			int validSize = 0;
+			for (int i = 0; i < this.size; i++) {
+				if (this.seqs[i] >= firstValidSeq) {
+					this.values[validSize] = this.values[i];
+					this.seqs[validSize] = this.seqs[i];
+					validSize++;
+				}
+			}
+			this.size = validSize;
+			for (int i = this.size / 2 - 1; i >= 0; i--) {
+				this.siftDown(i);
+			}
+		}
+
+		private boolean isAbove(final int i, final int j) {
+			final int comparison = compare(this.values[i], this.seqs[i], this.values[j], this.seqs[j]);
+			return this.maxHeap ? comparison > 0 : comparison < 0;
+		}
+
+		private void siftUp(int i) {
+			while (i > 0) {
+				final int parent = (i - 1) / 2;
+				if (!this.isAbove(i, parent)) {
+					return;
+				}
+				this.swap(i, parent);
+				i = parent;
+			}
+		}
+
+		private void siftDown(int i) {
+			while (true) {
+				final int left = 2 * i + 1;
+				final int right = left + 1;
+				int top = i;
+				if (left < this.size && this.isAbove(left, top)) {
+					top = left;
+				}
+				if (right < this.size && this.isAbove(right, top)) {
+					top = right;
+				}
+				if (top == i) {
+					return;
+				}
+				this.swap(i, top);
+				i = top;
+			}
+		}
+
+		private void swap(final int i, final int j) {
+			final double value = this.values[i];
+			final long seq = this.seqs[i];
+			this.values[i] = this.values[j];
+			this.seqs[i] = this.seqs[j];
+			this.values[j] = value;
+			this.seqs[j] = seq;
+		}
+	}
+}
@@ -1,79 +1,131 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
-import java.util.LinkedList;
 import java.util.function.Function;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.DoubleAggregationFunction;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.MeanAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions.SumAggregation;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
 /***
- * An inefficient implementation of a sliding time window that allows the
+ * An implementation of a sliding time window that allows the
  * applying of {@link #aggregationFunction} whenever the windows moves.
+ * The data points are stored in a primitive {@link DoubleRingBuffer}, which
+ * only grows if the window holds more data points than ever before.
  * 
  * The implementation allows the specification of the {@link #durationNoEmit} to
  * define the emitting rate.
  * 
+ * The helper {@link #getFromAggregationMethod(AGGREGATIONMETHOD, int, double)}
+ * returns a {@link SlidingTimeWindowIncrementalAggregation} for min, max and
+ * median.
+ * 
+ * Since every data point of the window is kept, the memory grows with the
+ * measurement rate. For high rates, {@link BucketedTimeWindowAggregation}
+ * keeps only a partial aggregate per bucket of the window.
+ * 
  * @author Floriment Klinaku
  *
  */
-public class SlidingTimeWindowAggregation extends AbstractWindowAggregation {
+public class SlidingTimeWindowAggregation extends AbstractTimeWindowAggregation {
 
-	private Deque<DataPoint> window; // Data structure to store the sliding window
-	private double windowSizeInSeconds; // Size of the sliding window in milliseconds
-	private double currentSum; // Aggregate value of the current window
-	private double emitTime;
-	private final double durationNoEmit; // determines the emitting frequency
-	private final Function<Collection<Double>, Double> aggregationFunction;
+	private static final int INITIAL_CAPACITY = 64;
 
-	// Represents a data point with a timestamp and a double value
-	private class DataPoint {
-		double timestamp;
-		double value;
-
-		DataPoint(double timestamp, double value) {
-			this.timestamp = timestamp;
-			this.value = value;
-		}
-	}
+	private final DoubleRingBuffer window; // Data structure to store the sliding window
+	private double windowSizeInSeconds; // Size of the sliding window in seconds
+	private double currentSum; // Aggregate value of the current window
+	private final DoubleAggregationFunction aggregationFunction;
 
 	public SlidingTimeWindowAggregation(int winSizeSeconds, double noEmitDuration,
-			Function<Collection<Double>, Double> aggrFunction) {
-		this.window = new LinkedList<>();
+			DoubleAggregationFunction aggrFunction) {
+		super(winSizeSeconds, noEmitDuration);
+		this.window = new DoubleRingBuffer(INITIAL_CAPACITY);
 		this.windowSizeInSeconds = winSizeSeconds;
 		this.currentSum = 0.0;
-		this.durationNoEmit = noEmitDuration;
-		this.emitTime = 0.0;
 		this.aggregationFunction = aggrFunction;
 	}
 	/**
-	 * It is emittable whenever the last timestamp is larger than the window or the
-	 * emit time frequency has been reached.
+	 * Constructor for aggregation functions on boxed values. Prefer
+	 * {@link #SlidingTimeWindowAggregation(int, double, DoubleAggregationFunction)},
+	 * since the values of the window must be copied into a list for every
+	 * application of such a function.
 	 */
-	@Override
-	public boolean isEmittable() {
-		return this.window.getLast().timestamp > windowSizeInSeconds
-				&& this.window.getLast().timestamp - emitTime > durationNoEmit;
+	public SlidingTimeWindowAggregation(int winSizeSeconds, double noEmitDuration,
+			Function<Collection<Double>, Double> aggrFunction) {
+		this(winSizeSeconds, noEmitDuration, (DoubleAggregationFunction) values -> {
+			final Double[] boxed = new Double[values.size()];
+			for (int i = 0; i < boxed.length; i++) {
+				boxed[i] = values.getValue(i);
+			}
+			return aggrFunction.apply(Arrays.asList(boxed));
+		});
 	}
 
 	@Override
 	public double aggregate(double time, double newValue) {
-		// TODO Auto-generated method stub
 		// Remove old data points that fall outside the sliding window
-		while (!window.isEmpty() && window.getFirst().timestamp <= time - windowSizeInSeconds) {
-			DataPoint removed = window.removeFirst();
-			currentSum -= removed.value;
+		while (!window.isEmpty() && window.getFirstTime() <= time - windowSizeInSeconds) {
+			currentSum -= window.removeFirst();
 		}
 
 		// Add the new data point to the window
-		DataPoint newPoint = new DataPoint(time, newValue);
-		window.addLast(newPoint);
+		window.addLast(time, newValue);
 		currentSum += newValue;
 		return currentSum / window.size();
 	}
 
 	@Override
-	protected double getCurrentVal() {
-		emitTime = this.window.getLast().timestamp;
-		return aggregationFunction.apply(window.stream().map(dp -> dp.value).toList());
+	protected boolean hasValue() {
+		return !this.window.isEmpty();
+	}
+
+	@Override
+	protected double peekCurrentValue() {
+		return aggregationFunction.apply(window);
+	}
+
+	/**
+	 * Returns a sliding time window for the aggregation method specified in SPD.
+	 * 
+	 * @param aggregationMethod The aggregation method.
+	 * @param winSizeSeconds    The size of the window in seconds.
+	 * @param noEmitDuration    The minimal duration between two emissions.
+	 * @return A new sliding time window.
+	 */
+	public static AbstractWindowAggregation getFromAggregationMethod(final AGGREGATIONMETHOD aggregationMethod,
+			final int winSizeSeconds, final double noEmitDuration) {
+		return switch (aggregationMethod) {
+		case MIN -> SlidingTimeWindowIncrementalAggregation.minimum(winSizeSeconds, noEmitDuration);
+		case MAX -> SlidingTimeWindowIncrementalAggregation.maximum(winSizeSeconds, noEmitDuration);
+		case AVERAGE -> new SlidingTimeWindowAggregation(winSizeSeconds, noEmitDuration, (DoubleAggregationFunction) new MeanAggregation());
+		case MEDIAN -> SlidingTimeWindowIncrementalAggregation.median(winSizeSeconds, noEmitDuration);
+		case SUM -> new SlidingTimeWindowAggregation(winSizeSeconds, noEmitDuration, (DoubleAggregationFunction) new SumAggregation());
+		default -> throw new IllegalArgumentException("Unexpected value: " + aggregationMethod);
+		};
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		this.window.writeState(out);
+		out.writeDouble(this.currentSum);
+		out.writeDouble(this.getEmitTime());
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.window.readState(in);
+		this.currentSum = in.readDouble();
+		this.setEmitTime(in.readDouble());
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.window.isEmpty() ? 0.0 : this.window.getLastTime();
 	}
 
 }
@@ -1,5 +1,10 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
 
+import java.io.IOException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
 /**
  * The {@link #SlidingTimeWindowAggregationBasedOnEMA(int, double, double)} implements an
  * exponential moving average. Similarly, to other WindowAggregation(s), it allows to define a
@@ -29,19 +34,16 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
  * @author Floriment Klinaku, Sarah Stieß
  *
  */
-public class SlidingTimeWindowAggregationBasedOnEMA extends AbstractWindowAggregation {
+public class SlidingTimeWindowAggregationBasedOnEMA extends AbstractTimeWindowAggregation {
 
 	private double windowSizeInSeconds; // Size of the sliding window in seconds
 	private double currentValue; // Aggregate value of the current window
-	private double emitTime;
-	private final double durationNoEmit; // determines the emitting frequency
 	private double alpha; // Smoothing factor for EMA
 	private double lastUpdateTime;
 
 	public SlidingTimeWindowAggregationBasedOnEMA(int winSizeSeconds, double noEmitDuration, double smoothingFactor) {
+		super(winSizeSeconds, noEmitDuration);
 		this.windowSizeInSeconds = winSizeSeconds;
-		this.durationNoEmit = noEmitDuration;
-		this.emitTime = 0.0;
 		this.alpha = smoothingFactor;
 		this.currentValue = 0.0;
 		this.lastUpdateTime = 0.0;
@@ -72,19 +74,35 @@ public class SlidingTimeWindowAggregationBasedOnEMA extends AbstractWindowAggreg
 	}
 
 	/**
-	 * It is emittable whenever the last timestamp is larger than the window or the
-	 * emit time frequency has been reached.
+	 * The moving average starts at 0, so there is always a value.
 	 */
 	@Override
-	public boolean isEmittable() {
-		return lastUpdateTime > windowSizeInSeconds && lastUpdateTime - emitTime > durationNoEmit;
+	protected boolean hasValue() {
+		return true;
 	}
 
 	@Override
-	protected double getCurrentVal() {
-		assert lastUpdateTime - emitTime > durationNoEmit;
-		emitTime = lastUpdateTime;
+	protected double peekCurrentValue() {
 		return currentValue;
 	}
 
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeDouble(this.currentValue);
+		out.writeDouble(this.getEmitTime());
+		out.writeDouble(this.lastUpdateTime);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.currentValue = in.readDouble();
+		this.setEmitTime(in.readDouble());
+		this.lastUpdateTime = in.readDouble();
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return lastUpdateTime;
+	}
+
 }
@@ -0,0 +1,82 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
+/**
+ * A sliding time window over the values of the last
+ * {@code windowSizeInSeconds} seconds, whose value is maintained incrementally
+ * by a {@link SlidingWindowStatistic}.
+ *
+ * It behaves like {@link SlidingTimeWindowAggregation} with the corresponding
+ * function, including the {@link #durationNoEmit} to define the emitting rate,
+ * but does not apply the function to the whole window on every emission.
+ */
+public class SlidingTimeWindowIncrementalAggregation extends AbstractTimeWindowAggregation {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final double windowSizeInSeconds;
+	private final SlidingWindowStatistic statistic;
+
+	private double latestTime;
+
+	private SlidingTimeWindowIncrementalAggregation(final int winSizeSeconds, final double noEmitDuration,
+			final SlidingWindowStatistic statistic) {
+		super(winSizeSeconds, noEmitDuration);
+		this.windowSizeInSeconds = winSizeSeconds;
+		this.statistic = statistic;
+	}
+
+	public static SlidingTimeWindowIncrementalAggregation minimum(final int winSizeSeconds, final double noEmitDuration) {
+		return new SlidingTimeWindowIncrementalAggregation(winSizeSeconds, noEmitDuration, new MonotonicDeque(true, INITIAL_CAPACITY));
+	}
+
+	public static SlidingTimeWindowIncrementalAggregation maximum(final int winSizeSeconds, final double noEmitDuration) {
+		return new SlidingTimeWindowIncrementalAggregation(winSizeSeconds, noEmitDuration, new MonotonicDeque(false, INITIAL_CAPACITY));
+	}
+
+	public static SlidingTimeWindowIncrementalAggregation median(final int winSizeSeconds, final double noEmitDuration) {
+		return new SlidingTimeWindowIncrementalAggregation(winSizeSeconds, noEmitDuration, new SlidingMedian(INITIAL_CAPACITY));
+	}
+
+	@Override
+	public double aggregate(final double time, final double newValue) {
+		this.statistic.evictUpTo(time - this.windowSizeInSeconds);
+		this.statistic.add(time, newValue);
+		this.latestTime = time;
+		return this.statistic.get();
+	}
+
+	@Override
+	protected boolean hasValue() {
+		return !this.statistic.isEmpty();
+	}
+
+	@Override
+	protected double peekCurrentValue() {
+		return this.statistic.get();
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		this.statistic.writeState(out);
+		out.writeDouble(this.getEmitTime());
+		out.writeDouble(this.latestTime);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.statistic.readState(in);
+		this.setEmitTime(in.readDouble());
+		this.latestTime = in.readDouble();
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.latestTime;
+	}
+
+}
@@ -0,0 +1,203 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
+/**
+ * A sliding time window for a percentile, e.g. the 95th percentile of the
+ * response times of the last {@code windowSizeInSeconds} seconds.
+ *
+ * The values are not kept. Instead, they are counted in a histogram with
+ * logarithmic buckets (see {@link LogHistogram}), so that the percentile has a
+ * bounded relative error, the memory does not depend on the number of values,
+ * and adding a value takes constant time.
+ *
+ * To let old values leave the window, the window is divided into
+ * {@code subWindows} sub-windows with a histogram each, and the histogram of
+ * the whole window is the sum of them. Whenever a sub-window expires, its
+ * counts are subtracted from the sum and it is reused. Thus, the window slides
+ * in steps of {@code windowSizeInSeconds / subWindows} seconds.
+ *
+ * Similarly to the other time windows, a value is only emittable after the
+ * first {@code windowSizeInSeconds} seconds, and the emission rate is limited
+ * by {@link #durationNoEmit}.
+ */
+public class SlidingTimeWindowPercentileAggregation extends AbstractTimeWindowAggregation {
+
+	public static final int DEFAULT_SUB_WINDOWS = 10;
+	public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+	public static final double DEFAULT_MIN_VALUE = 1e-6;
+	public static final double DEFAULT_MAX_VALUE = 1e6;
+
+	private final double windowSizeInSeconds;
+	private final double quantile;
+	private final double subWindowLength;
+
+	private final LogHistogram histogram;
+	private final int[][] subWindowCounts;
+	private final long[] subWindowTotals;
+	private final int[] windowCounts;
+	private long windowTotal;
+
+	/** The index of the sub-window that includes the latest time, or -1 initially. */
+	private long currentSubWindow = -1;
+
+	private double latestTime;
+
+	/**
+	 * Creates a percentile window with the default accuracy of 1% for values
+	 * between {@value #DEFAULT_MIN_VALUE} and {@value #DEFAULT_MAX_VALUE}.
+	 *
+	 * @param winSizeSeconds The size of the window in seconds.
+	 * @param noEmitDuration The minimal duration between two emissions.
+	 * @param quantile       The quantile in {@code [0, 1]}, e.g. 0.95 for the
+	 *                       95th percentile.
+	 */
+	public SlidingTimeWindowPercentileAggregation(final int winSizeSeconds, final double noEmitDuration,
+			final double quantile) {
+		this(winSizeSeconds, noEmitDuration, quantile, DEFAULT_SUB_WINDOWS, DEFAULT_RELATIVE_ACCURACY,
+				DEFAULT_MIN_VALUE, DEFAULT_MAX_VALUE);
+	}
+
+	/**
+	 * @param winSizeSeconds   The size of the window in seconds.
+	 * @param noEmitDuration   The minimal duration between two emissions.
+	 * @param quantile         The quantile in {@code [0, 1]}.
+	 * @param subWindows       The number of steps in which the window slides.
+	 * @param relativeAccuracy The relative accuracy of the percentile.
+	 * @param minValue         The smallest value that is distinguished.
+	 * @param maxValue         The largest value that is distinguished.
+	 */
+	public SlidingTimeWindowPercentileAggregation(final int winSizeSeconds, final double noEmitDuration,
+			final double quantile, final int subWindows, final double relativeAccuracy, final double minValue,
+			final double maxValue) {
+		super(winSizeSeconds, noEmitDuration);
+		if (quantile < 0 || quantile > 1) {
+			throw new IllegalArgumentException("The quantile must be in [0, 1], but was " + quantile);
+		}
+		if (winSizeSeconds <= 0 || subWindows <= 0) {
+			throw new IllegalArgumentException("The window size and the number of sub-windows must be positive");
+		}
+		this.windowSizeInSeconds = winSizeSeconds;
+		this.quantile = quantile;
+		this.subWindowLength = this.windowSizeInSeconds / subWindows;
+		this.histogram = new LogHistogram(relativeAccuracy, minValue, maxValue);
+		this.subWindowCounts = new int[subWindows][this.histogram.numberOfBuckets()];
+		this.subWindowTotals = new long[subWindows];
+		this.windowCounts = new int[this.histogram.numberOfBuckets()];
+	}
+
+	@Override
+	public double aggregate(final double time, final double newValue) {
+		this.slideTo((long) Math.floor(time / this.subWindowLength));
+
+		final int slot = (int) (this.currentSubWindow % this.subWindowCounts.length);
+		final int bucket = this.histogram.indexOf(newValue);
+		this.subWindowCounts[slot][bucket]++;
+		this.subWindowTotals[slot]++;
+		this.windowCounts[bucket]++;
+		this.windowTotal++;
+
+		this.latestTime = time;
+		return this.peekCurrentValue();
+	}
+
+	/**
+	 * Expires every sub-window that is not part of the window anymore, once the
+	 * given sub-window is reached.
+	 */
+	private void slideTo(final long subWindow) {
+		if (subWindow <= this.currentSubWindow) {
+			return;
+		}
+		final long firstToExpire = Math.max(this.currentSubWindow + 1, subWindow - this.subWindowCounts.length + 1);
+		for (long expired = firstToExpire; expired <= subWindow; expired++) {
+			this.clear((int) (expired % this.subWindowCounts.length));
+		}
+		this.currentSubWindow = subWindow;
+	}
+
+	private void clear(final int slot) {
+		if (this.subWindowTotals[slot] == 0) {
+			return;
+		}
+		final int[] counts = this.subWindowCounts[slot];
+		for (int bucket = 0; bucket < counts.length; bucket++) {
+			if (counts[bucket] != 0) {
+				this.windowCounts[bucket] -= counts[bucket];
+				counts[bucket] = 0;
+			}
+		}
+		this.windowTotal -= this.subWindowTotals[slot];
+		this.subWindowTotals[slot] = 0;
+	}
+
+	@Override
+	protected boolean hasValue() {
+		return this.windowTotal > 0;
+	}
+
+	@Override
+	protected double peekCurrentValue() {
+		if (this.windowTotal == 0) {
+			throw new IllegalStateException("The window is empty.");
+		}
+		return this.histogram.quantile(this.windowCounts, this.windowTotal, this.quantile);
+	}
+
+	/**
+	 * Writes the non-empty buckets of each sub-window, which are usually few
+	 * compared to the number of buckets. The counts of the window are their sum.
+	 */
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeInt(this.subWindowCounts.length);
+		for (int slot = 0; slot < this.subWindowCounts.length; slot++) {
+			final int[] counts = this.subWindowCounts[slot];
+			int nonEmpty = 0;
+			for (final int count : counts) {
+				if (count != 0) {
+					nonEmpty++;
+				}
+			}
+			out.writeInt(nonEmpty);
+			for (int bucket = 0; bucket < counts.length; bucket++) {
+				if (counts[bucket] != 0) {
+					out.writeInt(bucket);
+					out.writeInt(counts[bucket]);
+				}
+			}
+		}
+		out.writeLong(this.currentSubWindow);
+		out.writeDouble(this.getEmitTime());
+		out.writeDouble(this.latestTime);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		in.checkLength(this.subWindowCounts.length);
+		for (int slot = 0; slot < this.subWindowCounts.length; slot++) {
+			this.clear(slot);
+			final int nonEmpty = in.readInt();
+			for (int i = 0; i < nonEmpty; i++) {
+				final int bucket = in.readInt();
+				final int count = in.readInt();
+				this.subWindowCounts[slot][bucket] = count;
+				this.subWindowTotals[slot] += count;
+				this.windowCounts[bucket] += count;
+				this.windowTotal += count;
+			}
+		}
+		this.currentSubWindow = in.readLong();
+		this.setEmitTime(in.readDouble());
+		this.latestTime = in.readDouble();
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.latestTime;
+	}
+
+}
@@ -0,0 +1,149 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
+/**
+ * The trend of the values in a sliding time window, i.e. the slope of the
+ * least-squares regression line through the data points, in value units per
+ * second.
+ *
+ * The slope is computed from the running sums of {@code t}, {@code v},
+ * {@code t*v} and {@code t*t}, which are updated whenever a data point enters
+ * or leaves the window. Thus, adding a value takes amortized constant time,
+ * and so does computing the slope.
+ *
+ * To keep the sums numerically stable over long simulations, the times are
+ * taken relative to a reference time, which is moved to the start of the
+ * window from time to time. This recomputes the sums from the data points of
+ * the window.
+ *
+ * Similarly to the other time windows, a value is only emittable after the
+ * first {@code windowSizeInSeconds} seconds, and the emission rate is limited
+ * by {@link #durationNoEmit}. In addition, the window must contain at least two
+ * data points at different times.
+ */
+public class SlidingTimeWindowTrendAggregation extends AbstractTimeWindowAggregation {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** The reference time is moved once it is older than this many windows. */
+	private static final int REBASE_AFTER_WINDOWS = 16;
+
+	private final double windowSizeInSeconds;
+	private final DoubleRingBuffer window;
+
+	private double referenceTime = Double.NaN;
+	private double sumT;
+	private double sumV;
+	private double sumTV;
+	private double sumTT;
+
+	/**
+	 * @param winSizeSeconds The size of the window in seconds.
+	 * @param noEmitDuration The minimal duration between two emissions.
+	 */
+	public SlidingTimeWindowTrendAggregation(final int winSizeSeconds, final double noEmitDuration) {
+		super(winSizeSeconds, noEmitDuration);
+		if (winSizeSeconds <= 0) {
+			throw new IllegalArgumentException("The window size must be positive");
+		}
+		this.windowSizeInSeconds = winSizeSeconds;
+		this.window = new DoubleRingBuffer(INITIAL_CAPACITY);
+	}
+
+	@Override
+	public double aggregate(final double time, final double newValue) {
+		while (!this.window.isEmpty() && this.window.getFirstTime() <= time - this.windowSizeInSeconds) {
+			final double t = this.window.getFirstTime() - this.referenceTime;
+			final double v = this.window.removeFirst();
+			this.sumT -= t;
+			this.sumV -= v;
+			this.sumTV -= t * v;
+			this.sumTT -= t * t;
+		}
+
+		if (this.window.isEmpty() || time - this.referenceTime > REBASE_AFTER_WINDOWS * this.windowSizeInSeconds) {
+			this.rebase(this.window.isEmpty() ? time : this.window.getFirstTime());
+		}
+
+		this.window.addLast(time, newValue);
+		final double t = time - this.referenceTime;
+		this.sumT += t;
+		this.sumV += newValue;
+		this.sumTV += t * newValue;
+		this.sumTT += t * t;
+
+		return this.peekCurrentValue();
+	}
+
+	/**
+	 * Recomputes the sums relative to the new reference time.
+	 */
+	private void rebase(final double newReferenceTime) {
+		this.referenceTime = newReferenceTime;
+		this.sumT = 0.0;
+		this.sumV = 0.0;
+		this.sumTV = 0.0;
+		this.sumTT = 0.0;
+		for (int i = 0; i < this.window.size(); i++) {
+			final double t = this.window.getTime(i) - this.referenceTime;
+			final double v = this.window.getValue(i);
+			this.sumT += t;
+			this.sumV += v;
+			this.sumTV += t * v;
+			this.sumTT += t * t;
+		}
+	}
+
+	private double denominator() {
+		return this.window.size() * this.sumTT - this.sumT * this.sumT;
+	}
+
+	@Override
+	protected boolean hasValue() {
+		return this.window.size() >= 2 && this.window.getLastTime() > this.window.getFirstTime();
+	}
+
+	/**
+	 * Returns the slope, or 0 if it is not defined yet.
+	 */
+	@Override
+	protected double peekCurrentValue() {
+		final double denominator = this.denominator();
+		if (this.window.size() < 2 || denominator <= 0) {
+			return 0.0;
+		}
+		return (this.window.size() * this.sumTV - this.sumT * this.sumV) / denominator;
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		this.window.writeState(out);
+		out.writeDouble(this.referenceTime);
+		out.writeDouble(this.sumT);
+		out.writeDouble(this.sumV);
+		out.writeDouble(this.sumTV);
+		out.writeDouble(this.sumTT);
+		out.writeDouble(this.getEmitTime());
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.window.readState(in);
+		this.referenceTime = in.readDouble();
+		this.sumT = in.readDouble();
+		this.sumV = in.readDouble();
+		this.sumTV = in.readDouble();
+		this.sumTT = in.readDouble();
+		this.setEmitTime(in.readDouble());
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.window.isEmpty() ? 0.0 : this.window.getLastTime();
+	}
+
+}
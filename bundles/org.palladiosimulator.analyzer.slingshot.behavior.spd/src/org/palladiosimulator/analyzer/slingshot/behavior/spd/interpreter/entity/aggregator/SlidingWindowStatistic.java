@@ -0,0 +1,39 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+
+/**
+ * A statistic over a sliding window that is maintained incrementally, i.e.
+ * without visiting the whole window whenever a value is added or evicted.
+ *
+ * Each value is added with a key, and the keys must be added in non-decreasing
+ * order, e.g. sequence numbers for count-based windows or timestamps for
+ * time-based windows. The window slides by evicting every value up to a
+ * certain key.
+ *
+ * The state of a statistic is restored into an empty statistic.
+ *
+ * @see FixedLengthWindowIncrementalAggregation
+ * @see SlidingTimeWindowIncrementalAggregation
+ */
+interface SlidingWindowStatistic extends Checkpointable {
+
+	/**
+	 * Adds a new value to the window.
+	 */
+	void add(double key, double value);
+
+	/**
+	 * Removes every value whose key is less than or equal to the given key.
+	 */
+	void evictUpTo(double key);
+
+	/**
+	 * Returns the statistic of the values currently in the window.
+	 *
+	 * @throws IllegalStateException if the window is empty.
+	 */
+	double get();
+
+	boolean isEmpty();
+}
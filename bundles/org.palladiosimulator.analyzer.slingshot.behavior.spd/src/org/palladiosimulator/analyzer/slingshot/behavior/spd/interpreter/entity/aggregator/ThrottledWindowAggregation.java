@@ -0,0 +1,119 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
+/**
+ * Decorates any window aggregation with an {@link EmissionThrottle}, so that
+ * the filters after a trigger run at a controlled rate, independently of the
+ * measurement rate and of the rate limit of the window itself. For example,
+ * a {@link FixedLengthWindowSimpleAggregation} is emittable on every sample
+ * once it is full; throttled, it emits e.g. only every 10 seconds.
+ *
+ * A value is emittable if the decorated aggregation is emittable and the
+ * throttle permits it. Samples that are aggregated through this decorator are
+ * counted automatically. Samples that are aggregated into the decorated
+ * aggregation directly, e.g. through
+ * {@link SharedWindowAggregation#aggregate(Object, Object, double, double)},
+ * must be counted with {@link #countSample()}.
+ */
+public final class ThrottledWindowAggregation extends AbstractWindowAggregation {
+
+	private final AbstractWindowAggregation delegate;
+	private final EmissionThrottle throttle;
+
+	private double emitTime;
+	private long samplesSinceEmission;
+	private double lastEmittedValue;
+	private boolean emitted;
+
+	/**
+	 * @param delegate The decorated aggregation.
+	 * @param throttle The conditions for emitting a value.
+	 */
+	public ThrottledWindowAggregation(final AbstractWindowAggregation delegate, final EmissionThrottle throttle) {
+		this.delegate = delegate;
+		this.throttle = throttle;
+		this.emitTime = 0.0;
+	}
+
+	@Override
+	public double aggregate(final double time, final double newValue) {
+		this.samplesSinceEmission++;
+		return this.delegate.aggregate(time, newValue);
+	}
+
+	@Override
+	public double aggregateFrom(final Object element, final double time, final double newValue) {
+		this.samplesSinceEmission++;
+		return this.delegate.aggregateFrom(element, time, newValue);
+	}
+
+	/**
+	 * Counts a sample that was aggregated into the decorated aggregation
+	 * directly.
+	 */
+	public void countSample() {
+		this.samplesSinceEmission++;
+	}
+
+	@Override
+	public boolean isEmittable() {
+		return this.delegate.isEmittable() && this.isPermittedSince(this.emitTime);
+	}
+
+	@Override
+	protected boolean isEmittableSince(final double lastEmitTime) {
+		return this.delegate.isEmittableSince(lastEmitTime) && this.isPermittedSince(lastEmitTime);
+	}
+
+	private boolean isPermittedSince(final double lastEmitTime) {
+		final double change = this.emitted
+				? Math.abs(this.delegate.peekCurrentValue() - this.lastEmittedValue)
+				: Double.POSITIVE_INFINITY;
+		return this.throttle.permits(this.delegate.getLatestTime() - lastEmitTime, this.samplesSinceEmission, change);
+	}
+
+	@Override
+	protected double getCurrentVal() {
+		final double value = this.delegate.getCurrentValue();
+		this.emitTime = this.delegate.getLatestTime();
+		this.samplesSinceEmission = 0;
+		this.lastEmittedValue = value;
+		this.emitted = true;
+		return value;
+	}
+
+	@Override
+	protected double peekCurrentValue() {
+		return this.delegate.peekCurrentValue();
+	}
+
+	/**
+	 * Writes the state of the throttle. The state of the decorated aggregation
+	 * is written by its owner.
+	 */
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeDouble(this.emitTime);
+		out.writeLong(this.samplesSinceEmission);
+		out.writeDouble(this.lastEmittedValue);
+		out.writeBoolean(this.emitted);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.emitTime = in.readDouble();
+		this.samplesSinceEmission = in.readLong();
+		this.lastEmittedValue = in.readDouble();
+		this.emitted = in.readBoolean();
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.delegate.getLatestTime();
+	}
+
+}
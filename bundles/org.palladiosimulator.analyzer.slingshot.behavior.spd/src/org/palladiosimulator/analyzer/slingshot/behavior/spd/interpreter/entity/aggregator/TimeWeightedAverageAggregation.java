@@ -0,0 +1,121 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import java.io.IOException;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
+/**
+ * The exact time-weighted average of a step function over a sliding time
+ * window. Each value holds from its point in time until the next value is
+ * aggregated. This is how the state of a resource behaves in Slingshot: it is
+ * only measured when jobs arrive or leave, and it does not change in between.
+ * Thus, unlike {@link SlidingTimeWindowAggregationBasedOnEMA}, no correction
+ * for sparse updates is needed.
+ *
+ * The average is the integral of the step function over the window, divided
+ * by the length of the window. The integral is maintained as a running sum:
+ * adding a value adds the area of the previous step, and a step that leaves
+ * the window subtracts its area. Only the steps inside the window are kept, so
+ * both take amortized constant time. The value is computed in constant time
+ * at the point in time of the latest value.
+ *
+ * Similarly to the other time windows, a value is only emittable after the
+ * first {@code windowSizeInSeconds} seconds, and the emission rate is limited
+ * by {@link #durationNoEmit}. Before that, the average is taken over the time
+ * since the first value.
+ */
+public class TimeWeightedAverageAggregation extends AbstractTimeWindowAggregation {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final double windowSizeInSeconds;
+
+	/** The steps that overlap the window, by their start time. */
+	private final DoubleRingBuffer steps;
+
+	/** The integral from the start of the first step to the start of the last step. */
+	private double integral;
+
+	private double latestTime;
+
+	/**
+	 * @param winSizeSeconds The size of the window in seconds.
+	 * @param noEmitDuration The minimal duration between two emissions.
+	 */
+	public TimeWeightedAverageAggregation(final int winSizeSeconds, final double noEmitDuration) {
+		super(winSizeSeconds, noEmitDuration);
+		if (winSizeSeconds <= 0) {
+			throw new IllegalArgumentException("The window size must be positive");
+		}
+		this.windowSizeInSeconds = winSizeSeconds;
+		this.steps = new DoubleRingBuffer(INITIAL_CAPACITY);
+	}
+
+	@Override
+	public double aggregate(final double time, final double newValue) {
+		if (this.steps.isEmpty()) {
+			this.steps.addLast(time, newValue);
+		} else {
+			final double start = Math.max(time, this.steps.getLastTime());
+			this.integral += this.steps.getLastValue() * (start - this.steps.getLastTime());
+			this.steps.addLast(start, newValue);
+		}
+		this.latestTime = this.steps.getLastTime();
+
+		/* Drop the steps that ended before the window starts. */
+		final double windowStart = this.latestTime - this.windowSizeInSeconds;
+		while (this.steps.size() > 1 && this.steps.getTime(1) <= windowStart) {
+			this.integral -= this.steps.getFirstValue() * (this.steps.getTime(1) - this.steps.getFirstTime());
+			this.steps.removeFirst();
+		}
+		if (this.steps.size() == 1) {
+			this.integral = 0.0;
+		}
+
+		return this.peekCurrentValue();
+	}
+
+	@Override
+	protected boolean hasValue() {
+		return !this.steps.isEmpty();
+	}
+
+	@Override
+	protected double peekCurrentValue() {
+		if (this.steps.isEmpty()) {
+			throw new IllegalStateException("The window is empty.");
+		}
+		final double firstStart = this.steps.getFirstTime();
+		final double windowStart = Math.max(this.latestTime - this.windowSizeInSeconds, firstStart);
+		final double length = this.latestTime - windowStart;
+		if (length <= 0) {
+			return this.steps.getLastValue();
+		}
+		/* The first step may have started before the window. */
+		final double cutOff = this.steps.getFirstValue() * (windowStart - firstStart);
+		return (this.integral - cutOff) / length;
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		this.steps.writeState(out);
+		out.writeDouble(this.integral);
+		out.writeDouble(this.getEmitTime());
+		out.writeDouble(this.latestTime);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.steps.readState(in);
+		this.integral = in.readDouble();
+		this.setEmitTime(in.readDouble());
+		this.latestTime = in.readDouble();
+	}
+
+	@Override
+	protected double getLatestTime() {
+		return this.latestTime;
+	}
+
+}
@@ -19,6 +19,9 @@ import org.palladiosimulator.spd.triggers.stimuli.ManagedElementsStateStimulus;
  * WindowAggregator a new value which can be sourced from one of the elements.
  * When that value is passed to the WindowAggregation, then the policy looses
  * track of the individual identity of the measurement (or its source identity).
+ * Implementations that need the source identity, such as
+ * {@link PerElementAggregation}, receive it through
+ * {@link AbstractWindowAggregation#aggregateFrom(Object, double, double)}.
  * 
  * The {@link #isEmittable()} allows for the client (i.e., a TriggerChecker) to
  * check whether it is worth emitting an aggregate value for analysis. An
@@ -44,6 +47,15 @@ public sealed interface WindowAggregation permits AbstractWindowAggregation {
 	 */
 	public double getCurrentValue() throws AssertionError;
 
+	/**
+	 * Consumes the emission like {@link #getCurrentValue()}, but without
+	 * returning the value. By default, the value is computed anyway;
+	 * implementations may avoid that.
+	 */
+	public default void skipCurrentValue() {
+		this.getCurrentValue();
+	}
+
 	/**
 	 * Returns whether the window is full or whether some measurements are still
 	 * missing.
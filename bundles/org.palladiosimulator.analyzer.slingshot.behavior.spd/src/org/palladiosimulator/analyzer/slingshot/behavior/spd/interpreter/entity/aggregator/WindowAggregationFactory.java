@@ -0,0 +1,26 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Creates the aggregations of a kind of window. {@link WindowSpecification}
+ * covers the windows of this bundle; other bundles implement this interface to
+ * plug in their own {@link AbstractWindowAggregation}s.
+ *
+ * Factories are used as keys of the {@link AggregatorRegistry}: trigger
+ * checkers whose factories are equal share one aggregation. Thus,
+ * implementations must implement {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} according to the parameters of the window, which
+ * records do out of the box.
+ */
+public interface WindowAggregationFactory {
+
+	/**
+	 * Creates a new, empty aggregation.
+	 *
+	 * @param aggregationMethod The aggregation method, or {@code null} if the
+	 *                          window does not depend on one.
+	 * @return A new aggregation.
+	 */
+	AbstractWindowAggregation createAggregation(AGGREGATIONMETHOD aggregationMethod);
+}
@@ -0,0 +1,131 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+/**
+ * Describes the kind and the parameters of a window, independently of the
+ * aggregation method. Two triggers with equal specifications, the same
+ * aggregation method, metric and target group can share their aggregation
+ * (see {@link AggregatorRegistry}).
+ *
+ * @param type            The kind of window.
+ * @param windowSize      The number of values for
+ *                        {@link Type#FIXED_LENGTH}, the size in seconds for
+ *                        time-based windows, or the timeout of elements in
+ *                        seconds for {@link Type#PER_ELEMENT}.
+ * @param noEmitDuration  The minimal duration between two emissions for
+ *                        time-based windows.
+ * @param smoothingFactor The smoothing factor for
+ *                        {@link Type#EXPONENTIAL_MOVING_AVERAGE}, or the time
+ *                        constant of the average per element in seconds for
+ *                        {@link Type#PER_ELEMENT}.
+ * @param quantile        The quantile in {@code [0, 1]} for
+ *                        {@link Type#PERCENTILE}.
+ * @param buckets         The number of buckets in which
+ *                        {@link Type#BUCKETED_TIME} and {@link Type#PERCENTILE}
+ *                        windows slide.
+ */
+public record WindowSpecification(Type type, int windowSize, double noEmitDuration, double smoothingFactor,
+		double quantile, int buckets) implements WindowAggregationFactory {
+
+	public enum Type {
+		/** See {@link FixedLengthWindowSimpleAggregation}. */
+		FIXED_LENGTH,
+		/** See {@link SlidingTimeWindowAggregation}. */
+		SLIDING_TIME,
+		/** See {@link SlidingTimeWindowAggregationBasedOnEMA}. */
+		EXPONENTIAL_MOVING_AVERAGE,
+		/** See {@link SlidingTimeWindowPercentileAggregation}. */
+		PERCENTILE,
+		/** See {@link BucketedTimeWindowAggregation}. */
+		BUCKETED_TIME,
+		/** See {@link TimeWeightedAverageAggregation}. */
+		TIME_WEIGHTED_AVERAGE,
+		/** See {@link SlidingTimeWindowTrendAggregation}. */
+		LINEAR_TREND,
+		/** See {@link PerElementAggregation}. */
+		PER_ELEMENT
+	}
+
+	public static WindowSpecification fixedLength(final int windowSize) {
+		return new WindowSpecification(Type.FIXED_LENGTH, windowSize, 0.0, 0.0, 0.0, 0);
+	}
+
+	public static WindowSpecification slidingTime(final int windowSizeInSeconds, final double noEmitDuration) {
+		return new WindowSpecification(Type.SLIDING_TIME, windowSizeInSeconds, noEmitDuration, 0.0, 0.0, 0);
+	}
+
+	public static WindowSpecification exponentialMovingAverage(final int windowSizeInSeconds,
+			final double noEmitDuration, final double smoothingFactor) {
+		return new WindowSpecification(Type.EXPONENTIAL_MOVING_AVERAGE, windowSizeInSeconds, noEmitDuration,
+				smoothingFactor, 0.0, 0);
+	}
+
+	/**
+	 * @param windowSizeInSeconds The size of the sliding window in seconds.
+	 * @param noEmitDuration      The minimal duration between two emissions.
+	 * @param quantile            The quantile in {@code [0, 1]}, e.g. 0.95 for
+	 *                            the 95th percentile.
+	 */
+	public static WindowSpecification percentile(final int windowSizeInSeconds, final double noEmitDuration,
+			final double quantile) {
+		return new WindowSpecification(Type.PERCENTILE, windowSizeInSeconds, noEmitDuration, 0.0, quantile,
+				SlidingTimeWindowPercentileAggregation.DEFAULT_SUB_WINDOWS);
+	}
+
+	public static WindowSpecification timeWeightedAverage(final int windowSizeInSeconds, final double noEmitDuration) {
+		return new WindowSpecification(Type.TIME_WEIGHTED_AVERAGE, windowSizeInSeconds, noEmitDuration, 0.0, 0.0, 0);
+	}
+
+	public static WindowSpecification linearTrend(final int windowSizeInSeconds, final double noEmitDuration) {
+		return new WindowSpecification(Type.LINEAR_TREND, windowSizeInSeconds, noEmitDuration, 0.0, 0.0, 0);
+	}
+
+	/**
+	 * @param elementTimeout The duration in seconds after which an element
+	 *                       without values is dropped.
+	 * @param timeConstant   The time constant of the average per element, or 0
+	 *                       to use the latest value of each element.
+	 * @param noEmitDuration The minimal duration between two emissions.
+	 */
+	public static WindowSpecification perElement(final int elementTimeout, final double timeConstant,
+			final double noEmitDuration) {
+		return new WindowSpecification(Type.PER_ELEMENT, elementTimeout, noEmitDuration, timeConstant, 0.0, 0);
+	}
+
+	/**
+	 * @param windowSizeInSeconds The size of the window in seconds.
+	 * @param noEmitDuration      The minimal duration between two emissions.
+	 * @param buckets             The number of buckets of the window.
+	 */
+	public static WindowSpecification bucketedTime(final int windowSizeInSeconds, final double noEmitDuration,
+			final int buckets) {
+		return new WindowSpecification(Type.BUCKETED_TIME, windowSizeInSeconds, noEmitDuration, 0.0, 0.0, buckets);
+	}
+
+	/**
+	 * Creates a new aggregation according to this specification.
+	 *
+	 * @param aggregationMethod The aggregation method. It is ignored for
+	 *                          {@link Type#EXPONENTIAL_MOVING_AVERAGE}, which
+	 *                          always averages, and for {@link Type#PERCENTILE},
+	 *                          {@link Type#TIME_WEIGHTED_AVERAGE} and
+	 *                          {@link Type#LINEAR_TREND}.
+	 * @return A new, empty aggregation.
+	 */
+	@Override
+	public AbstractWindowAggregation createAggregation(final AGGREGATIONMETHOD aggregationMethod) {
+		return switch (this.type) {
+		case FIXED_LENGTH -> FixedLengthWindowSimpleAggregation.getFromAggregationMethod(aggregationMethod, this.windowSize);
+		case SLIDING_TIME -> SlidingTimeWindowAggregation.getFromAggregationMethod(aggregationMethod, this.windowSize, this.noEmitDuration);
+		case EXPONENTIAL_MOVING_AVERAGE -> new SlidingTimeWindowAggregationBasedOnEMA(this.windowSize, this.noEmitDuration, this.smoothingFactor);
+		case PERCENTILE -> new SlidingTimeWindowPercentileAggregation(this.windowSize, this.noEmitDuration, this.quantile,
+				this.buckets, SlidingTimeWindowPercentileAggregation.DEFAULT_RELATIVE_ACCURACY,
+				SlidingTimeWindowPercentileAggregation.DEFAULT_MIN_VALUE, SlidingTimeWindowPercentileAggregation.DEFAULT_MAX_VALUE);
+		case BUCKETED_TIME -> BucketedTimeWindowAggregation.getFromAggregationMethod(aggregationMethod, this.windowSize, this.noEmitDuration, this.buckets);
+		case TIME_WEIGHTED_AVERAGE -> new TimeWeightedAverageAggregation(this.windowSize, this.noEmitDuration);
+		case LINEAR_TREND -> new SlidingTimeWindowTrendAggregation(this.windowSize, this.noEmitDuration);
+		case PER_ELEMENT -> new PerElementAggregation(aggregationMethod, this.windowSize, this.smoothingFactor, this.noEmitDuration);
+		};
+	}
+}
@@ -0,0 +1,20 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DoubleRingBuffer;
+
+/**
+ * An aggregation function that works directly on the primitive values of a
+ * window, without boxing them into a collection.
+ */
+@FunctionalInterface
+public interface DoubleAggregationFunction {
+
+	/**
+	 * Aggregates the values of the buffer.
+	 *
+	 * @param values The values to aggregate. The buffer must not be modified.
+	 * @return The aggregated value.
+	 */
+	public double apply(final DoubleRingBuffer values);
+
+}
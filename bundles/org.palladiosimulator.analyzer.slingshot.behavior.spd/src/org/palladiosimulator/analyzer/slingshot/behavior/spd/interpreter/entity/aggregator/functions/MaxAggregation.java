@@ -4,7 +4,9 @@ import java.util.Collection;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
 
-public class MaxAggregation  implements Function<Collection<Double>, Double> {
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DoubleRingBuffer;
+
+public class MaxAggregation  implements Function<Collection<Double>, Double>, DoubleAggregationFunction {
 	
 	public MaxAggregation() {
 		super();
@@ -18,4 +20,16 @@ public class MaxAggregation  implements Function<Collection<Double>, Double> {
 				.orElseThrow(() -> new NoSuchElementException("There are no values to aggregate yet."));
 	}
 
+	@Override
+	public double apply(final DoubleRingBuffer values) {
+		if (values.isEmpty()) {
+			throw new NoSuchElementException("There are no values to aggregate yet.");
+		}
+		double max = values.getValue(0);
+		for (int i = 1; i < values.size(); i++) {
+			max = Math.max(max, values.getValue(i));
+		}
+		return max;
+	}
+
 }
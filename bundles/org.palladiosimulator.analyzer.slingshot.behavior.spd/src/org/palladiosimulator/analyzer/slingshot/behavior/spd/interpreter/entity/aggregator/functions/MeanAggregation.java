@@ -1,9 +1,12 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.functions;
 
 import java.util.Collection;
+import java.util.NoSuchElementException;
 import java.util.function.Function;
 
-public class MeanAggregation  implements Function<Collection<Double>, Double> {
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DoubleRingBuffer;
+
+public class MeanAggregation  implements Function<Collection<Double>, Double>, DoubleAggregationFunction {
 	
 	public MeanAggregation() {
 		super();
@@ -18,4 +21,16 @@ public class MeanAggregation  implements Function<Collection<Double>, Double> {
 				 .orElseThrow();
 	}
 
+	@Override
+	public double apply(final DoubleRingBuffer values) {
+		if (values.isEmpty()) {
+			throw new NoSuchElementException("There are no values to aggregate yet.");
+		}
+		double sum = 0.0d;
+		for (int i = 0; i < values.size(); i++) {
+			sum += values.getValue(i);
+		}
+		return sum / values.size();
+	}
+
 }
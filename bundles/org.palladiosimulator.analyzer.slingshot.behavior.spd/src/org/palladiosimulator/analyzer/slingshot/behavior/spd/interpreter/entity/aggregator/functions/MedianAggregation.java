@@ -4,8 +4,13 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.function.Function;
 
-public class MedianAggregation  implements Function<Collection<Double>, Double> {
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DoubleRingBuffer;
+
+public class MedianAggregation  implements Function<Collection<Double>, Double>, DoubleAggregationFunction {
 	
+	/** Reused for sorting the values of a {@link DoubleRingBuffer}. */
+	private double[] sortBuffer = new double[0];
+
 	public MedianAggregation() {
 		super();
 	}
@@ -28,4 +33,23 @@ public class MedianAggregation  implements Function<Collection<Double>, Double>
 		}
 	}
 
+	@Override
+	public double apply(final DoubleRingBuffer values) {
+		final int i = values.size();
+		if (i == 0) {
+			return 0.0;
+		}
+		if (this.sortBuffer.length < i) {
+			this.sortBuffer = new double[Math.max(i, 2 * this.sortBuffer.length)];
+		}
+		values.copyValuesTo(this.sortBuffer);
+		Arrays.sort(this.sortBuffer, 0, i);
+
+		if (i % 2 == 0) {
+			return (this.sortBuffer[i / 2] + this.sortBuffer[i / 2 - 1]) / 2;
+		} else {
+			return this.sortBuffer[(i - 1) / 2];
+		}
+	}
+
 }
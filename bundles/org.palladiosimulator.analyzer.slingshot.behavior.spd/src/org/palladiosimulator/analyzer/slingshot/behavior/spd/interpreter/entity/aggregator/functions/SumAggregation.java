@@ -3,7 +3,9 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 import java.util.Collection;
 import java.util.function.Function;
 
-public class SumAggregation  implements Function<Collection<Double>, Double> {
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.DoubleRingBuffer;
+
+public class SumAggregation  implements Function<Collection<Double>, Double>, DoubleAggregationFunction {
 	
 	public SumAggregation() {
 		super();
@@ -15,4 +17,13 @@ public class SumAggregation  implements Function<Collection<Double>, Double> {
 		return t.stream().reduce(0.0d, Double::sum);
 	}
 
+	@Override
+	public double apply(final DoubleRingBuffer values) {
+		double sum = 0.0d;
+		for (int i = 0; i < values.size(); i++) {
+			sum += values.getValue(i);
+		}
+		return sum;
+	}
+
 }
@@ -1,7 +1,10 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.constraint;
 
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DisregardReason;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.StateOnlyFilter;
 import org.palladiosimulator.spd.constraints.policy.CooldownConstraint;
 
 
@@ -18,10 +21,15 @@ import org.palladiosimulator.spd.constraints.policy.CooldownConstraint;
  * @author Julijan Katic, Floriment Klinaku
  *
  */
-public class CooldownConstraintFilter extends AbstractConstraintFilter<CooldownConstraint> {
+public class CooldownConstraintFilter extends AbstractConstraintFilter<CooldownConstraint> implements StateOnlyFilter {
+
+	private static final Logger LOGGER = Logger.getLogger(CooldownConstraintFilter.class);
+
+	private final int maxScalingOperations;
 
 	public CooldownConstraintFilter(final CooldownConstraint constraint) {
 		super(constraint);
+		this.maxScalingOperations = constraint.getMaxScalingOperations();
 	}
 
 	@Override
@@ -30,12 +38,15 @@ public class CooldownConstraintFilter extends AbstractConstraintFilter<CooldownC
 		final double cooldownEnd = event.getState().getCoolDownEnd();
 		
 		if(event.getEventToFilter().time()>=cooldownEnd) {
-			return FilterResult.success(event.getEventToFilter());
+			return FilterResult.proceed();
 		} else {
-			if (numberScalesInCooldown < constraint.getMaxScalingOperations()) {
-				return FilterResult.success(event.getEventToFilter());
+			if (numberScalesInCooldown < maxScalingOperations) {
+				return FilterResult.proceed();
 			} else {
-				return FilterResult.disregard(String.format("Max number scales reached: %d >= %d", numberScalesInCooldown, constraint.getMaxScalingOperations()));
+				if (LOGGER.isDebugEnabled()) {
+					LOGGER.debug(String.format("Max number scales reached: %d >= %d", numberScalesInCooldown, maxScalingOperations));
+				}
+				return FilterResult.disregard(DisregardReason.COOLDOWN);
 			}
 		}
 	}
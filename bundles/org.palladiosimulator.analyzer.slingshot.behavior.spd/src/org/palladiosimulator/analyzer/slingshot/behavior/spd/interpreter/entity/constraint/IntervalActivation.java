@@ -0,0 +1,135 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.constraint;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+import org.palladiosimulator.spd.constraints.policy.IntervalConstraint;
+
+/**
+ * Tracks whether a scaling policy is active with respect to its
+ * {@link IntervalConstraint}s. The policy is inactive while the simulation time
+ * is inside the interval of any of its constraints.
+ *
+ * Instead of checking the constraints for each event, the activation only
+ * changes at the boundaries of the intervals, which are known in advance. The
+ * owner schedules an event at {@link #getNextChange()} and calls
+ * {@link #advanceTo(double)} when it is handled. In between, the activation is
+ * constant, so the policy can be detached from the events while it is
+ * inactive.
+ *
+ * Other events at the time of a boundary may be handled before the event of
+ * the boundary. Hence, they must use {@link #isActiveAt(double)}, which passes
+ * the boundaries up to their time first. This way, the activation is the same
+ * as with {@link IntervalConstraintFilter#isWithinInterval(double)}, e.g. an
+ * event at the start of an interval is always inside of it.
+ */
+public final class IntervalActivation implements Checkpointable {
+
+	private final IntervalConstraintFilter[] intervals;
+	private final boolean[] inside;
+	private final double[] nextChanges;
+	private int numberOfIntervalsInside;
+	private double nextChange;
+
+	/**
+	 * Creates the activation at simulation time 0.
+	 *
+	 * @param constraints The interval constraints of the policy.
+	 */
+	public IntervalActivation(final List<IntervalConstraint> constraints) {
+		this.intervals = constraints.stream().map(IntervalConstraintFilter::new).toArray(IntervalConstraintFilter[]::new);
+		this.inside = new boolean[this.intervals.length];
+		this.nextChanges = new double[this.intervals.length];
+		for (int i = 0; i < this.intervals.length; i++) {
+			this.inside[i] = this.intervals[i].isWithinInterval(0);
+			this.nextChanges[i] = this.intervals[i].nextChangeAfter(0);
+			if (this.inside[i]) {
+				this.numberOfIntervalsInside++;
+			}
+		}
+		this.nextChange = this.computeNextChange();
+	}
+
+	/**
+	 * Returns whether the policy is currently outside of all intervals.
+	 */
+	public boolean isActive() {
+		return this.numberOfIntervalsInside == 0;
+	}
+
+	/**
+	 * Returns the simulation time at which the next interval starts or ends, or
+	 * positive infinity if no interval changes anymore.
+	 */
+	public double getNextChange() {
+		return this.nextChange;
+	}
+
+	private double computeNextChange() {
+		double earliest = Double.POSITIVE_INFINITY;
+		for (final double change : this.nextChanges) {
+			earliest = Math.min(earliest, change);
+		}
+		return earliest;
+	}
+
+	/**
+	 * Returns whether the policy is active at the given simulation time, after
+	 * passing the boundaries up to that time, if there are any.
+	 *
+	 * @param simulationTime The current simulation time.
+	 * @return true iff the policy is active.
+	 */
+	public boolean isActiveAt(final double simulationTime) {
+		if (simulationTime >= this.nextChange) {
+			return this.advanceTo(simulationTime);
+		}
+		return this.isActive();
+	}
+
+	/**
+	 * Passes all interval boundaries up to the given simulation time.
+	 *
+	 * Each boundary toggles whether the simulation time is inside of its
+	 * interval, instead of checking the interval anew. This way, the activation
+	 * exactly follows the scheduled boundaries, regardless of rounding.
+	 *
+	 * @param simulationTime The current simulation time.
+	 * @return true iff the policy is active afterwards.
+	 */
+	public boolean advanceTo(final double simulationTime) {
+		for (int i = 0; i < this.intervals.length; i++) {
+			while (this.nextChanges[i] <= simulationTime) {
+				this.inside[i] = !this.inside[i];
+				this.numberOfIntervalsInside += this.inside[i] ? 1 : -1;
+				this.nextChanges[i] = this.intervals[i].nextChangeAfter(this.nextChanges[i]);
+			}
+		}
+		this.nextChange = this.computeNextChange();
+		return this.isActive();
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		out.writeDoubles(this.nextChanges);
+		for (final boolean insideInterval : this.inside) {
+			out.writeBoolean(insideInterval);
+		}
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		in.readDoubles(this.nextChanges);
+		this.numberOfIntervalsInside = 0;
+		for (int i = 0; i < this.inside.length; i++) {
+			this.inside[i] = in.readBoolean();
+			if (this.inside[i]) {
+				this.numberOfIntervalsInside++;
+			}
+		}
+		this.nextChange = this.computeNextChange();
+	}
+}
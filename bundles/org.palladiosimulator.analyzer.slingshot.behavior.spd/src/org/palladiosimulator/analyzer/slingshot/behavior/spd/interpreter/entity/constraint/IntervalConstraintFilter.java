@@ -1,10 +1,23 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.constraint;
 
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DisregardReason;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.StateOnlyFilter;
 import org.palladiosimulator.spd.constraints.policy.IntervalConstraint;
 
-public class IntervalConstraintFilter extends AbstractConstraintFilter<IntervalConstraint> {
+/**
+ * Disregards events inside of the interval of the constraint.
+ *
+ * Within an {@code SPDAdjustorContext}, the constraint is not checked per
+ * event. Instead, the policy is deactivated for the intervals, see
+ * {@link IntervalActivation}, which uses {@link #nextChangeAfter(double)} to
+ * schedule the boundaries of the intervals.
+ */
+public class IntervalConstraintFilter extends AbstractConstraintFilter<IntervalConstraint> implements StateOnlyFilter {
+
+	private static final Logger LOGGER = Logger.getLogger(IntervalConstraintFilter.class);
 
 	/** The sum of the offset and the interval size. */
 	private final double delta;
@@ -20,9 +33,12 @@ public class IntervalConstraintFilter extends AbstractConstraintFilter<IntervalC
 	public FilterResult doProcess(final FilterObjectWrapper event) {
 		final double currentSimulationTime = event.getEventToFilter().time();
 		if (!this.isWithinInterval(currentSimulationTime)) {
-			return FilterResult.success(event.getEventToFilter());
+			return FilterResult.proceed();
 		} else {
-			return FilterResult.disregard(this.getErrorMessage(currentSimulationTime));
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(this.getErrorMessage(currentSimulationTime));
+			}
+			return FilterResult.disregard(DisregardReason.INTERVAL);
 		}
 
 	}
@@ -42,7 +58,7 @@ public class IntervalConstraintFilter extends AbstractConstraintFilter<IntervalC
 	 *   first interval, i.e. if the simulationTime is equals or greater than the offset AND 
 	 *   equals or smaller than (offset + interval). 
 	 */
-	private boolean isWithinInterval(final double simulationTime) {
+	boolean isWithinInterval(final double simulationTime) {
 		return (this.repeat && 
 					simulationTime != 0 && /* Don't allow the first zero */
 					(simulationTime % delta == 0 || /* However, allow any subsequent 0s */
@@ -50,6 +66,42 @@ public class IntervalConstraintFilter extends AbstractConstraintFilter<IntervalC
 			   (!this.repeat && simulationTime >= constraint.getOffset() && simulationTime <= delta);
 	}
 	
+	/**
+	 * Returns the earliest simulation time after {@code simulationTime} at which
+	 * {@link #isWithinInterval(double)} changes, or positive infinity if it
+	 * never changes anymore.
+	 *
+	 * Since both bounds of an interval are inclusive, an interval ends right
+	 * after its upper bound, i.e. at {@code Math.nextUp(upperBound)}.
+	 */
+	double nextChangeAfter(final double simulationTime) {
+		final double offset = constraint.getOffset();
+		if (!this.repeat) {
+			if (simulationTime < offset) {
+				return offset;
+			}
+			if (simulationTime < Math.nextUp(this.delta)) {
+				return Math.nextUp(this.delta);
+			}
+			return Double.POSITIVE_INFINITY;
+		}
+		if (offset == 0) {
+			/* Only the first zero is outside of the interval. */
+			return simulationTime < Double.MIN_VALUE ? Double.MIN_VALUE : Double.POSITIVE_INFINITY;
+		}
+		final long period = (long) Math.floor(simulationTime / this.delta);
+		for (long k = Math.max(0, period - 1); ; k++) {
+			final double start = k * this.delta + offset;
+			if (start > simulationTime) {
+				return start;
+			}
+			final double end = Math.nextUp((k + 1) * this.delta);
+			if (end > simulationTime) {
+				return end;
+			}
+		}
+	}
+
 	private String getErrorMessage(final double simulationTime) {
 		if (this.repeat) {
 			return String.format("The simulation time is inside of the interval or zero: %f in [%f, %f]",
@@ -3,35 +3,31 @@
  */
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.constraint;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DisregardReason;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.PolicyPlan;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.PolicyPlan.AdjustmentSign;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.StateOnlyFilter;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.TargetGroupState;
-import org.palladiosimulator.spd.ScalingPolicy;
-import org.palladiosimulator.spd.adjustments.AbsoluteAdjustment;
-import org.palladiosimulator.spd.adjustments.AdjustmentType;
-import org.palladiosimulator.spd.adjustments.RelativeAdjustment;
-import org.palladiosimulator.spd.adjustments.StepAdjustment;
 import org.palladiosimulator.spd.constraints.target.ThrashingConstraint;
 
 /**
  * The thrashing constraint filter makes sure that there is a certain amount of
  * time passed since the last enacted policy that adjusted the amount of
  * resources in the opposite direction in comparison to the one being enacted.
+ * The directions are resolved by the {@link PolicyPlan}s of the policies.
  *
  * @author Floriment Klinaku
  *
  */
-public final class ThrashingConstraintFilter extends AbstractConstraintFilter<ThrashingConstraint> {
-
-	private enum ADJUSTMENT_SIGN {
-		POSITIVE,
-		NEGATIVE
-	}
+public final class ThrashingConstraintFilter extends AbstractConstraintFilter<ThrashingConstraint> implements StateOnlyFilter {
 
+	private final double minimumTimeNoThrashing;
 
 	public ThrashingConstraintFilter(final ThrashingConstraint constraint) {
 		super(constraint);
-		// TODO Auto-generated constructor stub
+		this.minimumTimeNoThrashing = constraint.getMinimumTimeNoThrashing();
 	}
 
 	@Override
@@ -41,37 +37,25 @@ public final class ThrashingConstraintFilter extends AbstractConstraintFilter<Th
 
 		if(targetGroupState.enactedPoliciesEmpty()) {
 			//no previously executed policies, thrashing passes
-			return FilterResult.success(event.getEventToFilter());
+			return FilterResult.proceed();
 		}
 
-		final ScalingPolicy lastEnactedPolicy = targetGroupState.getLastEnactedScalingPolicy();
+		final AdjustmentSign lastSign = targetGroupState.getLastEnactedAdjustmentSign();
 		final double lastSimulationTime = targetGroupState.getLastScalingPolicyEnactmentTime();
 		final double currentSimulationTime = event.getEventToFilter().time();
 
-		final ScalingPolicy currentScalingPolicy = event.getState().getScalingPolicy();
+		final AdjustmentSign currentSign = event.getState().getPolicyPlan().getAdjustmentSign();
 
-		if(currentScalingPolicy.getAdjustmentType() instanceof AbsoluteAdjustment
-				|| lastEnactedPolicy.getAdjustmentType() instanceof AbsoluteAdjustment) {
-			return FilterResult.success(event.getEventToFilter());
+		if(currentSign == AdjustmentSign.ABSOLUTE || lastSign == AdjustmentSign.ABSOLUTE) {
+			return FilterResult.proceed();
 		}
 
-		if(!retrieveSign(currentScalingPolicy.getAdjustmentType()).equals(retrieveSign(lastEnactedPolicy.getAdjustmentType()))
-				&& lastSimulationTime + constraint.getMinimumTimeNoThrashing() >= currentSimulationTime) {
+		if(currentSign != lastSign
+				&& lastSimulationTime + minimumTimeNoThrashing >= currentSimulationTime) {
 			// opposite signs and min time did not pass -> disregard
-			return FilterResult.disregard("Thrashing Constraint prevents this scaling Operation.");
-		}
-		return FilterResult.success(event.getEventToFilter());
-	}
-
-
-
-	public ADJUSTMENT_SIGN retrieveSign(final AdjustmentType adjustmentType) {
-		if(adjustmentType instanceof final RelativeAdjustment relativeAdjustment) {
-			return relativeAdjustment.getPercentageGrowthValue()>0?ADJUSTMENT_SIGN.POSITIVE:ADJUSTMENT_SIGN.NEGATIVE;
-		} else if(adjustmentType instanceof final StepAdjustment stepAdjustment) {
-			return stepAdjustment.getStepValue()>0?ADJUSTMENT_SIGN.POSITIVE:ADJUSTMENT_SIGN.NEGATIVE;
+			return FilterResult.disregard(DisregardReason.THRASHING);
 		}
-		return ADJUSTMENT_SIGN.POSITIVE;
+		return FilterResult.proceed();
 	}
 
 }
@@ -2,23 +2,34 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 
 import java.util.Objects;
 
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.MeasurementBatchClosed;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DisregardReason;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementAwareFilter;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.MeasuringPointInsideTargetGroup;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils.TargetGroupMembershipIndex;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.MetricDescription;
 import org.palladiosimulator.spd.targets.TargetGroup;
 
-public class TargetGroupChecker implements Filter {
+public class TargetGroupChecker implements MeasurementAwareFilter {
+
+	private static final Logger LOGGER = Logger.getLogger(TargetGroupChecker.class);
 
 	private final TargetGroup targetGroup;
+	private final String targetGroupId;
 	private final MeasuringPointInsideTargetGroup measuringPointInsideTargetGroupSwitch;
 	
-	public TargetGroupChecker(final TargetGroup targetGroup) {
+	public TargetGroupChecker(final TargetGroup targetGroup, final TargetGroupMembershipIndex membershipIndex) {
 		this.targetGroup = Objects.requireNonNull(targetGroup);
-		this.measuringPointInsideTargetGroupSwitch = new MeasuringPointInsideTargetGroup(targetGroup);
+		this.targetGroupId = targetGroup.getId();
+		this.measuringPointInsideTargetGroupSwitch = new MeasuringPointInsideTargetGroup(targetGroup,
+				Objects.requireNonNull(membershipIndex));
 	}
 	
 	@Override
@@ -26,17 +37,29 @@ public class TargetGroupChecker implements Filter {
 		final DESEvent event = objectWrapper.getEventToFilter();
 		if (event instanceof final MeasurementMade mm) {
 			if (this.measuringPointInsideTargetGroupSwitch.doSwitch(mm.getEntity().getMeasuringPoint())) {
-				return FilterResult.success(event);
+				return FilterResult.proceed();
+			}
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Expected measurement for " + targetGroup.getEntityName() + " but received measurement for " + mm.getEntity().getMeasuringPoint().getStringRepresentation());
 			}
-			return FilterResult.disregard("The measurement is not inside this target group. Expected measurement for " + targetGroup.getEntityName() + " but received measurement for " + mm.getEntity().getMeasuringPoint().getStringRepresentation());
+			return FilterResult.disregard(DisregardReason.NOT_IN_TARGET_GROUP);
+		}
+		if (event instanceof MeasurementBatchClosed) {
+			/* A batch is only closed for the contexts whose measurements were inside the target group. */
+			return FilterResult.proceed();
 		}
 		if (!(event instanceof SimulationTimeReached)) {
-			return FilterResult.disregard("The event can only be checked if it is a MeasurementMade OR SimulationTimeReached at the moment.");
+			return FilterResult.disregard(DisregardReason.UNSUPPORTED_EVENT);
 		}
 		final SimulationTimeReached simulationTimeReached = (SimulationTimeReached) event;
-		if (simulationTimeReached.getTargetGroupId().equals(targetGroup.getId())) {
-			return FilterResult.success(event);
+		if (simulationTimeReached.getTargetGroupId().equals(this.targetGroupId)) {
+			return FilterResult.proceed();
 		}
-		return FilterResult.disregard("The target group does not match the event.");
+		return FilterResult.disregard(DisregardReason.NOT_IN_TARGET_GROUP);
+	}
+
+	@Override
+	public boolean isInterestedIn(final MeasuringPoint measuringPoint, final MetricDescription metric) {
+		return this.measuringPointInsideTargetGroupSwitch.doSwitch(measuringPoint);
 	}
 }
@@ -1,27 +1,44 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger;
 
+import java.io.IOException;
 import java.util.Set;
 
 import javax.measure.Measure;
 import javax.measure.quantity.Dimensionless;
 import javax.measure.quantity.Duration;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.MeasurementBatchClosed;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.BatchableFilter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DisregardReason;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AbstractWindowAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.EmissionThrottle;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.FixedLengthWindowSimpleAggregation;
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.SlidingTimeWindowAggregationBasedOnEMA;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.HoltWintersForecastAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.SharedWindowAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.SlidingTimeWindowTrendAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.ThrottledWindowAggregation;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowAggregationFactory;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowSpecification;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.targetgroup.TargetGroupChecker;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.metricspec.BaseMetricDescription;
+import org.palladiosimulator.metricspec.MetricDescription;
 import org.palladiosimulator.metricspec.MetricSetDescription;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.spd.targets.TargetGroup;
 import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
 import org.palladiosimulator.spd.triggers.BaseTrigger;
+import org.palladiosimulator.spd.triggers.SimpleFireOnTrend;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedPrimitive;
 import org.palladiosimulator.spd.triggers.stimuli.ManagedElementsStateStimulus;
 
@@ -37,39 +54,159 @@ import org.palladiosimulator.spd.triggers.stimuli.ManagedElementsStateStimulus;
  * coming from, are inside the target group. This is done in the
  * {@link TargetGroupChecker} filter, that should be placed before this filter.
  * 
+ * The aggregation is obtained from an {@link AggregatorRegistry}, so that
+ * checkers of different policies that aggregate the same measurements in the
+ * same way share a single window. Only the emit state is kept per checker.
+ * The window is given by the interpreter, see
+ * {@link org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.TriggerWindowConfiguration
+ * TriggerWindowConfiguration}, or otherwise chosen by
+ * {@link #getDefaultWindow(AGGREGATIONMETHOD)}.
+ * 
+ * For a {@link SimpleFireOnTrend}, the aggregated values are additionally fed
+ * into a {@link SlidingTimeWindowTrendAggregation}, given by the interpreter or
+ * otherwise {@link #DEFAULT_TREND_WINDOW}, and its slope is compared
+ * instead of the aggregated value. Similarly, if forecast parameters are given,
+ * the aggregated values are fed into a {@link HoltWintersForecastAggregation},
+ * and the forecast is compared instead. Both cost constant time per
+ * measurement, just like the aggregation itself.
+ * 
+ * If an {@link EmissionThrottle} is given, the compared values are emitted
+ * through a {@link ThrottledWindowAggregation}, so that this checker and the
+ * filters after it run at a controlled rate.
+ * 
+ * The checker is a {@link BatchableFilter}: if measurements are batched, it
+ * aggregates all measurements of a simulation time first and compares the
+ * aggregated value once, on the {@link MeasurementBatchClosed} event.
+ * 
  * @author Julijan Katic
  *
  * @param <T> The concrete element the class is checking for.
  */
 public abstract class AbstractManagedElementTriggerChecker<T extends ManagedElementsStateStimulus>
-		extends TriggerChecker<T> {
+		extends TriggerChecker<T> implements BatchableFilter, Checkpointable {
+
+	/**
+	 * The window for {@link AGGREGATIONMETHOD#AVERAGE}. The measurements of all
+	 * elements of the target group arrive as one stream, so the exact
+	 * {@link WindowSpecification#timeWeightedAverage(int, double) time-weighted
+	 * average} would mix the state of different elements into one step
+	 * function. Hence, the EMA approximation is still used by default.
+	 */
+	public static final WindowSpecification DEFAULT_AVERAGE_WINDOW = WindowSpecification.exponentialMovingAverage(60, 10, 0.2);
+
+	/** The window for all other aggregation methods. */
+	public static final WindowSpecification DEFAULT_WINDOW = WindowSpecification.fixedLength(FixedLengthWindowSimpleAggregation.DEFAULT_WINDOW_SIZE);
+
+	/**
+	 * The window in which the trend of the aggregated values is estimated, unless
+	 * another window is given.
+	 */
+	public static final WindowSpecification DEFAULT_TREND_WINDOW = WindowSpecification.linearTrend(60, 10);
 	
 	protected final TargetGroup targetGroup;
 	protected final T managedElementsStateStimulus;
 	protected final MetricSetDescription metricSetDescription;
 	protected final BaseMetricDescription baseMetricDescription;
-	protected final WindowAggregation aggregator;
-	
+	protected final SharedWindowAggregation aggregator;
+
+	/** The identifier of {@link #metricSetDescription}, resolved once. */
+	private final String metricSetId;
+
+	/**
+	 * The series of aggregated values that is compared instead of the aggregated
+	 * value: the trend for trend triggers, or the forecast if configured.
+	 * {@code null} if the aggregated value is compared.
+	 */
+	protected final AbstractWindowAggregation series;
+
+	/**
+	 * The throttle of the compared values, or {@code null} if they are not
+	 * throttled.
+	 */
+	private final ThrottledWindowAggregation throttled;
+
+	/**
+	 * @param window   The window in which the measurements are aggregated, or
+	 *                 {@code null} for the default window of the aggregation
+	 *                 method.
+	 * @param trendWindow The window in which the trend is estimated, or
+	 *                 {@code null} for {@link #DEFAULT_TREND_WINDOW}. Ignored
+	 *                 unless the trigger is a trend trigger.
+	 * @param forecast The parameters to compare the forecast of the aggregated
+	 *                 values, or {@code null} to compare the aggregated values
+	 *                 themselves. Ignored for trend triggers.
+	 * @param throttle The throttle of the compared values, or {@code null} to
+	 *                 compare whenever the compared window is emittable.
+	 */
 	@SuppressWarnings("unchecked")
 	public AbstractManagedElementTriggerChecker(final BaseTrigger trigger, 
 												final T stimulus,
 												final TargetGroup targetGroup,
 												final Set<Class<? extends ExpectedPrimitive>> allowedExpectedPrimitives,
 												final MetricSetDescription metricSetDescription,
-												final BaseMetricDescription baseMetricDescription) {
+												final BaseMetricDescription baseMetricDescription,
+												final AggregatorRegistry aggregatorRegistry,
+												final WindowAggregationFactory window,
+												final WindowSpecification trendWindow,
+												final HoltWintersForecastAggregation.Parameters forecast,
+												final EmissionThrottle throttle) {
 		super(trigger, (Class<T>) stimulus.getClass(), allowedExpectedPrimitives);
 		
 		this.targetGroup = targetGroup;
 		this.managedElementsStateStimulus = stimulus;
 		this.metricSetDescription = metricSetDescription;
 		this.baseMetricDescription = baseMetricDescription;
+		this.metricSetId = metricSetDescription.getId();
 		
-		if(stimulus.getAggregationOverElements().equals(AGGREGATIONMETHOD.AVERAGE)) {
-		    this.aggregator = new SlidingTimeWindowAggregationBasedOnEMA(60,10,0.2);		    
-		}else {
-		    this.aggregator = FixedLengthWindowSimpleAggregation.getFromAggregationMethod(stimulus.getAggregationOverElements());
+		this.aggregator = aggregatorRegistry.getAggregation(targetGroup, metricSetDescription, 
+				stimulus.getAggregationOverElements(),
+				window != null ? window : getDefaultWindow(stimulus.getAggregationOverElements()));
+
+		if (trigger instanceof SimpleFireOnTrend) {
+			this.series = (trendWindow != null ? trendWindow : DEFAULT_TREND_WINDOW)
+					.createAggregation(stimulus.getAggregationOverElements());
+		} else if (forecast != null) {
+			this.series = new HoltWintersForecastAggregation(forecast);
+		} else {
+			this.series = null;
 		}
-		
+
+		if (throttle != null) {
+			this.throttled = new ThrottledWindowAggregation(this.series != null ? this.series : this.aggregator, throttle);
+		} else {
+			this.throttled = null;
+		}
+	}
+
+	/**
+	 * Returns the window that is used if no window is configured:
+	 * {@link #DEFAULT_AVERAGE_WINDOW} for averages, {@link #DEFAULT_WINDOW}
+	 * otherwise.
+	 */
+	public static WindowSpecification getDefaultWindow(final AGGREGATIONMETHOD aggregationMethod) {
+		if (aggregationMethod == AGGREGATIONMETHOD.AVERAGE) {
+			return DEFAULT_AVERAGE_WINDOW;
+		}
+		return DEFAULT_WINDOW;
+	}
+
+	/**
+	 * Writes the emit state of the view on the shared aggregation, and the state
+	 * of the series and the throttle. The shared aggregation itself is written
+	 * by the {@link AggregatorRegistry}.
+	 */
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		this.aggregator.writeState(out);
+		Checkpointable.writeIfCheckpointable(this.series, out);
+		Checkpointable.writeIfCheckpointable(this.throttled, out);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		this.aggregator.readState(in);
+		Checkpointable.readIfCheckpointable(this.series, in);
+		Checkpointable.readIfCheckpointable(this.throttled, in);
 	}
 
 	@Override
@@ -89,36 +226,119 @@ public abstract class AbstractManagedElementTriggerChecker<T extends ManagedElem
 			return getResult(measurementMade);
 
 		}
+		if (event.getEventToFilter() instanceof MeasurementBatchClosed) {
+			return compare(event);
+		}
+
+
+		return FilterResult.disregard(DisregardReason.UNSUPPORTED_EVENT);
+	}
+
+	/**
+	 * Only measurements of {@link #metricSetDescription} are aggregated. Whether
+	 * the measuring point is inside the target group is checked by the
+	 * {@link TargetGroupChecker}.
+	 */
+	@Override
+	public boolean isInterestedIn(final MeasuringPoint measuringPoint, final MetricDescription metric) {
+		return metric.getId().equals(this.metricSetId);
+	}
+
+	/**
+	 * Each measurement needs to be aggregated before comparing.
+	 */
+	@Override
+	public int getEvaluationCost() {
+		return DEFAULT_EVALUATION_COST + 1;
+	}
+
+	/**
+	 * The aggregator must see every measurement, even if the result of this
+	 * checker is not needed.
+	 */
+	@Override
+	public boolean isStateful() {
+		return true;
+	}
 
+	@Override
+	public boolean isBatchable() {
+		return true;
+	}
+
+	@Override
+	public void ingest(final MeasurementMade measurementMade) {
+		aggregateMeasurement(measurementMade);
+	}
 
-		return FilterResult.disregard("Not a measurement made event.");
+	@Override
+	public FilterResult compare(final FilterObjectWrapper event) {
+		return getResult(event.getEventToFilter());
+	}
+
+	@Override
+	public void skipComparison() {
+		final WindowAggregation window = getComparedWindow();
+		if (window.isEmittable()) {
+			window.skipCurrentValue();
+		}
 	}
 
 	/**
-	 * Helper method to retrieve the filter result. If the aggregated value is in
-	 * accordance with the specified trigger, success is returned. If not all
-	 * measurements were made yet, or if the value was not in accordance, then
-	 * disregard.
+	 * Returns the window whose value is compared: the throttle if given,
+	 * otherwise the series or the aggregation itself.
+	 */
+	private WindowAggregation getComparedWindow() {
+		if (this.throttled != null) {
+			return this.throttled;
+		}
+		return this.series != null ? this.series : this.aggregator;
+	}
+
+	/**
+	 * Helper method to retrieve the filter result. If the aggregated value, or
+	 * its trend or forecast, is in accordance with the specified trigger,
+	 * success is returned. If not all measurements were made yet, or if the value
+	 * was not in accordance, then disregard.
 	 */
 	protected FilterResult getResult(final DESEvent event) {
-		if (!this.aggregator.isEmittable()) {
-			return FilterResult.disregard("Values not emittable.");
+		final WindowAggregation window = getComparedWindow();
+		if (!window.isEmittable()) {
+			return FilterResult.disregard(DisregardReason.NOT_EMITTABLE);
 		}
 		
-		final double aggregatedValue = this.aggregator.getCurrentValue();
-		if (this.compareToTrigger(aggregatedValue) == ComparatorResult.IN_ACCORDANCE) {
-			return FilterResult.success(event);
+		final double aggregatedValue = window.getCurrentValue();
+		if (this.isInAccordance(aggregatedValue)) {
+			return FilterResult.proceed();
 		}
-		return FilterResult.disregard("Value and Expectation not in accordance.");
+		return FilterResult.disregard(DisregardReason.NOT_IN_ACCORDANCE);
 	}
 
+	/**
+	 * Compares the aggregated value with the {@link #valueComparator}. This is
+	 * implemented by each concrete checker, so that the comparison has its own
+	 * call site per kind of checker instead of one shared by all of them.
+	 *
+	 * @param aggregatedValue The aggregated value, or its trend or forecast.
+	 * @return true iff the value is in accordance with the trigger.
+	 */
+	protected abstract boolean isInAccordance(double aggregatedValue);
+
 	/**
 	 * Helper method to aggregate the measurement in case if the measurement comes 
 	 * from one of the resource containers in the target group.
 	 */
 	protected void aggregateMeasurement(final MeasurementMade measurementMade) {
-		if (measurementMade.getEntity().getMetricDesciption().getId().equals(this.metricSetDescription.getId())) {
-			aggregator.aggregate(getPointInTime(measurementMade.getEntity()),getValueForAggregation(measurementMade.getEntity()));
+		if (measurementMade.getEntity().getMetricDesciption().getId().equals(this.metricSetId)) {
+			final double pointInTime = getPointInTime(measurementMade.getEntity());
+			aggregator.aggregate(measurementMade.getEntity(), measurementMade.getEntity().getMeasuringPoint(),
+					pointInTime, getValueForAggregation(measurementMade.getEntity()));
+			if (this.series != null) {
+				this.series.aggregate(pointInTime, this.aggregator.peekCurrentValue());
+			}
+			if (this.throttled != null) {
+				this.throttled.countSample();
+			}
 		}
 	}
 	
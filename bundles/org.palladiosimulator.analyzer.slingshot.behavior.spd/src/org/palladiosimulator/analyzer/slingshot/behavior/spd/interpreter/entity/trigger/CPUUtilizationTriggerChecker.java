@@ -2,23 +2,43 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 
 import java.util.Set;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.EmissionThrottle;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.HoltWintersForecastAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowAggregationFactory;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowSpecification;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.spd.targets.TargetGroup;
-import org.palladiosimulator.spd.triggers.SimpleFireOnValue;
+import org.palladiosimulator.spd.triggers.BaseTrigger;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedPercentage;
 import org.palladiosimulator.spd.triggers.stimuli.CPUUtilization;
 
 public class CPUUtilizationTriggerChecker extends AbstractManagedElementTriggerChecker<CPUUtilization> {
 
-	public CPUUtilizationTriggerChecker(final SimpleFireOnValue trigger,
+	public CPUUtilizationTriggerChecker(final BaseTrigger trigger,
 										final CPUUtilization stimulus,
-								 		final TargetGroup targetGroup) {
+								 		final TargetGroup targetGroup,
+								 		final AggregatorRegistry aggregatorRegistry,
+								 		final WindowAggregationFactory window,
+								 		final WindowSpecification trendWindow,
+								 		final HoltWintersForecastAggregation.Parameters forecast,
+								 		final EmissionThrottle throttle) {
 		super(trigger, 
 				stimulus, 
 				targetGroup,
 				Set.of(ExpectedPercentage.class),
 				MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE,
-				MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE);
+				MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE,
+				aggregatorRegistry,
+				window,
+				trendWindow,
+				forecast,
+				throttle);
+	}
+
+	@Override
+	protected boolean isInAccordance(final double aggregatedValue) {
+		return this.valueComparator.compare(aggregatedValue) == ComparatorResult.IN_ACCORDANCE;
 	}
 
 }
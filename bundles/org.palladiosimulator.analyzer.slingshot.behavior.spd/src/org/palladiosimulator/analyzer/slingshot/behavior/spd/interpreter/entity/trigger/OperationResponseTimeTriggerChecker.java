@@ -1,17 +1,30 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger;
 
+import java.io.IOException;
 import java.util.Set;
 
 import javax.measure.Measure;
 import javax.measure.quantity.Duration;
 import javax.measure.unit.SI;
 
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.MeasurementBatchClosed;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.BatchableFilter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DisregardReason;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementAwareFilter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.SharedWindowAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowSpecification;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.MetricDescription;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.pcm.repository.OperationSignature;
 import org.palladiosimulator.pcmmeasuringpoint.OperationReference;
@@ -19,10 +32,47 @@ import org.palladiosimulator.spd.triggers.SimpleFireOnValue;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedTime;
 import org.palladiosimulator.spd.triggers.stimuli.OperationResponseTime;
 
-public final class OperationResponseTimeTriggerChecker extends TriggerChecker<OperationResponseTime> {
+/**
+ * Checks the response times of an operation against the expected time.
+ *
+ * By default, each response time is compared on its own. If a window is
+ * given, typically a {@link WindowSpecification#percentile(int, double, double)
+ * percentile window}, the response times are aggregated instead, and the
+ * aggregated value is compared whenever the window is emittable. This way, a
+ * single slow call does not trigger the policy. Only then, the response
+ * times can also be batched (see {@link BatchableFilter}).
+ */
+public final class OperationResponseTimeTriggerChecker extends TriggerChecker<OperationResponseTime>
+		implements BatchableFilter, Checkpointable {
+
+	private static final Logger LOGGER = Logger.getLogger(OperationResponseTimeTriggerChecker.class);
+
+	/** The aggregated response times, or {@code null} if each response time is compared. */
+	private final SharedWindowAggregation aggregator;
+
+	/** The identifier of the operation signature of the stimulus, resolved once. */
+	private final String signatureId;
 
 	public OperationResponseTimeTriggerChecker(final SimpleFireOnValue trigger) {
 		super(trigger, OperationResponseTime.class, Set.of(ExpectedTime.class));
+		this.aggregator = null;
+		this.signatureId = getStimulus().getOperationSignature().getId();
+	}
+
+	/**
+	 * Creates a checker that compares the aggregated response times.
+	 *
+	 * @param trigger             The trigger.
+	 * @param windowSpecification The window of the response times.
+	 * @param aggregatorRegistry  The registry to share the window with other
+	 *                            triggers on the same operation.
+	 */
+	public OperationResponseTimeTriggerChecker(final SimpleFireOnValue trigger,
+			final WindowSpecification windowSpecification, final AggregatorRegistry aggregatorRegistry) {
+		super(trigger, OperationResponseTime.class, Set.of(ExpectedTime.class));
+		this.signatureId = getStimulus().getOperationSignature().getId();
+		this.aggregator = aggregatorRegistry.getAggregation(this.signatureId,
+				MetricDescriptionConstants.RESPONSE_TIME_METRIC, null, windowSpecification);
 	}
 
 	@Override
@@ -34,25 +84,125 @@ public final class OperationResponseTimeTriggerChecker extends TriggerChecker<Op
 			final MeasuringPoint point = measuringValue.getMeasuringPoint();
 			if (point instanceof final OperationReference reference) {
 				final OperationSignature referencedSignature = reference.getOperationSignature();
-				final OperationSignature thisSignature = getStimulus().getOperationSignature();
 
-				if(thisSignature.getId().equals(referencedSignature.getId())) {
+				if(this.signatureId.equals(referencedSignature.getId())) {
 					final Measure<Double,Duration> measure = measuringValue.getMeasureForMetric(MetricDescriptionConstants.RESPONSE_TIME_METRIC);
 					final double operationTime = measure.doubleValue(SI.SECOND);
 
-					if (this.compareToTrigger(operationTime) == ComparatorResult.IN_ACCORDANCE) {
-						return FilterResult.success(event);
+					if (this.aggregator != null) {
+						return this.aggregate(measuringValue, operationTime);
+					}
+
+					if (this.valueComparator.compare(operationTime) == ComparatorResult.IN_ACCORDANCE) {
+						return FilterResult.proceed();
 					} else {
-						return FilterResult.disregard("Conditions for trigger " + trigger.getId() + " are not met.");
+						if (LOGGER.isDebugEnabled()) {
+							LOGGER.debug("Conditions for trigger " + trigger.getId() + " are not met.");
+						}
+						return FilterResult.disregard(DisregardReason.NOT_IN_ACCORDANCE);
 					}
 				} else {
-					return FilterResult.disregard("Expected signature " +  thisSignature.getEntityName() + " but received " + referencedSignature.getEntityName());
+					if (LOGGER.isDebugEnabled()) {
+						LOGGER.debug("Expected signature " +  getStimulus().getOperationSignature().getEntityName() + " but received " + referencedSignature.getEntityName());
+					}
+					return FilterResult.disregard(DisregardReason.WRONG_MEASURING_POINT);
 				}
 			} else {
-				return FilterResult.disregard("Expected measuringpoint of type " +  OperationReference.class.getSimpleName() + ", but received measuringpoint of type " + point.getClass().getSimpleName());
+				if (LOGGER.isDebugEnabled()) {
+					LOGGER.debug("Expected measuringpoint of type " +  OperationReference.class.getSimpleName() + ", but received measuringpoint of type " + point.getClass().getSimpleName());
+				}
+				return FilterResult.disregard(DisregardReason.WRONG_MEASURING_POINT);
 			}
+		} else if (event instanceof MeasurementBatchClosed && this.aggregator != null) {
+			return this.compareAggregated();
 		} else {
-			return FilterResult.disregard("Expected measurement made event, but received " + event.getClass().getSimpleName());
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Expected measurement made event, but received " + event.getClass().getSimpleName());
+			}
+			return FilterResult.disregard(DisregardReason.UNSUPPORTED_EVENT);
+		}
+	}
+
+	@Override
+	public boolean isInterestedIn(final MeasuringPoint measuringPoint, final MetricDescription metric) {
+		return measuringPoint instanceof final OperationReference reference
+				&& reference.getOperationSignature().getId().equals(this.signatureId)
+				&& MeasurementAwareFilter.providesMetric(metric, MetricDescriptionConstants.RESPONSE_TIME_METRIC);
+	}
+
+	@Override
+	public void writeState(final CheckpointOutput out) throws IOException {
+		Checkpointable.writeIfCheckpointable(this.aggregator, out);
+	}
+
+	@Override
+	public void readState(final CheckpointInput in) throws IOException {
+		Checkpointable.readIfCheckpointable(this.aggregator, in);
+	}
+
+	/**
+	 * Only aggregated response times can be batched, since single response times
+	 * are compared one by one.
+	 */
+	@Override
+	public boolean isBatchable() {
+		return this.aggregator != null;
+	}
+
+	@Override
+	public void ingest(final MeasurementMade measurementMade) {
+		final SlingshotMeasuringValue measuringValue = measurementMade.getEntity();
+		final Measure<Double,Duration> measure = measuringValue.getMeasureForMetric(MetricDescriptionConstants.RESPONSE_TIME_METRIC);
+		this.aggregateOnly(measuringValue, measure.doubleValue(SI.SECOND));
+	}
+
+	@Override
+	public FilterResult compare(final FilterObjectWrapper event) {
+		return this.compareAggregated();
+	}
+
+	@Override
+	public void skipComparison() {
+		if (this.aggregator.isEmittable()) {
+			this.aggregator.skipCurrentValue();
+		}
+	}
+
+	private FilterResult aggregate(final SlingshotMeasuringValue measuringValue, final double operationTime) {
+		this.aggregateOnly(measuringValue, operationTime);
+		return this.compareAggregated();
+	}
+
+	private void aggregateOnly(final SlingshotMeasuringValue measuringValue, final double operationTime) {
+		final Measure<Double, Duration> pointInTime = measuringValue.getMeasureForMetric(MetricDescriptionConstants.POINT_IN_TIME_METRIC);
+		this.aggregator.aggregate(measuringValue, pointInTime.doubleValue(SI.SECOND), operationTime);
+	}
+
+	private FilterResult compareAggregated() {
+		if (!this.aggregator.isEmittable()) {
+			return FilterResult.disregard(DisregardReason.NOT_EMITTABLE);
+		}
+		final double aggregatedTime = this.aggregator.getCurrentValue();
+		if (this.valueComparator.compare(aggregatedTime) == ComparatorResult.IN_ACCORDANCE) {
+			return FilterResult.proceed();
+		}
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Aggregated response time " + aggregatedTime + " does not meet the conditions of trigger " + trigger.getId());
 		}
+		return FilterResult.disregard(DisregardReason.NOT_IN_ACCORDANCE);
+	}
+
+	@Override
+	public int getEvaluationCost() {
+		return this.aggregator == null ? DEFAULT_EVALUATION_COST : DEFAULT_EVALUATION_COST + 1;
+	}
+
+	/**
+	 * If the response times are aggregated, the aggregator must see every
+	 * response time.
+	 */
+	@Override
+	public boolean isStateful() {
+		return this.aggregator != null;
 	}
-}
\ No newline at end of file
+}
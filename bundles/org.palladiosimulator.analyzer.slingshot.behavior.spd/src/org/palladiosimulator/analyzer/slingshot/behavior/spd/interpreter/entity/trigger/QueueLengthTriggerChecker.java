@@ -5,10 +5,13 @@ import java.util.Set;
 import javax.measure.Measure;
 import javax.measure.quantity.Dimensionless;
 
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DisregardReason;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.MetricDescription;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.pcmmeasuringpoint.PassiveResourceReference;
 import org.palladiosimulator.spd.triggers.SimpleFireOnValue;
@@ -27,11 +30,17 @@ import org.palladiosimulator.spd.triggers.stimuli.QueueLength;
  */
 public class QueueLengthTriggerChecker extends TriggerChecker<QueueLength> {
 
+	private static final Logger LOGGER = Logger.getLogger(QueueLengthTriggerChecker.class);
+
 	private final QueueLength queueLength;
 
+	/** The identifier of the passive resource of {@link #queueLength}, resolved once. */
+	private final String passiveResourceId;
+
 	public QueueLengthTriggerChecker(final SimpleFireOnValue trigger, final QueueLength queueLength) {
 		super(trigger, QueueLength.class, Set.of(ExpectedCount.class));
 		this.queueLength = queueLength;
+		this.passiveResourceId = queueLength.getPassiveResource().getId();
 	}
 
 	@Override
@@ -43,16 +52,25 @@ public class QueueLengthTriggerChecker extends TriggerChecker<QueueLength> {
 
 			final Measure<Long, Dimensionless> value = measurementMade.getEntity()
 					.getMeasureForMetric(MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC);
-			final ComparatorResult result = this.compareToTrigger(value.getValue());
+			final ComparatorResult result = this.valueComparator.compare(value.getValue());
 
 			if (result == ComparatorResult.IN_ACCORDANCE) {
-				return FilterResult.success(measurementMade);
+				return FilterResult.proceed();
 			}
 
-			return FilterResult.disregard("Cannot trigger, since the result is not in accordance: " + result);
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Comparator result was " + result);
+			}
+			return FilterResult.disregard(DisregardReason.NOT_IN_ACCORDANCE);
 		}
 
-		return FilterResult.disregard();
+		return FilterResult.disregard(DisregardReason.WRONG_MEASURING_POINT);
+	}
+
+	@Override
+	public boolean isInterestedIn(final MeasuringPoint measuringPoint, final MetricDescription metric) {
+		return isCorrectPassiveResource(measuringPoint)
+				&& metric.equals(MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC_TUPLE);
 	}
 
 	/**
@@ -64,7 +82,7 @@ public class QueueLengthTriggerChecker extends TriggerChecker<QueueLength> {
 	 */
 	private boolean isCorrectPassiveResource(final MeasuringPoint measuringPoint) {
 		if (measuringPoint instanceof final PassiveResourceReference prmp) {
-			return prmp.getPassiveResource().getId().equals(queueLength.getPassiveResource().getId());
+			return prmp.getPassiveResource().getId().equals(this.passiveResourceId);
 		}
 
 		return false;
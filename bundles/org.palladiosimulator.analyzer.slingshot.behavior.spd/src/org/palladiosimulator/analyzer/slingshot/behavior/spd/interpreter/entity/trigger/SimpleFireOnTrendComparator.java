@@ -1,23 +1,44 @@
 package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger;
 
 import org.palladiosimulator.spd.triggers.SimpleFireOnTrend;
-import org.palladiosimulator.spd.triggers.expectations.ExpectedValue;
+import org.palladiosimulator.spd.triggers.expectations.NoExpectation;
 
-/*
- * TODO: Compare values for simpleFireOnTrend! This class is just added
- * now for completeness, but is not implemented yet.
+/**
+ * Compares the trend of a stimulus, i.e. the slope of its values in units per
+ * second, to the trend of a {@link SimpleFireOnTrend}.
+ * <p>
+ * The result is {@link ComparatorResult#IN_ACCORDANCE} if the slope goes in the
+ * direction of the trend, and its magnitude is at least the expected value. For
+ * example, an increasing trend with an expected percentage of 1 is in
+ * accordance if the utilization increases by at least 1% per second. Without
+ * an expectation, any change in the direction of the trend is in accordance.
  */
 public class SimpleFireOnTrendComparator implements ValueComparator {
-	
-	private final SimpleFireOnTrend simpleFireOnTrend;
-	
+
+	/** 1 for increasing, -1 for decreasing trends, 0 if no slope is in accordance. */
+	private final int direction;
+	private final double minimalSlope;
+
 	public SimpleFireOnTrendComparator(final SimpleFireOnTrend simpleFireOnTrend) {
-		this.simpleFireOnTrend = simpleFireOnTrend;
+		this.direction = switch (simpleFireOnTrend.getTrend()) {
+			case INCREASING -> 1;
+			case DECREASING -> -1;
+			default -> 0;
+		};
+		this.minimalSlope = simpleFireOnTrend.getExpectedValue() instanceof NoExpectation ? 0.0
+				: Math.abs(ValueComparator.getValue(simpleFireOnTrend.getExpectedValue()));
 	}
-	
+
 	@Override
-	public ComparatorResult compare(double actualValue, ExpectedValue expectedValue) {
-		throw new UnsupportedOperationException("This is not yet implemented and only exist as a placeholder right now");
+	public ComparatorResult compare(final double actualSlope) {
+		final double slopeInDirection = this.direction * actualSlope;
+		final boolean result = slopeInDirection > 0 && slopeInDirection >= this.minimalSlope;
+
+		if (result) {
+			return ComparatorResult.IN_ACCORDANCE;
+		} else {
+			return ComparatorResult.DISREGARD;
+		}
 	}
 
 }
@@ -2,16 +2,22 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 
 import java.util.Set;
 
+import org.apache.log4j.Logger;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.SimulationTimeReached;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DisregardReason;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
 import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
 import org.palladiosimulator.analyzer.slingshot.common.events.DESEvent;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.MetricDescription;
 import org.palladiosimulator.spd.triggers.SimpleFireOnValue;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedTime;
 import org.palladiosimulator.spd.triggers.stimuli.SimulationTime;
 
 public final class SimulationTimeChecker extends TriggerChecker<SimulationTime> {
 
+	private static final Logger LOGGER = Logger.getLogger(SimulationTimeChecker.class);
+
 	public SimulationTimeChecker(final SimpleFireOnValue trigger) {
 		super(trigger, SimulationTime.class, Set.of(ExpectedTime.class));
 	}
@@ -20,17 +26,39 @@ public final class SimulationTimeChecker extends TriggerChecker<SimulationTime>
 	public FilterResult doProcess(final FilterObjectWrapper objectWrapper) {
 		final DESEvent event = objectWrapper.getEventToFilter();
 		if (!(event instanceof SimulationTimeReached)) {
-			return FilterResult.disregard("Expected simulation time reached event, but received" + event.getClass().getSimpleName());
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Expected simulation time reached event, but received " + event.getClass().getSimpleName());
+			}
+			return FilterResult.disregard(DisregardReason.UNSUPPORTED_EVENT);
 		}
 		
 		final SimulationTimeReached simulationTimeReached = (SimulationTimeReached) event;
-		final ComparatorResult comparatorResult = this.compareToTrigger(simulationTimeReached.time());
+		final ComparatorResult comparatorResult = this.valueComparator.compare(simulationTimeReached.time());
 		if (comparatorResult == ComparatorResult.IN_ACCORDANCE) {
-			return FilterResult.success(event);
+			return FilterResult.proceed();
 		} else {
-			return FilterResult.disregard(String.format("Simulationtime of %f is not [%s] expectedValue. [[%s]]", simulationTimeReached.time(), ((SimpleFireOnValue) this.trigger).getRelationalOperator().toString(), comparatorResult.toString()));
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Simulationtime of %f is not [%s] expectedValue. [[%s]]", simulationTimeReached.time(), ((SimpleFireOnValue) this.trigger).getRelationalOperator().toString(), comparatorResult.toString()));
+			}
+			return FilterResult.disregard(DisregardReason.NOT_IN_ACCORDANCE);
 		}
 
 	}
 
+	/**
+	 * Only compares the time of the event.
+	 */
+	@Override
+	public int getEvaluationCost() {
+		return DEFAULT_EVALUATION_COST - 1;
+	}
+
+	/**
+	 * This checker only reacts on {@link SimulationTimeReached}, never on measurements.
+	 */
+	@Override
+	public boolean isInterestedIn(final MeasuringPoint measuringPoint, final MetricDescription metric) {
+		return false;
+	}
+
 }
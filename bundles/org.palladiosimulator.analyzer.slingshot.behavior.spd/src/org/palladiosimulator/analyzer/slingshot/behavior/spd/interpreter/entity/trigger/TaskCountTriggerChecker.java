@@ -5,22 +5,36 @@ import java.util.Set;
 import javax.measure.Measure;
 import javax.measure.quantity.Dimensionless;
 
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.AggregatorRegistry;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.EmissionThrottle;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.HoltWintersForecastAggregation;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowAggregationFactory;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator.WindowSpecification;
 import org.palladiosimulator.analyzer.slingshot.monitor.data.entities.SlingshotMeasuringValue;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.spd.targets.TargetGroup;
-import org.palladiosimulator.spd.triggers.SimpleFireOnValue;
+import org.palladiosimulator.spd.triggers.BaseTrigger;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedCount;
 import org.palladiosimulator.spd.triggers.stimuli.TaskCount;
 
 public class TaskCountTriggerChecker extends AbstractManagedElementTriggerChecker<TaskCount> {
 
-	public TaskCountTriggerChecker(final SimpleFireOnValue trigger, final TaskCount stimulus, final TargetGroup targetGroup) {
+	public TaskCountTriggerChecker(final BaseTrigger trigger, final TaskCount stimulus, final TargetGroup targetGroup,
+			final AggregatorRegistry aggregatorRegistry, final WindowAggregationFactory window,
+			final WindowSpecification trendWindow,
+			final HoltWintersForecastAggregation.Parameters forecast,
+			final EmissionThrottle throttle) {
 		super(trigger, 
 				stimulus,
 				targetGroup, 
 				Set.of(ExpectedCount.class), 
 				MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC_TUPLE,
-				MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC);
+				MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC,
+				aggregatorRegistry,
+				window,
+				trendWindow,
+				forecast,
+				throttle);
 	}
 	
 	/* We need to retrieve the correct type (Long) instead of Double */
@@ -30,4 +44,9 @@ public class TaskCountTriggerChecker extends AbstractManagedElementTriggerChecke
 		final long value = measure.getValue();
 		return value;
 	}
+
+	@Override
+	protected boolean isInAccordance(final double aggregatedValue) {
+		return this.valueComparator.compare(aggregatedValue) == ComparatorResult.IN_ACCORDANCE;
+	}
 }
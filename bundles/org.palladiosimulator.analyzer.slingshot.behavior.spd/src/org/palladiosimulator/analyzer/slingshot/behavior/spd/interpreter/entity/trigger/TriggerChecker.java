@@ -2,7 +2,7 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 
 import java.util.Set;
 
-import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementAwareFilter;
 import org.palladiosimulator.spd.triggers.BaseTrigger;
 import org.palladiosimulator.spd.triggers.SimpleFireOnTrend;
 import org.palladiosimulator.spd.triggers.SimpleFireOnValue;
@@ -14,19 +14,37 @@ import com.google.common.base.Preconditions;
 
 /**
  * A checker that should compare the values or simulation state to
- * the expected value. This abstract class provides a utility method
- * {@link #compareToTrigger(double)} to compare the current measured
+ * the expected value. This abstract class provides the
+ * {@link #valueComparator} to compare the current measured
  * value to the expected value.
+ * <p>
+ * Each concrete checker calls the comparator directly, rather than through a
+ * shared helper, so that each of them has its own call site. A call site then
+ * only sees the comparators of the triggers of its kind instead of those of all
+ * triggers. It stays monomorphic or bimorphic only as long as these triggers
+ * use at most two distinct operators, e.g. one for scaling out and one for
+ * scaling in.
+ * <p>
+ * Each checker also tells through
+ * {@link #isInterestedIn(org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint, org.palladiosimulator.metricspec.MetricDescription)}
+ * which measurements it is able to check, so that other measurements are not
+ * dispatched to it at all.
  * 
  * @author Julijan Katic
  *
  * @param <T> The stimulus of the trigger
  */
-public abstract class TriggerChecker<T extends Stimulus> implements Filter {
+public abstract class TriggerChecker<T extends Stimulus> implements MeasurementAwareFilter {
 
+	/** The cost of a checker that only compares the event with the expected value. */
+	public static final int DEFAULT_EVALUATION_COST = 1;
+
+	/**
+	 * The comparator of the expected value. If the result does not depend on the
+	 * value, e.g. because there is no expectation, it returns a constant result.
+	 */
 	protected final ValueComparator valueComparator;
 	protected final BaseTrigger trigger;
-	private final Set<Class<? extends ExpectedPrimitive>> allowedExpectedPrimitives;
 	
 	/**
 	 * Constructor of the Trigger checker.
@@ -34,6 +52,9 @@ public abstract class TriggerChecker<T extends Stimulus> implements Filter {
 	 * This constructor also requires a set of allowed {@link ExpectedPrimitive}.
 	 * If the provided SPD uses a different {@link ExpectedPrimitive}, the trigger
 	 * should abort.
+	 * <p>
+	 * Which comparison is done is resolved once here, so that the
+	 * {@link #valueComparator} does not need to inspect the trigger.
 	 * 
 	 * @param trigger 					The actual trigger to use for checking.
 	 * @param stimulusType 				The stimulus type.
@@ -42,40 +63,55 @@ public abstract class TriggerChecker<T extends Stimulus> implements Filter {
 	TriggerChecker(final BaseTrigger trigger, 
 				   final Class<T> stimulusType,
 				   final Set<Class<? extends ExpectedPrimitive>> allowedExpectedPrimitives) {
-		this.valueComparator = ValueComparator.fromTrigger(trigger);
 		this.trigger = trigger;
-		this.allowedExpectedPrimitives = allowedExpectedPrimitives;
+		final ComparatorResult constantResult = resolveConstantResult(trigger, allowedExpectedPrimitives);
+		this.valueComparator = constantResult == null ? ValueComparator.fromTrigger(trigger)
+				: ValueComparatorFactory.constant(constantResult);
 		Preconditions.checkArgument(stimulusType.isAssignableFrom(trigger.getStimulus().getClass()), String.format("Trigger must be of type %s, but is %s", stimulusType.getSimpleName(), trigger.getStimulus().getClass().getSimpleName()));
 	}
 	
+	/**
+	 * Returns a rough estimation of how expensive this checker is, relative to
+	 * {@link #DEFAULT_EVALUATION_COST}. This is used to order the checkers of a
+	 * composed trigger (see {@link TriggerExpression}).
+	 */
+	public int getEvaluationCost() {
+		return DEFAULT_EVALUATION_COST;
+	}
+
+	/**
+	 * Returns whether the checker keeps state that depends on every event it
+	 * receives, such as aggregated measurements.
+	 */
+	public boolean isStateful() {
+		return false;
+	}
+
 	@SuppressWarnings("unchecked")
 	protected T getStimulus() {
 		return (T) trigger.getStimulus();
 	}
 	
 	/**
-	 * Utility method to compare the defined expected value to the
-	 * actual {@code value}. Returns a comparator result to be used
-	 * for further processing (see {@link ComparatorResult} for further
-	 * description).
-	 * 
-	 * @param value The actual, measured value to compare.
-	 * @return The comparator result.
+	 * Returns the result of every comparison if it does not depend on the value,
+	 * or {@code null} if it does.
 	 */
-	protected ComparatorResult compareToTrigger(final double value) {
+	private static ComparatorResult resolveConstantResult(final BaseTrigger trigger,
+			final Set<Class<? extends ExpectedPrimitive>> allowedExpectedPrimitives) {
 		if (trigger instanceof SimpleFireOnValue) {
 			if (trigger.getExpectedValue() instanceof NoExpectation) {
 				return ComparatorResult.IN_ACCORDANCE;
 			} else if (allowedExpectedPrimitives.stream().anyMatch(cls -> cls.isAssignableFrom(trigger.getExpectedValue().getClass()))) {
-				return this.valueComparator.compare(value, trigger.getExpectedValue());
+				return null;
 			}
 			
 			return ComparatorResult.WRONG_EXPECTED_VALUE;
 		} else if (trigger instanceof SimpleFireOnTrend) {
-			return this.valueComparator.compare(value, trigger.getExpectedValue());
+			return null;
 		}
 		
-		return ComparatorResult.WRONG_TRIGGER;
+		throw new IllegalArgumentException("Only SimpleFireOnValue and SimpleFireOnTrend are supported,"
+				+ " but trigger is " + trigger.getClass().getSimpleName());
 	}
 	
 	
@@ -0,0 +1,434 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.data.MeasurementBatchClosed;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.Checkpointable;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.BatchableFilter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.DisregardReason;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.Filter;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterObjectWrapper;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.FilterResult;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entities.MeasurementAwareFilter;
+import org.palladiosimulator.analyzer.slingshot.monitor.data.events.MeasurementMade;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.MetricDescription;
+import org.palladiosimulator.spd.triggers.ComposedTrigger;
+import org.palladiosimulator.spd.triggers.LogicalOperator;
+
+/**
+ * An immutable boolean expression over trigger checkers, as described by a
+ * {@link ComposedTrigger}. The expression is built once during the
+ * interpretation by {@link #combine(LogicalOperator, Filter, Filter)} and
+ * evaluated as a single filter afterwards.
+ * <p>
+ * Nested {@link LogicalOperator#AND} and {@link LogicalOperator#OR} nodes are
+ * flattened into a single node, and the children of each node are ordered by
+ * their {@link #getEvaluationCost() evaluation cost}, so that cheap checks are
+ * done first. Evaluation short-circuits: an AND node stops at the first child
+ * that disregards, an OR node at the first child that succeeds. XOR nodes are
+ * not flattened, since "exactly one of two" is not associative, and always
+ * evaluate both children.
+ * <p>
+ * Children that are {@link TriggerChecker#isStateful() stateful}, i.e. that
+ * aggregate the measurements they see, still receive the event if they were
+ * short-circuited, so that their windows stay complete. Batchable checkers
+ * then only ingest the measurement and skip the comparison, others are
+ * evaluated and their result is ignored.
+ * <p>
+ * An expression can be batched if all its checkers can be batched (see
+ * {@link BatchableFilter}). Measurements are then only ingested by the
+ * checkers that are interested in them. Comparing the ingested values is
+ * evaluated just like {@link #doProcess(FilterObjectWrapper)}, but each
+ * checker only compares; short-circuited stateful checkers then only consume
+ * their emission. An expression that cannot be batched can still be
+ * {@link #isWarmable() warmed} if all its stateful checkers can be batched;
+ * only those checkers ingest the measurements then.
+ * <p>
+ * Since the expression does not keep any state of an evaluation, it can be
+ * evaluated re-entrantly. Its checkpoint consists of the states of its
+ * checkers, in the order of the children.
+ */
+public abstract sealed class TriggerExpression implements BatchableFilter, Checkpointable {
+
+	private final int evaluationCost;
+	private final boolean stateful;
+	private final boolean batchable;
+	private final boolean warmable;
+
+	private TriggerExpression(final int evaluationCost, final boolean stateful, final boolean batchable,
+			final boolean warmable) {
+		this.evaluationCost = evaluationCost;
+		this.stateful = stateful;
+		this.batchable = batchable;
+		this.warmable = warmable;
+	}
+
+	/**
+	 * Returns a rough estimation of how expensive it is to evaluate this
+	 * expression. For composed expressions, this is the sum of the costs of the
+	 * children.
+	 */
+	public int getEvaluationCost() {
+		return this.evaluationCost;
+	}
+
+	/**
+	 * Returns whether this expression contains a checker that must see every
+	 * event, even if the result is not needed.
+	 */
+	public boolean isStateful() {
+		return this.stateful;
+	}
+
+	@Override
+	public boolean isBatchable() {
+		return this.batchable;
+	}
+
+	@Override
+	public boolean isWarmable() {
+		return this.warmable;
+	}
+
+	/**
+	 * Combines two filters with the given operator.
+	 *
+	 * @param operator The logical operator of the {@link ComposedTrigger}.
+	 * @param left     The filter of the left operand, either a plain trigger
+	 *                 checker or another expression.
+	 * @param right    The filter of the right operand.
+	 * @return The combined, flattened and ordered expression.
+	 * @throws IllegalArgumentException if the operator is not supported.
+	 */
+	public static TriggerExpression combine(final LogicalOperator operator, final Filter left, final Filter right) {
+		final TriggerExpression leftExpression = of(left);
+		final TriggerExpression rightExpression = of(right);
+
+		switch (operator) {
+		case AND:
+			return new And(flatten(And.class, leftExpression, rightExpression));
+		case OR:
+			return new Or(flatten(Or.class, leftExpression, rightExpression));
+		case XOR:
+			return new Xor(sortedByCost(leftExpression, rightExpression));
+		default:
+			throw new IllegalArgumentException("The logical operator " + operator + " is not supported");
+		}
+	}
+
+	/**
+	 * Wraps the filter into an expression, if it is not one already.
+	 */
+	public static TriggerExpression of(final Filter filter) {
+		if (filter instanceof final TriggerExpression expression) {
+			return expression;
+		}
+		return new Leaf(filter);
+	}
+
+	/**
+	 * Estimates the cost of a single filter. Trigger checkers that only compare
+	 * the event are cheaper than those that need to aggregate measurements first.
+	 */
+	private static int estimateCost(final Filter filter) {
+		if (filter instanceof final TriggerChecker<?> triggerChecker) {
+			return triggerChecker.getEvaluationCost();
+		}
+		return TriggerChecker.DEFAULT_EVALUATION_COST;
+	}
+
+	private static TriggerExpression[] flatten(final Class<? extends Composite> type, final TriggerExpression... operands) {
+		final List<TriggerExpression> children = new ArrayList<>();
+		for (final TriggerExpression operand : operands) {
+			if (type.isInstance(operand)) {
+				children.addAll(Arrays.asList(((Composite) operand).children));
+			} else {
+				children.add(operand);
+			}
+		}
+		return sortedByCost(children.toArray(new TriggerExpression[0]));
+	}
+
+	/**
+	 * Sorts the expressions by their cost. The sorting is stable, so expressions
+	 * of the same cost keep the order of the model.
+	 */
+	private static TriggerExpression[] sortedByCost(final TriggerExpression... expressions) {
+		final TriggerExpression[] sorted = expressions.clone();
+		Arrays.sort(sorted, Comparator.comparingInt(TriggerExpression::getEvaluationCost));
+		return sorted;
+	}
+
+	private static FilterResult resultOf(final TriggerExpression expression, final FilterObjectWrapper event,
+			final boolean compareOnly) {
+		final FilterResult result = compareOnly ? expression.compare(event) : expression.doProcess(event);
+		return result != null ? result : FilterResult.disregard(DisregardReason.NO_RESULT);
+	}
+
+	/**
+	 * A single trigger checker.
+	 */
+	private static final class Leaf extends TriggerExpression {
+
+		private final Filter filter;
+
+		private Leaf(final Filter filter) {
+			this(filter, filter instanceof final TriggerChecker<?> triggerChecker && triggerChecker.isStateful(),
+					BatchableFilter.isBatchable(filter));
+		}
+
+		private Leaf(final Filter filter, final boolean stateful, final boolean batchable) {
+			super(estimateCost(filter), stateful, batchable, batchable || !stateful);
+			this.filter = filter;
+		}
+
+		@Override
+		public FilterResult doProcess(final FilterObjectWrapper event) {
+			return this.filter.doProcess(event);
+		}
+
+		@Override
+		public boolean isInterestedIn(final MeasuringPoint measuringPoint, final MetricDescription metric) {
+			return MeasurementAwareFilter.isInterestedIn(this.filter, measuringPoint, metric);
+		}
+
+		/**
+		 * Stateless checkers that cannot be batched have nothing to ingest.
+		 */
+		@Override
+		public void ingest(final MeasurementMade measurementMade) {
+			if (this.isBatchable()) {
+				((BatchableFilter) this.filter).ingest(measurementMade);
+			}
+		}
+
+		@Override
+		public FilterResult compare(final FilterObjectWrapper event) {
+			return ((BatchableFilter) this.filter).compare(event);
+		}
+
+		@Override
+		public void skipComparison() {
+			((BatchableFilter) this.filter).skipComparison();
+		}
+
+		@Override
+		public void writeState(final CheckpointOutput out) throws IOException {
+			Checkpointable.writeIfCheckpointable(this.filter, out);
+		}
+
+		@Override
+		public void readState(final CheckpointInput in) throws IOException {
+			Checkpointable.readIfCheckpointable(this.filter, in);
+		}
+	}
+
+	/**
+	 * An expression over multiple children. It is interested in a measurement if
+	 * any of its children is.
+	 */
+	private static abstract sealed class Composite extends TriggerExpression {
+
+		protected final TriggerExpression[] children;
+
+		private Composite(final TriggerExpression[] children) {
+			super(Arrays.stream(children).mapToInt(TriggerExpression::getEvaluationCost).sum(),
+					Arrays.stream(children).anyMatch(TriggerExpression::isStateful),
+					Arrays.stream(children).allMatch(TriggerExpression::isBatchable),
+					Arrays.stream(children).allMatch(TriggerExpression::isWarmable));
+			this.children = children;
+		}
+
+		/**
+		 * Evaluates the children.
+		 *
+		 * @param compareOnly Whether the children only compare the values they
+		 *                    already ingested.
+		 */
+		protected abstract FilterResult evaluate(final FilterObjectWrapper event, final boolean compareOnly);
+
+		@Override
+		public FilterResult doProcess(final FilterObjectWrapper event) {
+			return this.evaluate(event, false);
+		}
+
+		@Override
+		public FilterResult compare(final FilterObjectWrapper event) {
+			return this.evaluate(event, true);
+		}
+
+		@Override
+		public void skipComparison() {
+			for (final TriggerExpression child : this.children) {
+				if (child.isStateful()) {
+					child.skipComparison();
+				}
+			}
+		}
+
+		/**
+		 * Passes the event to the stateful children starting at {@code from}, whose
+		 * results are not needed anymore.
+		 */
+		protected void feedRemaining(final int from, final FilterObjectWrapper event, final boolean compareOnly) {
+			for (int i = from; i < this.children.length; i++) {
+				final TriggerExpression child = this.children[i];
+				if (!child.isStateful()) {
+					continue;
+				}
+				if (child instanceof final Composite composite) {
+					composite.feedRemaining(0, event, compareOnly);
+				} else if (child.isBatchable() && canSkip(child, event, compareOnly)) {
+					if (event.getEventToFilter() instanceof final MeasurementMade measurementMade) {
+						child.ingest(measurementMade);
+					}
+					child.skipComparison();
+				} else {
+					resultOf(child, event, compareOnly);
+				}
+			}
+		}
+
+		/**
+		 * Returns whether skipping the comparison of the batchable checker has the
+		 * same effect as evaluating it: if it only compares, if the event closes a
+		 * batch, or if the event is a measurement the checker ingests. Other events
+		 * may be disregarded by the checker without consuming its emission.
+		 */
+		private static boolean canSkip(final TriggerExpression checker, final FilterObjectWrapper event,
+				final boolean compareOnly) {
+			if (compareOnly || event.getEventToFilter() instanceof MeasurementBatchClosed) {
+				return true;
+			}
+			return event.getEventToFilter() instanceof final MeasurementMade measurementMade
+					&& checker.isInterestedIn(measurementMade.getEntity().getMeasuringPoint(),
+							measurementMade.getEntity().getMetricDesciption());
+		}
+
+		@Override
+		public boolean isInterestedIn(final MeasuringPoint measuringPoint, final MetricDescription metric) {
+			for (final TriggerExpression child : this.children) {
+				if (child.isInterestedIn(measuringPoint, metric)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Only the stateful children ingest the measurement, since the others have
+		 * nothing to aggregate.
+		 */
+		@Override
+		public void ingest(final MeasurementMade measurementMade) {
+			final MeasuringPoint measuringPoint = measurementMade.getEntity().getMeasuringPoint();
+			final MetricDescription metric = measurementMade.getEntity().getMetricDesciption();
+			for (final TriggerExpression child : this.children) {
+				if (child.isStateful() && child.isWarmable() && child.isInterestedIn(measuringPoint, metric)) {
+					child.ingest(measurementMade);
+				}
+			}
+		}
+
+		@Override
+		public void writeState(final CheckpointOutput out) throws IOException {
+			for (final TriggerExpression child : this.children) {
+				child.writeState(out);
+			}
+		}
+
+		@Override
+		public void readState(final CheckpointInput in) throws IOException {
+			for (final TriggerExpression child : this.children) {
+				child.readState(in);
+			}
+		}
+	}
+
+	/**
+	 * Succeeds if every child succeeds. If a child transforms the event, the
+	 * following children get the transformed event.
+	 */
+	private static final class And extends Composite {
+
+		private And(final TriggerExpression[] children) {
+			super(children);
+		}
+
+		@Override
+		protected FilterResult evaluate(final FilterObjectWrapper event, final boolean compareOnly) {
+			FilterObjectWrapper current = event;
+			FilterResult.Success transformed = null;
+
+			for (int i = 0; i < this.children.length; i++) {
+				final FilterResult result = resultOf(this.children[i], current, compareOnly);
+				if (!(result instanceof final FilterResult.Success success)) {
+					this.feedRemaining(i + 1, current, compareOnly);
+					return result;
+				}
+				if (success.nextEvent() != null) {
+					transformed = success;
+					current = new FilterObjectWrapper(success.nextEvent(), event.getState());
+				}
+			}
+			return transformed != null ? transformed : FilterResult.proceed();
+		}
+	}
+
+	/**
+	 * Succeeds with the result of the first child that succeeds.
+	 */
+	private static final class Or extends Composite {
+
+		private Or(final TriggerExpression[] children) {
+			super(children);
+		}
+
+		@Override
+		protected FilterResult evaluate(final FilterObjectWrapper event, final boolean compareOnly) {
+			for (int i = 0; i < this.children.length; i++) {
+				final FilterResult result = resultOf(this.children[i], event, compareOnly);
+				if (result instanceof FilterResult.Success) {
+					this.feedRemaining(i + 1, event, compareOnly);
+					return result;
+				}
+			}
+			return FilterResult.disregard(DisregardReason.NO_FILTER_PASSED);
+		}
+	}
+
+	/**
+	 * Succeeds with the result of the only child that succeeds, and disregards
+	 * if none or both children succeed.
+	 */
+	private static final class Xor extends Composite {
+
+		private Xor(final TriggerExpression[] children) {
+			super(children);
+		}
+
+		@Override
+		protected FilterResult evaluate(final FilterObjectWrapper event, final boolean compareOnly) {
+			FilterResult successfulResult = null;
+
+			for (int i = 0; i < this.children.length; i++) {
+				final FilterResult result = resultOf(this.children[i], event, compareOnly);
+				if (result instanceof FilterResult.Success) {
+					if (successfulResult != null) {
+						this.feedRemaining(i + 1, event, compareOnly);
+						return FilterResult.disregard(DisregardReason.MULTIPLE_FILTERS_PASSED);
+					}
+					successfulResult = result;
+				}
+			}
+			return successfulResult != null ? successfulResult : FilterResult.disregard(DisregardReason.NO_FILTER_PASSED);
+		}
+	}
+}
@@ -3,6 +3,9 @@ package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity
 import org.palladiosimulator.spd.triggers.BaseTrigger;
 import org.palladiosimulator.spd.triggers.SimpleFireOnTrend;
 import org.palladiosimulator.spd.triggers.SimpleFireOnValue;
+import org.palladiosimulator.spd.triggers.expectations.ExpectedCount;
+import org.palladiosimulator.spd.triggers.expectations.ExpectedPercentage;
+import org.palladiosimulator.spd.triggers.expectations.ExpectedTime;
 import org.palladiosimulator.spd.triggers.expectations.ExpectedValue;
 
 /**
@@ -13,30 +16,50 @@ import org.palladiosimulator.spd.triggers.expectations.ExpectedValue;
 public interface ValueComparator {
 	
 	/**
-	 * Compares the first and second value to some comparison semantic. For example, in
+	 * Compares the actual value to the expected value of the trigger, which is
+	 * resolved when the comparator is created. For example, in
 	 * the case of {@link SimpleFireOnValue} with the relational operator GREATER_THAN_VALUE,
-	 * the result will be {@link ComparatorResult#IN_ACCORDANCE} if firstValue > secondValue,
+	 * the result will be {@link ComparatorResult#IN_ACCORDANCE} if actualValue > expectedValue,
 	 * otherwise it will be {@link ComparatorResult#DISREGARD}.
 	 * <br>
 	 * If the trigger is a {@link SimpleFireOnTrend}, then the result could also be {@link ComparatorResult#WAIT}
 	 * if the threshold for the aggregation has not been reached yet.
 	 */
-	ComparatorResult compare(final double actualValue, final ExpectedValue expectedValue);
+	ComparatorResult compare(final double actualValue);
 	
 	/**
-	 * Creates the appropriate instance of the comparator from the trigger.
+	 * Creates the appropriate instance of the comparator from the trigger, see
+	 * {@link ValueComparatorFactory}.
 	 * 
 	 * @param trigger
 	 * @return
 	 */
 	static ValueComparator fromTrigger(BaseTrigger trigger) {
 		if (trigger instanceof SimpleFireOnValue) {
-			return new SimpleFireOnValueComparator((SimpleFireOnValue) trigger);
+			return ValueComparatorFactory.forValue((SimpleFireOnValue) trigger);
 		} else if (trigger instanceof SimpleFireOnTrend) {
-			return new SimpleFireOnTrendComparator((SimpleFireOnTrend) trigger);
+			return ValueComparatorFactory.forTrend((SimpleFireOnTrend) trigger);
 		}
 		throw new IllegalArgumentException("Only SimpleFireOnValue and SimpleFireOnTrend are supported,"
 				+ " but trigger is " + trigger.getClass().getSimpleName());
 	}
+
+	/**
+	 * Returns the expected value as a number. Percentages are given as a number
+	 * between 0 and 100 and are converted to a number between 0 and 1.
+	 *
+	 * @throws IllegalStateException if the expected value is not a number.
+	 */
+	static double getValue(final ExpectedValue expectedValue) {
+		if (expectedValue instanceof final ExpectedTime expectedTime) {
+			return expectedTime.getValue();
+		} else if (expectedValue instanceof final ExpectedCount expectedCount) {
+			return expectedCount.getCount();
+		} else if (expectedValue instanceof final ExpectedPercentage expectedPercentage) {
+			return expectedPercentage.getValue() / 100;
+		}
+
+		throw new IllegalStateException("The proivded ExpectedPrimitive is not defined: " + expectedValue.getClass().getSimpleName());
+	}
 	
 }
@@ -0,0 +1,141 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.trigger;
+
+import org.palladiosimulator.spd.triggers.RelationalOperator;
+import org.palladiosimulator.spd.triggers.SimpleFireOnTrend;
+import org.palladiosimulator.spd.triggers.SimpleFireOnValue;
+
+/**
+ * Creates the {@link ValueComparator} of a trigger.
+ * <p>
+ * For a {@link SimpleFireOnValue}, there is one small final class per
+ * {@link RelationalOperator}, which only holds the expected value, already
+ * converted by {@link ValueComparator#getValue(org.palladiosimulator.spd.triggers.expectations.ExpectedValue)}.
+ * A comparison is then a single relational check, without switching on the
+ * operator. Triggers whose result does not depend on the value get a
+ * {@link #constant(ComparatorResult) constant} comparator.
+ */
+public final class ValueComparatorFactory {
+
+	private ValueComparatorFactory() {
+		// static factory
+	}
+
+	/**
+	 * Creates the comparator for the operator and the expected value of the
+	 * trigger.
+	 */
+	public static ValueComparator forValue(final SimpleFireOnValue trigger) {
+		final double expectedValue = ValueComparator.getValue(trigger.getExpectedValue());
+
+		return switch (trigger.getRelationalOperator().getValue()) {
+			case RelationalOperator.EQUAL_TO_VALUE -> new EqualTo(expectedValue);
+			case RelationalOperator.GREATER_THAN_OR_EQUAL_TO_VALUE -> new GreaterThanOrEqualTo(expectedValue);
+			case RelationalOperator.GREATER_THAN_VALUE -> new GreaterThan(expectedValue);
+			case RelationalOperator.LESS_THAN_OR_EQUAL_TO_VALUE -> new LessThanOrEqualTo(expectedValue);
+			case RelationalOperator.LESS_THAN_VALUE -> new LessThan(expectedValue);
+			default -> constant(ComparatorResult.DISREGARD);
+		};
+	}
+
+	/**
+	 * Creates a comparator that returns the given result for every value.
+	 */
+	public static ValueComparator constant(final ComparatorResult result) {
+		return new Constant(result);
+	}
+
+	/**
+	 * Creates the comparator for the trend of the trigger.
+	 */
+	public static ValueComparator forTrend(final SimpleFireOnTrend trigger) {
+		return new SimpleFireOnTrendComparator(trigger);
+	}
+
+	private static ComparatorResult resultOf(final boolean inAccordance) {
+		return inAccordance ? ComparatorResult.IN_ACCORDANCE : ComparatorResult.DISREGARD;
+	}
+
+	private static final class Constant implements ValueComparator {
+
+		private final ComparatorResult result;
+
+		private Constant(final ComparatorResult result) {
+			this.result = result;
+		}
+
+		@Override
+		public ComparatorResult compare(final double actualValue) {
+			return this.result;
+		}
+	}
+
+	private static final class EqualTo implements ValueComparator {
+
+		private final double expectedValue;
+
+		private EqualTo(final double expectedValue) {
+			this.expectedValue = expectedValue;
+		}
+
+		@Override
+		public ComparatorResult compare(final double actualValue) {
+			return resultOf(actualValue == this.expectedValue);
+		}
+	}
+
+	private static final class GreaterThanOrEqualTo implements ValueComparator {
+
+		private final double expectedValue;
+
+		private GreaterThanOrEqualTo(final double expectedValue) {
+			this.expectedValue = expectedValue;
+		}
+
+		@Override
+		public ComparatorResult compare(final double actualValue) {
+			return resultOf(actualValue >= this.expectedValue);
+		}
+	}
+
+	private static final class GreaterThan implements ValueComparator {
+
+		private final double expectedValue;
+
+		private GreaterThan(final double expectedValue) {
+			this.expectedValue = expectedValue;
+		}
+
+		@Override
+		public ComparatorResult compare(final double actualValue) {
+			return resultOf(actualValue > this.expectedValue);
+		}
+	}
+
+	private static final class LessThanOrEqualTo implements ValueComparator {
+
+		private final double expectedValue;
+
+		private LessThanOrEqualTo(final double expectedValue) {
+			this.expectedValue = expectedValue;
+		}
+
+		@Override
+		public ComparatorResult compare(final double actualValue) {
+			return resultOf(actualValue <= this.expectedValue);
+		}
+	}
+
+	private static final class LessThan implements ValueComparator {
+
+		private final double expectedValue;
+
+		private LessThan(final double expectedValue) {
+			this.expectedValue = expectedValue;
+		}
+
+		@Override
+		public ComparatorResult compare(final double actualValue) {
+			return resultOf(actualValue < this.expectedValue);
+		}
+	}
+}
@@ -15,6 +15,9 @@ import org.palladiosimulator.spd.targets.TargetGroup;
  * 
  * Per default, we currently return {@code false}.
  * 
+ * The membership of containers, assembly contexts, processing resources and
+ * operation signatures is looked up in the {@link TargetGroupMembershipIndex}.
+ * 
  * TODO: Check for the remaining measuring points
  * 
  * @author Julijan Katic
@@ -22,36 +25,38 @@ import org.palladiosimulator.spd.targets.TargetGroup;
 public class MeasuringPointInsideTargetGroup extends PcmmeasuringpointSwitch<Boolean> {
 
 	private final TargetGroup targetGroup;
+	private final TargetGroupMembershipIndex membershipIndex;
 
-	public MeasuringPointInsideTargetGroup(final TargetGroup targetGroup) {
+	public MeasuringPointInsideTargetGroup(final TargetGroup targetGroup,
+			final TargetGroupMembershipIndex membershipIndex) {
 		this.targetGroup = targetGroup;
+		this.membershipIndex = membershipIndex;
 	}
 
 	@Override
 	public Boolean caseActiveResourceMeasuringPoint(final ActiveResourceMeasuringPoint object) {
-		return TargetGroupUtils.isContainerInTargetGroup(
-				object.getActiveResource().getResourceContainer_ProcessingResourceSpecification(), targetGroup);
+		return membershipIndex.isProcessingResourceInTargetGroup(object.getActiveResource(), targetGroup);
 	}
 
 	@Override
 	public Boolean caseResourceContainerMeasuringPoint(final ResourceContainerMeasuringPoint object) {
-		return TargetGroupUtils.isContainerInTargetGroup(object.getResourceContainer(), targetGroup);
+		return membershipIndex.isContainerInTargetGroup(object.getResourceContainer(), targetGroup);
 	}
 
 	@Override
 	public Boolean caseResourceEnvironmentMeasuringPoint(final ResourceEnvironmentMeasuringPoint object) {
 		return object.getResourceEnvironment().getResourceContainer_ResourceEnvironment().stream()
-				.anyMatch(rc -> TargetGroupUtils.isContainerInTargetGroup(rc, targetGroup));
+				.anyMatch(rc -> membershipIndex.isContainerInTargetGroup(rc, targetGroup));
 	}
 
 	@Override
 	public Boolean caseAssemblyReference(final AssemblyReference object) {
-		return TargetGroupUtils.isAssemblyInTargetGroup(object.getAssembly(), targetGroup);
+		return membershipIndex.isAssemblyInTargetGroup(object.getAssembly(), targetGroup);
 	}
 
 	@Override
 	public Boolean caseOperationReference(final OperationReference object) {
-		return TargetGroupUtils.isOperationSinatureRelatedToTargetGroup(object.getOperationSignature(), targetGroup);
+		return membershipIndex.isSignatureRelatedToTargetGroup(object.getOperationSignature(), targetGroup);
 	}
 
 	@Override
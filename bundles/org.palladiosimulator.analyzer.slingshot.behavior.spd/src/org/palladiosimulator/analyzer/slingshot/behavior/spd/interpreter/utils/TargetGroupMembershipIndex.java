@@ -0,0 +1,321 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.analyzer.slingshot.common.annotations.Nullable;
+import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.AllocationChange;
+import org.palladiosimulator.analyzer.slingshot.common.events.modelchanges.ResourceEnvironmentChange;
+import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.pcm.allocation.AllocationContext;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.semanticspd.CompetingConsumersGroupCfg;
+import org.palladiosimulator.semanticspd.Configuration;
+import org.palladiosimulator.semanticspd.ElasticInfrastructureCfg;
+import org.palladiosimulator.semanticspd.ServiceGroupCfg;
+import org.palladiosimulator.spd.targets.CompetingConsumersGroup;
+import org.palladiosimulator.spd.targets.ElasticInfrastructure;
+import org.palladiosimulator.spd.targets.ServiceGroup;
+import org.palladiosimulator.spd.targets.TargetGroup;
+
+/**
+ * An index that maps the identifiers of resource containers, assembly contexts,
+ * processing resources and operation signatures to the target groups they are
+ * part of or related to. The
+ * membership semantics are the same as in {@link TargetGroupUtils}, but instead
+ * of scanning the {@link Configuration} and the {@link Allocation} on every
+ * check, the index is built once by {@link #build(Collection)} at simulation
+ * start and afterwards looked up in constant time.
+ * <p>
+ * An operation signature is related to a target group if it is provided by the
+ * component of any assembly context that is part of the target group.
+ * <p>
+ * After a model adjustment, the index must be updated with the resulting
+ * {@link ResourceEnvironmentChange} and {@link AllocationChange}. Since
+ * removed allocation contexts are not part of an {@link AllocationChange}, all
+ * entries that are derived from the allocation are rebuilt from the current
+ * configuration and allocation on each allocation change, so that removed
+ * replicas are not part of any target group anymore. Hence, the index is a
+ * singleton, so that every user sees the updates.
+ *
+ * @see TargetGroupUtils
+ */
+@Singleton
+public class TargetGroupMembershipIndex {
+
+	private static final Logger LOGGER = Logger.getLogger(TargetGroupMembershipIndex.class);
+
+	private final Allocation allocation;
+	private final Configuration configuration;
+
+	private final List<TargetGroup> targetGroups = new ArrayList<>();
+
+	private final Map<String, Set<TargetGroup>> containerMembership = new HashMap<>();
+	private final Map<String, Set<TargetGroup>> assemblyMembership = new HashMap<>();
+	private final Map<String, Set<TargetGroup>> processingResourceMembership = new HashMap<>();
+	private final Map<String, Set<TargetGroup>> signatureMembership = new HashMap<>();
+
+	@Inject
+	public TargetGroupMembershipIndex(final Allocation allocation, @Nullable final Configuration configuration) {
+		this.allocation = allocation;
+		this.configuration = configuration;
+	}
+
+	/**
+	 * (Re-)builds the whole index for the given target groups.
+	 *
+	 * @param targetGroups The target groups to index, usually every target group
+	 *                     of the SPD model.
+	 */
+	public void build(final Collection<? extends TargetGroup> targetGroups) {
+		this.targetGroups.clear();
+		this.targetGroups.addAll(targetGroups);
+
+		this.containerMembership.clear();
+		this.assemblyMembership.clear();
+		this.processingResourceMembership.clear();
+		this.signatureMembership.clear();
+
+		if (this.configuration == null) {
+			LOGGER.warn("No semantic configuration provided, no element will be part of any target group.");
+			return;
+		}
+
+		this.targetGroups.forEach(this::indexTargetGroup);
+		this.allocation.getAllocationContexts_Allocation().forEach(this::indexAllocationContext);
+
+		LOGGER.debug("Indexed " + this.containerMembership.size() + " container(s) and "
+				+ this.assemblyMembership.size() + " assembly context(s) for " + this.targetGroups.size()
+				+ " target group(s)");
+	}
+
+	/**
+	 * Updates the index after containers were added to or removed from the
+	 * resource environment.
+	 */
+	public void update(final ResourceEnvironmentChange change) {
+		if (this.configuration == null) {
+			return;
+		}
+		change.getDeletedResourceContainers().forEach(this::removeContainer);
+		change.getNewResourceContainers().forEach(container -> this.targetGroups.stream()
+				.filter(ElasticInfrastructure.class::isInstance)
+				.map(ElasticInfrastructure.class::cast)
+				.filter(infrastructure -> getElasticInfrastructureContainers(infrastructure)
+						.anyMatch(rc -> rc.getId().equals(container.getId())))
+				.forEach(infrastructure -> addContainer(container, infrastructure)));
+	}
+
+	/**
+	 * Updates the index after the allocation changed, e.g. because replicas were
+	 * added or removed. The change does not tell which allocation contexts were
+	 * removed, so every entry that is derived from the allocation is removed and
+	 * indexed anew from the whole allocation, which already contains the new
+	 * allocation contexts: the assembly contexts and signatures of elastic
+	 * infrastructures, and all entries of service groups and competing consumers
+	 * groups. The containers of elastic infrastructures are only updated by
+	 * {@link #update(ResourceEnvironmentChange)}.
+	 */
+	public void update(final AllocationChange change) {
+		if (this.configuration == null) {
+			return;
+		}
+		for (final TargetGroup targetGroup : this.targetGroups) {
+			if (targetGroup instanceof ElasticInfrastructure) {
+				removeFrom(this.assemblyMembership, targetGroup);
+				removeFrom(this.signatureMembership, targetGroup);
+			} else {
+				this.removeTargetGroup(targetGroup);
+				this.indexTargetGroup(targetGroup);
+			}
+		}
+		this.allocation.getAllocationContexts_Allocation().forEach(this::indexAllocationContext);
+	}
+
+	/**
+	 * Returns the target groups the container is part of.
+	 *
+	 * @see TargetGroupUtils#isContainerInTargetGroup(ResourceContainer, TargetGroup)
+	 */
+	public Set<TargetGroup> getTargetGroupsOfContainer(final ResourceContainer container) {
+		return this.containerMembership.getOrDefault(container.getId(), Collections.emptySet());
+	}
+
+	/**
+	 * Returns the target groups the assembly context is part of.
+	 *
+	 * @see TargetGroupUtils#isAssemblyInTargetGroup(AssemblyContext, TargetGroup)
+	 */
+	public Set<TargetGroup> getTargetGroupsOfAssembly(final AssemblyContext assemblyContext) {
+		return this.assemblyMembership.getOrDefault(assemblyContext.getId(), Collections.emptySet());
+	}
+
+	/**
+	 * Returns the target groups the container of the processing resource is part
+	 * of.
+	 */
+	public Set<TargetGroup> getTargetGroupsOfProcessingResource(
+			final ProcessingResourceSpecification processingResource) {
+		return this.processingResourceMembership.getOrDefault(processingResource.getId(), Collections.emptySet());
+	}
+
+	/**
+	 * Returns the target groups the operation signature is related to.
+	 *
+	 * @see TargetGroupUtils#isOperationSinatureRelatedToTargetGroup(OperationSignature, TargetGroup)
+	 */
+	public Set<TargetGroup> getTargetGroupsOfSignature(final OperationSignature signature) {
+		return this.signatureMembership.getOrDefault(signature.getId(), Collections.emptySet());
+	}
+
+	public boolean isContainerInTargetGroup(final ResourceContainer container, final TargetGroup targetGroup) {
+		return getTargetGroupsOfContainer(container).contains(targetGroup);
+	}
+
+	public boolean isAssemblyInTargetGroup(final AssemblyContext assemblyContext, final TargetGroup targetGroup) {
+		return getTargetGroupsOfAssembly(assemblyContext).contains(targetGroup);
+	}
+
+	public boolean isProcessingResourceInTargetGroup(final ProcessingResourceSpecification processingResource,
+			final TargetGroup targetGroup) {
+		return getTargetGroupsOfProcessingResource(processingResource).contains(targetGroup);
+	}
+
+	public boolean isSignatureRelatedToTargetGroup(final OperationSignature signature, final TargetGroup targetGroup) {
+		return getTargetGroupsOfSignature(signature).contains(targetGroup);
+	}
+
+	/**
+	 * Indexes the elements of the target group that can be derived from the
+	 * configuration alone.
+	 */
+	private void indexTargetGroup(final TargetGroup targetGroup) {
+		if (targetGroup instanceof final ElasticInfrastructure infrastructure) {
+			getElasticInfrastructureContainers(infrastructure).forEach(rc -> addContainer(rc, infrastructure));
+		} else if (targetGroup instanceof final ServiceGroup serviceGroup) {
+			getAllContextsToConsider(serviceGroup).forEach(ac -> addAssembly(ac, serviceGroup));
+		} else if (targetGroup instanceof final CompetingConsumersGroup competingConsumersGroup) {
+			getAllContextsToConsider(competingConsumersGroup).forEach(ac -> addAssembly(ac, competingConsumersGroup));
+		}
+	}
+
+	/**
+	 * Indexes the relation between the assembly context and the resource container
+	 * of the allocation context: For service groups and competing consumers
+	 * groups, the container is part of the target group if the assembly context
+	 * is. For elastic infrastructures, the assembly context is part of the target
+	 * group if it is allocated in the infrastructure's resource environment.
+	 * <p>
+	 * The assembly contexts of service groups and competing consumers groups must
+	 * already be indexed by {@link #indexTargetGroup(TargetGroup)}.
+	 */
+	private void indexAllocationContext(final AllocationContext allocationContext) {
+		final AssemblyContext assemblyContext = allocationContext.getAssemblyContext_AllocationContext();
+		final ResourceContainer container = allocationContext.getResourceContainer_AllocationContext();
+		if (assemblyContext == null || container == null) {
+			return;
+		}
+
+		final Set<TargetGroup> groupsOfAssembly = getTargetGroupsOfAssembly(assemblyContext);
+		for (final TargetGroup targetGroup : this.targetGroups) {
+			if (targetGroup instanceof final ElasticInfrastructure infrastructure) {
+				if (isInResourceEnvironmentOf(container, infrastructure)) {
+					addAssembly(assemblyContext, infrastructure);
+				}
+			} else if (groupsOfAssembly.contains(targetGroup)) {
+				addContainer(container, targetGroup);
+			}
+		}
+	}
+
+	private void addContainer(final ResourceContainer container, final TargetGroup targetGroup) {
+		this.containerMembership.computeIfAbsent(container.getId(), id -> new HashSet<>()).add(targetGroup);
+		container.getActiveResourceSpecifications_ResourceContainer().forEach(spec -> this.processingResourceMembership
+				.computeIfAbsent(spec.getId(), id -> new HashSet<>()).add(targetGroup));
+	}
+
+	/**
+	 * Adds the assembly context to the target group. If it was not part of the
+	 * target group yet, the signatures provided by its component are related to
+	 * the target group as well.
+	 */
+	private void addAssembly(final AssemblyContext assemblyContext, final TargetGroup targetGroup) {
+		final boolean added = this.assemblyMembership.computeIfAbsent(assemblyContext.getId(), id -> new HashSet<>())
+				.add(targetGroup);
+		if (added && assemblyContext.getEncapsulatedComponent__AssemblyContext() != null) {
+			assemblyContext.getEncapsulatedComponent__AssemblyContext().getProvidedRoles_InterfaceProvidingEntity().stream()
+					.filter(OperationProvidedRole.class::isInstance)
+					.map(OperationProvidedRole.class::cast)
+					.flatMap(opr -> opr.getProvidedInterface__OperationProvidedRole().getSignatures__OperationInterface().stream())
+					.forEach(signature -> this.signatureMembership
+							.computeIfAbsent(signature.getId(), id -> new HashSet<>()).add(targetGroup));
+		}
+	}
+
+	/**
+	 * Removes the target group from every entry, and the entries that are not
+	 * part of any target group afterwards.
+	 */
+	private void removeTargetGroup(final TargetGroup targetGroup) {
+		Stream.of(this.containerMembership, this.assemblyMembership, this.processingResourceMembership,
+				this.signatureMembership)
+				.forEach(membership -> removeFrom(membership, targetGroup));
+	}
+
+	private static void removeFrom(final Map<String, Set<TargetGroup>> membership, final TargetGroup targetGroup) {
+		membership.values().removeIf(groups -> groups.remove(targetGroup) && groups.isEmpty());
+	}
+
+	private void removeContainer(final ResourceContainer container) {
+		this.containerMembership.remove(container.getId());
+		container.getActiveResourceSpecifications_ResourceContainer()
+				.forEach(spec -> this.processingResourceMembership.remove(spec.getId()));
+	}
+
+	private static boolean isInResourceEnvironmentOf(final ResourceContainer container,
+			final ElasticInfrastructure infrastructure) {
+		return container.getResourceEnvironment_ResourceContainer() != null
+				&& infrastructure.getPCM_ResourceEnvironment() != null
+				&& container.getResourceEnvironment_ResourceContainer().getId()
+						.equals(infrastructure.getPCM_ResourceEnvironment().getId());
+	}
+
+	private Stream<ResourceContainer> getElasticInfrastructureContainers(final ElasticInfrastructure infrastructure) {
+		return this.configuration.getTargetCfgs().stream()
+				.filter(ElasticInfrastructureCfg.class::isInstance)
+				.map(ElasticInfrastructureCfg.class::cast)
+				.filter(cfg -> cfg.getUnit().getId().equals(infrastructure.getUnit().getId()))
+				.flatMap(cfg -> cfg.getElements().stream());
+	}
+
+	private Stream<AssemblyContext> getAllContextsToConsider(final ServiceGroup serviceGroup) {
+		return this.configuration.getTargetCfgs().stream()
+				.filter(ServiceGroupCfg.class::isInstance)
+				.map(ServiceGroupCfg.class::cast)
+				.filter(sgc -> sgc.getUnit().getId().equals(serviceGroup.getUnitAssembly().getId()))
+				.flatMap(sgc -> sgc.getElements().stream());
+	}
+
+	private Stream<AssemblyContext> getAllContextsToConsider(final CompetingConsumersGroup competingConsumersGroup) {
+		return this.configuration.getTargetCfgs().stream()
+				.filter(CompetingConsumersGroupCfg.class::isInstance)
+				.map(CompetingConsumersGroupCfg.class::cast)
+				.filter(ccgc -> ccgc.getUnit().getId().equals(competingConsumersGroup.getUnitAssembly().getId()))
+				.flatMap(ccgc -> Stream.concat(Stream.of(ccgc.getBrokerAssembly()), ccgc.getElements().stream()));
+	}
+}
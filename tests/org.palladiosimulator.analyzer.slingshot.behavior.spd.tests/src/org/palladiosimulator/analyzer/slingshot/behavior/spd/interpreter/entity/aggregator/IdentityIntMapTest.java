@@ -0,0 +1,65 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IdentityIntMapTest {
+
+	@Test
+	void keysAreComparedByIdentity() {
+		final IdentityIntMap map = new IdentityIntMap(4);
+		final String key = new String("key");
+		map.put(key, 1);
+
+		assertEquals(1, map.get(key));
+		assertEquals(IdentityIntMap.ABSENT, map.get(new String("key")));
+	}
+
+	@Test
+	void putReplacesValue() {
+		final IdentityIntMap map = new IdentityIntMap(4);
+		final Object key = new Object();
+		map.put(key, 1);
+		map.put(key, 2);
+
+		assertEquals(2, map.get(key));
+		assertEquals(1, map.size());
+	}
+
+	/**
+	 * Removes keys from long probe sequences, including those that wrap around
+	 * the end of the table, and checks that every remaining key is still found
+	 * after the entries behind the removed ones were shifted back.
+	 */
+	@Test
+	void removeKeepsOtherEntriesReachable() {
+		final Random random = new Random(5);
+		final Object[] pool = new Object[64];
+		for (int i = 0; i < pool.length; i++) {
+			pool[i] = new Object();
+		}
+		final IdentityIntMap map = new IdentityIntMap(1);
+		final Map<Object, Integer> expected = new IdentityHashMap<>();
+
+		for (int i = 0; i < 20000; i++) {
+			final Object key = pool[random.nextInt(pool.length)];
+			if (random.nextBoolean()) {
+				map.remove(key);
+				expected.remove(key);
+			} else {
+				map.put(key, i);
+				expected.put(key, i);
+			}
+
+			assertEquals(expected.size(), map.size());
+			for (final Object candidate : pool) {
+				assertEquals(expected.getOrDefault(candidate, IdentityIntMap.ABSENT).intValue(), map.get(candidate));
+			}
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IndexedHeapTest {
+
+	@Test
+	void removingAbsentSlotIsIgnored() {
+		final IndexedHeap heap = new IndexedHeap(false);
+		heap.remove(100);
+		heap.set(3, 1.0);
+		heap.remove(4);
+
+		assertFalse(heap.isEmpty());
+		assertEquals(1.0, heap.topKey());
+		heap.remove(3);
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	void minHeapKeepsMinimumOfSlots() {
+		this.assertTopOfSlots(false);
+	}
+
+	@Test
+	void maxHeapKeepsMaximumOfSlots() {
+		this.assertTopOfSlots(true);
+	}
+
+	/**
+	 * Inserts, updates and removes random slots, beyond the initial capacity,
+	 * and compares the top with the extremum of the remaining keys.
+	 */
+	private void assertTopOfSlots(final boolean maxHeap) {
+		final Random random = new Random(11);
+		final IndexedHeap heap = new IndexedHeap(maxHeap);
+		final Map<Integer, Double> keys = new HashMap<>();
+
+		for (int i = 0; i < 5000; i++) {
+			final int slot = random.nextInt(40);
+			if (random.nextInt(3) == 0) {
+				heap.remove(slot);
+				keys.remove(slot);
+			} else {
+				final double key = random.nextInt(100);
+				heap.set(slot, key);
+				keys.put(slot, key);
+			}
+
+			assertEquals(keys.isEmpty(), heap.isEmpty());
+			if (!keys.isEmpty()) {
+				final double expected = maxHeap
+						? keys.values().stream().mapToDouble(Double::doubleValue).max().getAsDouble()
+						: keys.values().stream().mapToDouble(Double::doubleValue).min().getAsDouble();
+				assertEquals(expected, heap.topKey());
+			}
+		}
+	}
+}
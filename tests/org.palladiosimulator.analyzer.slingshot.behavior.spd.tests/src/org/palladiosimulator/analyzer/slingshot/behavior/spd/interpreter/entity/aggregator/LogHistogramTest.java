@@ -0,0 +1,66 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LogHistogramTest {
+
+	private static final double ACCURACY = 0.01;
+	private static final double MIN_VALUE = 1e-3;
+	private static final double MAX_VALUE = 1e3;
+
+	@Test
+	void rejectsInvalidParameters() {
+		assertThrows(IllegalArgumentException.class, () -> new LogHistogram(0, MIN_VALUE, MAX_VALUE));
+		assertThrows(IllegalArgumentException.class, () -> new LogHistogram(1, MIN_VALUE, MAX_VALUE));
+		assertThrows(IllegalArgumentException.class, () -> new LogHistogram(ACCURACY, 0, MAX_VALUE));
+		assertThrows(IllegalArgumentException.class, () -> new LogHistogram(ACCURACY, MAX_VALUE, MIN_VALUE));
+	}
+
+	@Test
+	void valuesOutsideOfRangeGoToOuterBuckets() {
+		final LogHistogram histogram = new LogHistogram(ACCURACY, MIN_VALUE, MAX_VALUE);
+
+		assertEquals(0, histogram.indexOf(0));
+		assertEquals(0, histogram.indexOf(MIN_VALUE));
+		assertEquals(0, histogram.indexOf(Double.NaN));
+		assertEquals(histogram.numberOfBuckets() - 1, histogram.indexOf(MAX_VALUE * 10));
+	}
+
+	@Test
+	void representativeValueIsWithinRelativeAccuracy() {
+		final LogHistogram histogram = new LogHistogram(ACCURACY, MIN_VALUE, MAX_VALUE);
+
+		for (double value = MIN_VALUE * 1.001; value <= MAX_VALUE; value *= 1.07) {
+			final double represented = histogram.valueOf(histogram.indexOf(value));
+			assertTrue(Math.abs(represented - value) <= ACCURACY * value * (1 + 1e-9),
+					value + " is represented by " + represented);
+		}
+	}
+
+	@Test
+	void quantileIsWithinRelativeAccuracyOfExactQuantile() {
+		final LogHistogram histogram = new LogHistogram(ACCURACY, MIN_VALUE, MAX_VALUE);
+		final Random random = new Random(7);
+		final double[] values = new double[1001];
+		final int[] counts = new int[histogram.numberOfBuckets()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = Math.exp(random.nextGaussian());
+			counts[histogram.indexOf(values[i])]++;
+		}
+		Arrays.sort(values);
+
+		for (final double quantile : new double[] { 0.0, 0.5, 0.9, 0.99, 1.0 }) {
+			final double exact = values[(int) (quantile * (values.length - 1))];
+			final double estimate = histogram.quantile(counts, values.length, quantile);
+			assertTrue(Math.abs(estimate - exact) <= ACCURACY * exact * (1 + 1e-9),
+					"quantile " + quantile + ": " + estimate + " instead of " + exact);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class MonotonicDequeTest {
+
+	private static final int WINDOW_SIZE = 7;
+
+	@Test
+	void emptyDequeHasNoExtremum() {
+		final MonotonicDeque deque = new MonotonicDeque(true, 4);
+
+		assertTrue(deque.isEmpty());
+		assertThrows(IllegalStateException.class, deque::get);
+	}
+
+	@Test
+	void minimumEqualsMinimumOfWindow() {
+		this.assertExtremumOfWindow(true);
+	}
+
+	@Test
+	void maximumEqualsMaximumOfWindow() {
+		this.assertExtremumOfWindow(false);
+	}
+
+	/**
+	 * Also covers equal values, which must stay in the deque until their own key
+	 * leaves the window.
+	 */
+	@Test
+	void equalValuesAreKeptUntilEvicted() {
+		final MonotonicDeque deque = new MonotonicDeque(true, 4);
+		deque.add(1, 2.0);
+		deque.add(2, 2.0);
+		deque.add(3, 3.0);
+
+		deque.evictUpTo(1);
+		assertEquals(2.0, deque.get());
+		deque.evictUpTo(2);
+		assertEquals(3.0, deque.get());
+	}
+
+	private void assertExtremumOfWindow(final boolean minimum) {
+		final Random random = new Random(42);
+		final MonotonicDeque deque = new MonotonicDeque(minimum, 2);
+		final double[] values = new double[500];
+
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(20);
+			deque.add(i, values[i]);
+			deque.evictUpTo(i - WINDOW_SIZE);
+
+			double expected = values[i];
+			for (int j = Math.max(0, i - WINDOW_SIZE + 1); j <= i; j++) {
+				expected = minimum ? Math.min(expected, values[j]) : Math.max(expected, values[j]);
+			}
+			assertEquals(expected, deque.get());
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.spd.triggers.AGGREGATIONMETHOD;
+
+class SharedWindowAggregationTest {
+
+	private static final WindowSpecification SUM_WINDOW = WindowSpecification.slidingTime(10, 0.0);
+
+	/**
+	 * Two policies, e.g. a scale-out and a scale-in policy, share a sum window
+	 * and each feed their own trend with the current value of their view. Both
+	 * must see the sum, no matter which of them aggregated a measurement first.
+	 */
+	@Test
+	void viewsOnSharedSumWindowSeeTheSameSeries() {
+		final AggregatorRegistry registry = new AggregatorRegistry();
+		final SharedWindowAggregation scaleOut = registry.getAggregation("targetGroup",
+				MetricDescriptionConstants.RESPONSE_TIME_METRIC, AGGREGATIONMETHOD.SUM, SUM_WINDOW);
+		final SharedWindowAggregation scaleIn = registry.getAggregation("targetGroup",
+				MetricDescriptionConstants.RESPONSE_TIME_METRIC, AGGREGATIONMETHOD.SUM, SUM_WINDOW);
+		assertEquals(1, registry.size());
+
+		final AbstractWindowAggregation scaleOutSeries = WindowSpecification.linearTrend(60, 0.0).createAggregation(null);
+		final AbstractWindowAggregation scaleInSeries = WindowSpecification.linearTrend(60, 0.0).createAggregation(null);
+
+		double expectedSum = 0.0;
+		for (int i = 1; i <= 8; i++) {
+			final Object measurement = new Object();
+			final double time = i;
+			final double value = i % 3 + 1;
+			expectedSum += value;
+
+			scaleOut.aggregate(measurement, time, value);
+			scaleOutSeries.aggregate(time, scaleOut.peekCurrentValue());
+			scaleIn.aggregate(measurement, time, value);
+			scaleInSeries.aggregate(time, scaleIn.peekCurrentValue());
+
+			assertEquals(expectedSum, scaleOut.peekCurrentValue(), 1e-9);
+			assertEquals(expectedSum, scaleIn.peekCurrentValue(), 1e-9);
+		}
+		assertEquals(scaleOutSeries.peekCurrentValue(), scaleInSeries.peekCurrentValue(), 1e-9);
+	}
+
+	@Test
+	void measurementIsAggregatedOnlyOnceForAllViews() {
+		final AggregatorRegistry registry = new AggregatorRegistry();
+		final SharedWindowAggregation first = registry.getAggregation("targetGroup",
+				MetricDescriptionConstants.RESPONSE_TIME_METRIC, AGGREGATIONMETHOD.SUM, SUM_WINDOW);
+		final SharedWindowAggregation second = registry.getAggregation("targetGroup",
+				MetricDescriptionConstants.RESPONSE_TIME_METRIC, AGGREGATIONMETHOD.SUM, SUM_WINDOW);
+
+		final Object measurement = new Object();
+		first.aggregate(measurement, 1.0, 5.0);
+		second.aggregate(measurement, 1.0, 5.0);
+		first.aggregate(measurement, 1.0, 5.0);
+
+		assertEquals(5.0, first.peekCurrentValue(), 1e-9);
+		assertEquals(5.0, second.peekCurrentValue(), 1e-9);
+	}
+}
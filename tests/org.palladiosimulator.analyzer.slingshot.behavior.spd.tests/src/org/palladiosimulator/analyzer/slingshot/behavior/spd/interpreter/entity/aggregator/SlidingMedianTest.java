@@ -0,0 +1,85 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+
+class SlidingMedianTest {
+
+	@Test
+	void emptyWindowHasNoMedian() {
+		assertThrows(IllegalStateException.class, new SlidingMedian(4)::get);
+	}
+
+	@Test
+	void evenWindowReturnsMeanOfMiddleValues() {
+		final SlidingMedian median = new SlidingMedian(4);
+		median.add(1, 4.0);
+		median.add(2, 1.0);
+		median.add(3, 3.0);
+		median.add(4, 2.0);
+
+		assertEquals(2.5, median.get());
+	}
+
+	/**
+	 * Uses few distinct values, so that many entries are equal, and a window
+	 * large enough that the heaps are compacted.
+	 */
+	@Test
+	void medianEqualsMedianOfWindow() {
+		for (final int windowSize : new int[] { 1, 2, 5, 100 }) {
+			final Random random = new Random(windowSize);
+			final SlidingMedian median = new SlidingMedian(2);
+			final double[] values = new double[1000];
+
+			for (int i = 0; i < values.length; i++) {
+				values[i] = random.nextInt(10);
+				median.add(i, values[i]);
+				median.evictUpTo(i - windowSize);
+
+				assertEquals(medianOf(values, Math.max(0, i - windowSize + 1), i + 1), median.get(),
+						"window size " + windowSize + " at " + i);
+			}
+		}
+	}
+
+	@Test
+	void checkpointRestoresWindow() throws IOException {
+		final SlidingMedian median = new SlidingMedian(4);
+		for (int i = 0; i < 10; i++) {
+			median.add(i, i % 4);
+		}
+		median.evictUpTo(3);
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (CheckpointOutput out = new CheckpointOutput(bytes, element -> null)) {
+			median.writeState(out);
+		}
+		final SlidingMedian restored = new SlidingMedian(4);
+		try (CheckpointInput in = new CheckpointInput(new ByteArrayInputStream(bytes.toByteArray()), id -> null)) {
+			restored.readState(in);
+		}
+
+		assertEquals(median.get(), restored.get());
+		median.evictUpTo(6);
+		restored.evictUpTo(6);
+		assertEquals(median.get(), restored.get());
+	}
+
+	private static double medianOf(final double[] values, final int from, final int to) {
+		final double[] window = Arrays.copyOfRange(values, from, to);
+		Arrays.sort(window);
+		final int middle = window.length / 2;
+		return window.length % 2 == 1 ? window[middle] : (window[middle - 1] + window[middle]) / 2;
+	}
+}
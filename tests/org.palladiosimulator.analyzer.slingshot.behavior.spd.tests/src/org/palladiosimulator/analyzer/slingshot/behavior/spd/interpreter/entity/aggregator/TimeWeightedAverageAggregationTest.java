@@ -0,0 +1,81 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.aggregator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimeWeightedAverageAggregationTest {
+
+	private static final int WINDOW_SIZE = 10;
+
+	@Test
+	void firstValueIsTheAverage() {
+		final TimeWeightedAverageAggregation aggregation = new TimeWeightedAverageAggregation(WINDOW_SIZE, 0.0);
+
+		assertEquals(3.0, aggregation.aggregate(1.0, 3.0));
+	}
+
+	@Test
+	void stepsAreWeightedByTheirDuration() {
+		final TimeWeightedAverageAggregation aggregation = new TimeWeightedAverageAggregation(WINDOW_SIZE, 0.0);
+		aggregation.aggregate(0.0, 1.0);
+		aggregation.aggregate(2.0, 4.0);
+
+		/* 1 for 2 seconds and 4 for 6 seconds. */
+		assertEquals((1.0 * 2 + 4.0 * 6) / 8, aggregation.aggregate(8.0, 0.0), 1e-12);
+		/* The window is [2, 12]: 4 for 6 seconds and 0 for 4 seconds. */
+		assertEquals(4.0 * 6 / 10, aggregation.aggregate(12.0, 5.0), 1e-12);
+	}
+
+	@Test
+	void averageEqualsIntegralOverWindow() {
+		final Random random = new Random(3);
+		final TimeWeightedAverageAggregation aggregation = new TimeWeightedAverageAggregation(WINDOW_SIZE, 0.0);
+		final double[] times = new double[300];
+		final double[] values = new double[times.length];
+
+		double time = 0.0;
+		for (int i = 0; i < times.length; i++) {
+			time += random.nextInt(4) == 0 ? 0.0 : random.nextDouble() * 3;
+			times[i] = time;
+			values[i] = random.nextInt(5);
+
+			assertEquals(averageOf(times, values, i), aggregation.aggregate(times[i], values[i]), 1e-9, "at " + i);
+		}
+	}
+
+	@Test
+	void valueIsOnlyEmittableAfterWindowSize() {
+		final TimeWeightedAverageAggregation aggregation = new TimeWeightedAverageAggregation(WINDOW_SIZE, 0.0);
+		aggregation.aggregate(5.0, 1.0);
+		assertFalse(aggregation.isEmittable());
+
+		aggregation.aggregate(WINDOW_SIZE + 1.0, 1.0);
+		assertTrue(aggregation.isEmittable());
+	}
+
+	/**
+	 * Integrates the step function of the first {@code last + 1} values over the
+	 * window that ends at the latest of them.
+	 */
+	private static double averageOf(final double[] times, final double[] values, final int last) {
+		final double end = times[last];
+		final double start = Math.max(end - WINDOW_SIZE, times[0]);
+		if (end <= start) {
+			return values[last];
+		}
+		double integral = 0.0;
+		for (int i = 0; i < last; i++) {
+			final double from = Math.max(times[i], start);
+			final double to = Math.min(times[i + 1], end);
+			if (to > from) {
+				integral += values[i] * (to - from);
+			}
+		}
+		return integral / (end - start);
+	}
+}
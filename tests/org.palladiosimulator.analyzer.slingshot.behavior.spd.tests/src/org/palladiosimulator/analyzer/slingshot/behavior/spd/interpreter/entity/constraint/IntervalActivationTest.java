@@ -0,0 +1,117 @@
+package org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.entity.constraint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointInput;
+import org.palladiosimulator.analyzer.slingshot.behavior.spd.interpreter.checkpoint.CheckpointOutput;
+import org.palladiosimulator.spd.constraints.policy.IntervalConstraint;
+import org.palladiosimulator.spd.constraints.policy.PolicyFactory;
+
+class IntervalActivationTest {
+
+	private static IntervalConstraint interval(final double offset, final double duration, final boolean repeat) {
+		final IntervalConstraint constraint = PolicyFactory.eINSTANCE.createIntervalConstraint();
+		constraint.setOffset(offset);
+		constraint.setIntervalDuration(duration);
+		constraint.setRepeat(repeat);
+		return constraint;
+	}
+
+	/**
+	 * A measurement at the start of the interval may be handled before the
+	 * boundary event of the same time. It must be inside of the interval
+	 * nonetheless, and the boundary event must not toggle the activation again.
+	 */
+	@Test
+	void eventAtIntervalStartBeforeBoundaryEventIsInside() {
+		final IntervalConstraint constraint = interval(10, 5, false);
+		final IntervalConstraintFilter filter = new IntervalConstraintFilter(constraint);
+		final IntervalActivation activation = new IntervalActivation(List.of(constraint));
+		assertEquals(10.0, activation.getNextChange());
+
+		assertTrue(filter.isWithinInterval(10));
+		assertFalse(activation.isActiveAt(10));
+		assertFalse(activation.advanceTo(10));
+		assertEquals(Math.nextUp(15.0), activation.getNextChange());
+	}
+
+	@Test
+	void eventAtIntervalStartAfterBoundaryEventIsInside() {
+		final IntervalActivation activation = new IntervalActivation(List.of(interval(10, 5, false)));
+
+		assertFalse(activation.advanceTo(10));
+		assertFalse(activation.isActiveAt(10));
+	}
+
+	@Test
+	void upperBoundOfIntervalIsInside() {
+		final IntervalConstraint constraint = interval(10, 5, false);
+		final IntervalConstraintFilter filter = new IntervalConstraintFilter(constraint);
+		final IntervalActivation activation = new IntervalActivation(List.of(constraint));
+
+		assertTrue(filter.isWithinInterval(15));
+		assertFalse(activation.isActiveAt(15));
+		assertFalse(filter.isWithinInterval(Math.nextUp(15.0)));
+		assertTrue(activation.isActiveAt(Math.nextUp(15.0)));
+		assertEquals(Double.POSITIVE_INFINITY, activation.getNextChange());
+	}
+
+	@Test
+	void activationFollowsRepeatedInterval() {
+		final IntervalConstraint constraint = interval(3, 2, true);
+		final IntervalConstraintFilter filter = new IntervalConstraintFilter(constraint);
+		final IntervalActivation activation = new IntervalActivation(List.of(constraint));
+
+		for (int i = 0; i <= 200; i++) {
+			final double time = i * 0.25;
+			assertEquals(!filter.isWithinInterval(time), activation.isActiveAt(time), "at " + time);
+		}
+	}
+
+	@Test
+	void nextChangeAfterReturnsBothBounds() {
+		final IntervalConstraintFilter filter = new IntervalConstraintFilter(interval(10, 5, false));
+
+		assertEquals(10.0, filter.nextChangeAfter(0));
+		assertEquals(Math.nextUp(15.0), filter.nextChangeAfter(10));
+		assertEquals(Double.POSITIVE_INFINITY, filter.nextChangeAfter(Math.nextUp(15.0)));
+	}
+
+	@Test
+	void nextChangeAfterRepeatsWithPeriod() {
+		final IntervalConstraintFilter filter = new IntervalConstraintFilter(interval(3, 2, true));
+
+		assertEquals(3.0, filter.nextChangeAfter(0));
+		assertEquals(Math.nextUp(5.0), filter.nextChangeAfter(3));
+		assertEquals(8.0, filter.nextChangeAfter(Math.nextUp(5.0)));
+		assertEquals(Math.nextUp(10.0), filter.nextChangeAfter(8));
+	}
+
+	@Test
+	void checkpointRestoresActivation() throws IOException {
+		final List<IntervalConstraint> constraints = List.of(interval(10, 5, false), interval(3, 2, true));
+		final IntervalActivation activation = new IntervalActivation(constraints);
+		activation.advanceTo(12);
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (CheckpointOutput out = new CheckpointOutput(bytes, element -> null)) {
+			activation.writeState(out);
+		}
+		final IntervalActivation restored = new IntervalActivation(constraints);
+		try (CheckpointInput in = new CheckpointInput(new ByteArrayInputStream(bytes.toByteArray()), id -> null)) {
+			restored.readState(in);
+		}
+
+		assertEquals(activation.isActive(), restored.isActive());
+		assertEquals(activation.getNextChange(), restored.getNextChange());
+		assertEquals(activation.isActiveAt(16), restored.isActiveAt(16));
+	}
+}